@@ -0,0 +1,62 @@
+package com.example.nba.bench;
+
+import com.example.nba.audit.AuditLogRepository;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-chain verification as the log grows, plus the cost of chaining one more
+ * entry onto it. Verification is parallel (see AuditChainVerifier), so compare
+ * runs at the same core count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditChainBenchmark {
+
+    private static final String STATE = "Team[Boston Celtics (BOS) roster=15 capRemaining=$65000000.00]";
+
+    @State(Scope.Benchmark)
+    public static class Chain {
+        @Param({"1000", "10000", "100000"})
+        public int entries;
+
+        AuditLogRepository repo;
+
+        @Setup
+        public void setup() {
+            repo = new InMemoryAuditLogRepository();
+            Role coach = LeagueFixtures.COACH;
+            for (int i = 0; i < entries; i++) repo.appendNext(coach, "SIGN_PLAYER", STATE, STATE + i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Growing {
+        AuditLogRepository repo;
+        int n;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            repo = new InMemoryAuditLogRepository(); // keep the log from growing across iterations
+            n = 0;
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verifyIntegrity(Chain c) {
+        return c.repo.verifyIntegrity();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String appendNext(Growing g) {
+        g.repo.appendNext(LeagueFixtures.COACH, "SIGN_PLAYER", STATE, STATE);
+        return g.repo.tailHash();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.nba.bench;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.domain.Coach;
+import com.example.nba.domain.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread streaming digest vs. the original hashing path (fresh MessageDigest,
+ * joined String, String.format hex). Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditHashBenchmark {
+
+    private AuditEntry entry;
+
+    @Setup
+    public void setup() {
+        Role coach = new Coach("c1", "Coach");
+        String state = "Team[Boston Celtics (BOS) roster=15 capRemaining=$65000000.00]";
+        String both = state + " | " + state.replace("BOS", "NYK");
+        entry = new AuditEntry(coach, "TRADE_PLAYER", both, both, "GENESIS");
+    }
+
+    @Benchmark
+    public boolean verifyStreaming() {
+        return entry.verifiesAgainst(entry.prevHash());
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() throws Exception {
+        return legacySha256(entry.prevHash() + "|" + entry.actorId() + "|" + entry.actorRole() + "|" + entry.action()
+                + "|" + entry.beforeState() + "|" + entry.afterState() + "|" + entry.timestamp()).equals(entry.hash());
+    }
+
+    /** The pre-change AuditEntry.sha256, kept verbatim as the baseline. */
+    private static String legacySha256(String input) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        byte[] bytes = md.digest(input.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.nba.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the suite and writes JMH's JSON results for tracking across commits.
+ *
+ * Usage: {@code BenchmarkMain [output.json] [include-regex]}; defaults to
+ * {@code jmh-results.json} and every benchmark in this package. Per-class
+ * {@code @Fork}/{@code @Warmup}/{@code @Measurement} settings apply.
+ */
+public final class BenchmarkMain {
+    private BenchmarkMain() { }
+
+    public static void main(String[] args) throws RunnerException {
+        String out = args.length > 0 ? args[0] : "jmh-results.json";
+        String include = args.length > 1 ? args[1] : BenchmarkMain.class.getPackageName() + "\\..*Benchmark";
+        Options opts = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(out)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.nba.bench;
+
+import com.example.nba.audit.AuditLogRepository;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.repo.TeamRepository;
+import com.example.nba.service.TeamManagementService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded synthetic leagues for the benchmarks: the same arguments always build the
+ * same teams, players, ratings and salaries.
+ *
+ * Teams are {@code T000, T001, ...}; players are {@code T000-P00, ...} and cycle
+ * PG..C so every roster of five or more can field a lineup.
+ */
+public final class LeagueFixtures {
+    public static final Role COACH = new Coach("bench-coach", "Bench Coach");
+    public static final Money CAP = Money.of(140_000_000);
+
+    private LeagueFixtures() { }
+
+    /** {@code teams} registered teams of {@code rosterSize} signed players each, over an in-memory audit log. */
+    public static TeamManagementService league(int teams, int rosterSize, long seed) {
+        return league(teams, rosterSize, seed, new InMemoryAuditLogRepository());
+    }
+
+    public static TeamManagementService league(int teams, int rosterSize, long seed, AuditLogRepository audit) {
+        return league(teams, rosterSize, seed, new InMemoryTeamRepository(), audit);
+    }
+
+    public static TeamManagementService league(int teams, int rosterSize, long seed, TeamRepository repo,
+                                               AuditLogRepository audit) {
+        if (rosterSize > Team.MAX_ROSTER) throw new IllegalArgumentException("rosterSize > " + Team.MAX_ROSTER);
+        TeamManagementService svc = new TeamManagementService(repo, audit);
+        Random rnd = new Random(seed);
+        for (int t = 0; t < teams; t++) {
+            String id = teamId(t);
+            svc.registerTeam(COACH, new Team(id, "Team " + t, new SalaryCap(CAP)));
+            for (int i = 0; i < rosterSize; i++) {
+                svc.signPlayer(COACH, id, player(rnd, String.format("%s-P%02d", id, i), i), contract(rnd),
+                        new StandardSalaryStrategy());
+            }
+        }
+        return svc;
+    }
+
+    /**
+     * The same league as {@link #league(int, int, long, TeamRepository, AuditLogRepository)}
+     * for the same arguments, loaded through {@link TeamManagementService#importTeam}.
+     */
+    public static TeamManagementService importedLeague(int teams, int rosterSize, long seed, TeamRepository repo,
+                                                       AuditLogRepository audit) {
+        if (rosterSize > Team.MAX_ROSTER) throw new IllegalArgumentException("rosterSize > " + Team.MAX_ROSTER);
+        TeamManagementService svc = new TeamManagementService(repo, audit);
+        Random rnd = new Random(seed);
+        for (int t = 0; t < teams; t++) {
+            String id = teamId(t);
+            List<TeamManagementService.Signing> signings = new ArrayList<>(rosterSize);
+            for (int i = 0; i < rosterSize; i++) {
+                Player p = player(rnd, String.format("%s-P%02d", id, i), i);
+                signings.add(new TeamManagementService.Signing(p, contract(rnd)));
+            }
+            svc.importTeam(COACH, new Team(id, "Team " + t, new SalaryCap(CAP)), signings, new StandardSalaryStrategy());
+        }
+        return svc;
+    }
+
+    /** A roster of any size (past the team limit too), not attached to a team. */
+    public static List<Player> roster(int size, long seed) {
+        Random rnd = new Random(seed);
+        List<Player> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(player(rnd, "R-P" + i, i));
+        return out;
+    }
+
+    /** Contracts of 1-5 years worth 1M-7M a year, so a full 20-man roster stays under {@link #CAP}. */
+    public static Contract contract(Random rnd) {
+        int years = 1 + rnd.nextInt(5);
+        return Contract.builder().totalValue(Money.of((1_000_000L + rnd.nextInt(6_000_000)) * years))
+                .years(years).build();
+    }
+
+    public static Player player(Random rnd, String playerId, int index) {
+        ExperienceLevel lvl = ExperienceLevel.values()[rnd.nextInt(ExperienceLevel.values().length)];
+        return new PlayerFactory().create(lvl, new PlayerBuilder().playerId(playerId).name(playerId)
+                .position(Position.values()[index % Position.values().length])
+                .age(19 + rnd.nextInt(18)).offense(40 + rnd.nextInt(60)).defense(40 + rnd.nextInt(60))
+                .yearsInLeague(1 + rnd.nextInt(15)));
+    }
+
+    public static String teamId(int t) {
+        return String.format("T%03d", t);
+    }
+}
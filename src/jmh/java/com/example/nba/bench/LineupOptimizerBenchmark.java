@@ -0,0 +1,109 @@
+package com.example.nba.bench;
+
+import com.example.nba.analytics.LineupOptimizer;
+import com.example.nba.analytics.PlayerValueVisitor;
+import com.example.nba.domain.ExperienceLevel;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Position;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precomputed primitive search vs. the original visitor-per-comparison search over
+ * synthetic rosters well past the 20-player team limit. Run with {@code -prof gc}:
+ * the reused optimizer should only allocate the returned Lineup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineupOptimizerBenchmark {
+
+    @Param({"20", "200", "2000"})
+    public int rosterSize;
+
+    private final LineupOptimizer optimizer = new LineupOptimizer();
+    private List<Player> roster;
+    private List<Player> flexRoster;
+
+    @Setup
+    public void setup() {
+        PlayerFactory pf = new PlayerFactory();
+        Random rnd = new Random(7);
+        roster = new ArrayList<>(rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            Position pos = Position.values()[i % 5];
+            ExperienceLevel lvl = ExperienceLevel.values()[rnd.nextInt(3)];
+            Player p = pf.create(lvl, new PlayerBuilder().playerId("p" + i).name("P" + i).position(pos)
+                    .age(19 + rnd.nextInt(18)).offense(40 + rnd.nextInt(60)).defense(40 + rnd.nextInt(60))
+                    .yearsInLeague(3));
+            p.applyMinutes(rnd.nextInt(60));
+            roster.add(p);
+        }
+        flexRoster = new ArrayList<>(rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            Position pos = Position.values()[i % 5];
+            PlayerBuilder b = new PlayerBuilder().playerId("f" + i).name("F" + i).position(pos)
+                    .age(19 + rnd.nextInt(18)).offense(40 + rnd.nextInt(60)).defense(40 + rnd.nextInt(60))
+                    .yearsInLeague(3);
+            if (i % 3 == 0) b.alsoPlays(Position.values()[(i + 1) % 5]);
+            flexRoster.add(pf.create(ExperienceLevel.VETERAN, b));
+        }
+    }
+
+    @Benchmark
+    public int precomputed() {
+        return optimizer.bestStartingFive(roster).score();
+    }
+
+    /** Solver mode: the 200 best lineups with a third of the roster eligible at a second position. */
+    @Benchmark
+    public int top200Flex() {
+        return optimizer.topLineups(flexRoster, 200).size();
+    }
+
+    @Benchmark
+    public int legacy() {
+        return LegacyOptimizer.bestScore(roster);
+    }
+
+    /** The pre-change search, kept as the baseline. */
+    static final class LegacyOptimizer {
+        private static final PlayerValueVisitor VISITOR = new PlayerValueVisitor();
+
+        static int bestScore(List<Player> roster) {
+            Map<Position, List<Player>> byPos = new EnumMap<>(Position.class);
+            for (Position p : Position.values()) byPos.put(p, new ArrayList<>());
+            for (Player pl : roster) byPos.get(pl.position()).add(pl);
+            List<Position> order = List.of(Position.PG, Position.SG, Position.SF, Position.PF, Position.C);
+            for (Position p : order) {
+                byPos.get(p).sort(Comparator.comparingInt((Player pl) -> pl.accept(VISITOR)).reversed());
+            }
+            int[] best = { Integer.MIN_VALUE };
+            backtrack(order, byPos, 0, new ArrayList<>(5), 0, best);
+            return best[0];
+        }
+
+        private static void backtrack(List<Position> order, Map<Position, List<Player>> byPos, int idx,
+                                      List<Player> chosen, int scoreSoFar, int[] best) {
+            if (idx == order.size()) {
+                if (scoreSoFar > best[0]) best[0] = scoreSoFar;
+                return;
+            }
+            int upperBound = scoreSoFar;
+            for (int j = idx; j < order.size(); j++) upperBound += byPos.get(order.get(j)).get(0).accept(VISITOR);
+            if (upperBound <= best[0]) return;
+            for (Player pl : byPos.get(order.get(idx))) {
+                chosen.add(pl);
+                backtrack(order, byPos, idx + 1, chosen, scoreSoFar + pl.accept(VISITOR), best);
+                chosen.remove(chosen.size() - 1);
+            }
+        }
+    }
+}
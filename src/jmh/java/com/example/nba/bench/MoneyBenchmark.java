@@ -0,0 +1,62 @@
+package com.example.nba.bench;
+
+import com.example.nba.domain.Money;
+import com.example.nba.domain.SalaryCap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-point Money arithmetic and SalaryCap bookkeeping. Everything here sits on
+ * the sign/waive/trade path, so it should stay in the low nanoseconds with
+ * {@code -prof gc} showing at most one Money per op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private final Money salary = Money.of(12_345_678.90);
+    private final Money bonus = Money.of(250_000.55);
+    private final SalaryCap cap = new SalaryCap(Money.of(140_000_000));
+    private double dollars = 1_234_567.891;
+
+    @Benchmark
+    public Money plus() {
+        return salary.plus(bonus);
+    }
+
+    @Benchmark
+    public Money minus() {
+        return salary.minus(bonus);
+    }
+
+    /** Straight-line annual salary of a 3-year deal (HALF_UP rounding). */
+    @Benchmark
+    public Money dividedBy() {
+        return salary.dividedBy(3);
+    }
+
+    /** Fractional dollars take the BigDecimal rounding path. */
+    @Benchmark
+    public Money ofFractionalDollars() {
+        dollars += 0.01; // defeat constant folding
+        return Money.of(dollars);
+    }
+
+    @Benchmark
+    public Money ofWholeDollars() {
+        return Money.of(25_000_000);
+    }
+
+    @Benchmark
+    public long capCommitUncommit() {
+        cap.commit(salary);
+        long remaining = cap.remainingCents();
+        cap.uncommit(salary);
+        return remaining;
+    }
+}
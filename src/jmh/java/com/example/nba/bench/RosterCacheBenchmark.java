@@ -0,0 +1,70 @@
+package com.example.nba.bench;
+
+import com.example.nba.domain.Position;
+import com.example.nba.integration.RosterCache;
+import com.example.nba.integration.RosterCache.CachedPlayer;
+import com.example.nba.integration.RosterCache.CachedTeam;
+import com.example.nba.integration.RosterCache.League;
+import com.example.nba.integration.RosterCache.TeamRef;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm-start load of a full cached league (30 teams x 15 players): the binary,
+ * memory-mapped cache vs. the same data from its JSON export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RosterCacheBenchmark {
+
+    private Path dir;
+    private List<TeamRef> refs;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("roster-cache-bench");
+        RosterCache cache = new RosterCache(dir, "bin");
+        refs = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int t = 0; t < 30; t++) {
+            String abbr = LeagueFixtures.teamId(t);
+            List<CachedPlayer> roster = new ArrayList<>();
+            for (int i = 0; i < 15; i++) {
+                roster.add(new CachedPlayer(String.format("%s-P%02d", abbr, i), "Player " + abbr + " " + i,
+                        Position.values()[i % 5], 50 + (i * 7) % 50, 50 + (i * 11) % 50, true, now));
+            }
+            TeamRef ref = new TeamRef("id" + t, abbr, "Team " + abbr);
+            refs.add(ref);
+            cache.saveTeam(new CachedTeam(ref, now, RosterCache.rosterHash(roster), roster));
+        }
+        cache.saveLeague(new League(now, refs));
+        cache.flush();
+        cache.exportJson(dir.resolve("rosters_json"));
+    }
+
+    @Benchmark
+    public int loadBinary() { return load("bin"); }
+
+    @Benchmark
+    public int loadJson() { return load("json"); }
+
+    private int load(String key) {
+        RosterCache cache = new RosterCache(dir, key);
+        int players = 0;
+        for (TeamRef ref : cache.loadLeague().orElseThrow().teams()) {
+            players += cache.loadTeam(ref.abbr()).orElseThrow().players().size();
+        }
+        return players;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.nba.bench;
+
+import com.example.nba.collections.DoublyLinkedList;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node-handle unlink vs. the old linear removeFirstOccurrence scan.
+ * The indexed variants should stay flat as the list/roster grows.
+ *
+ * Each invocation removes the tail element and re-appends it, so the shape
+ * is identical before and after (and the scan is always worst-case).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RosterIndexBenchmark {
+
+    @State(Scope.Thread)
+    public static class ListState {
+        @Param({"16", "256", "4096"})
+        public int size;
+
+        DoublyLinkedList<Integer> list;
+        DoublyLinkedList.Node<Integer> tailNode;
+        Integer tailItem;
+
+        @Setup
+        public void setup() {
+            list = new DoublyLinkedList<>();
+            for (int i = 0; i < size; i++) tailNode = list.linkLast(i);
+            tailItem = tailNode.item();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class TeamState {
+        @Param({"5", "10", "20"}) // Team caps rosters at 20
+        public int rosterSize;
+
+        Team team;
+        Player lastPlayer;
+        final Money salary = Money.of(1_000_000);
+
+        @Setup
+        public void setup() {
+            PlayerFactory pf = new PlayerFactory();
+            Position[] positions = Position.values();
+            team = new Team("BEN", "Bench", new SalaryCap(Money.of(140_000_000)));
+            for (int i = 0; i < rosterSize; i++) {
+                lastPlayer = pf.create(ExperienceLevel.VETERAN, new PlayerBuilder()
+                        .playerId("p" + i).name("P" + i).position(positions[i % positions.length])
+                        .age(27).offense(80).defense(80).yearsInLeague(5));
+                team.addPlayer(lastPlayer, salary);
+            }
+        }
+    }
+
+    @Benchmark
+    public DoublyLinkedList.Node<Integer> listUnlinkByNode(ListState s) {
+        s.list.unlink(s.tailNode);
+        return s.tailNode = s.list.linkLast(s.tailItem);
+    }
+
+    @Benchmark
+    public boolean listRemoveFirstOccurrenceScan(ListState s) {
+        boolean removed = s.list.removeFirstOccurrence(s.tailItem);
+        s.list.addLast(s.tailItem);
+        return removed;
+    }
+
+    @Benchmark
+    public Player teamFindPlayerById(TeamState s) {
+        return s.team.findPlayerById(s.lastPlayer.playerId()).orElseThrow();
+    }
+
+    @Benchmark
+    public boolean teamRemoveAndReAdd(TeamState s) {
+        boolean removed = s.team.removePlayer(s.lastPlayer);
+        s.team.addPlayer(s.lastPlayer, s.salary);
+        return removed;
+    }
+}
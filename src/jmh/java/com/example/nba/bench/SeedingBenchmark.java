@@ -0,0 +1,35 @@
+package com.example.nba.bench;
+
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeding a full league (30 teams) from scratch: one registerTeam plus a
+ * signPlayer per player, vs. one importTeam per team.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeedingBenchmark {
+
+    @Param({"5", "15"})
+    public int rosterSize;
+
+    @Benchmark
+    public TeamManagementService perPlayer() {
+        return LeagueFixtures.league(30, rosterSize, 42, new InMemoryTeamRepository(), new InMemoryAuditLogRepository());
+    }
+
+    @Benchmark
+    public TeamManagementService bulk() {
+        return LeagueFixtures.importedLeague(30, rosterSize, 42, new InMemoryTeamRepository(),
+                new InMemoryAuditLogRepository());
+    }
+}
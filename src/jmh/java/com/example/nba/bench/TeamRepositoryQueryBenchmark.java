@@ -0,0 +1,59 @@
+package com.example.nba.bench;
+
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.Money;
+import com.example.nba.domain.Position;
+import com.example.nba.domain.Team;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.repo.PlayerMatch;
+import com.example.nba.repo.PlayerQuery;
+import com.example.nba.repo.TeamRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * InMemoryTeamRepository's secondary indexes vs. the TeamRepository full-scan
+ * defaults over the same store, for a selective rating query, a playerId lookup
+ * and the cap-space ordering.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamRepositoryQueryBenchmark {
+
+    @Param({"30", "300"})
+    public int teams;
+
+    private TeamRepository indexed;
+    private TeamRepository scanning;
+    private final PlayerQuery eliteCenters = PlayerQuery.builder().position(Position.C).overall(90, 99).build();
+    private final Money room = Money.of(40_000_000);
+    private String lastPlayerId;
+
+    @Setup
+    public void setup() {
+        indexed = new InMemoryTeamRepository();
+        LeagueFixtures.league(teams, 15, 42, indexed, new InMemoryAuditLogRepository());
+        scanning = new TeamRepository() {
+            @Override public void save(Team team) { indexed.save(team); }
+            @Override public Optional<Team> findById(String teamId) { return indexed.findById(teamId); }
+            @Override public List<Team> findAll() { return indexed.findAll(); }
+            @Override public List<Team> search(Predicate<Team> p) { return indexed.search(p); }
+        };
+        lastPlayerId = String.format("%s-P%02d", LeagueFixtures.teamId(teams - 1), 14);
+    }
+
+    @Benchmark public List<PlayerMatch> playersIndexed() { return indexed.findPlayers(eliteCenters); }
+    @Benchmark public List<PlayerMatch> playersScan() { return scanning.findPlayers(eliteCenters); }
+    @Benchmark public Optional<Team> teamOfPlayerIndexed() { return indexed.findTeamByPlayerId(lastPlayerId); }
+    @Benchmark public Optional<Team> teamOfPlayerScan() { return scanning.findTeamByPlayerId(lastPlayerId); }
+    @Benchmark public List<Team> capSpaceIndexed() { return indexed.findTeamsByCapSpace(room); }
+    @Benchmark public List<Team> capSpaceScan() { return scanning.findTeamsByCapSpace(room); }
+}
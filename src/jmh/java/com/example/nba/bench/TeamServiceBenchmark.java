@@ -0,0 +1,63 @@
+package com.example.nba.bench;
+
+import com.example.nba.domain.Contract;
+import com.example.nba.domain.Money;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.StandardSalaryStrategy;
+import com.example.nba.service.TeamManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TeamManagementService end to end: locking, cap checks, roster updates, the
+ * before/after state strings and the chained audit append. Each op is a round
+ * trip (sign then waive, trade there and back) so the league's shape is stable;
+ * the league is rebuilt per iteration to keep the audit log from growing without bound.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamServiceBenchmark {
+
+    @Param({"30", "300"})
+    public int teams;
+
+    @Param({"15"})
+    public int rosterSize;
+
+    private TeamManagementService service;
+    private String teamA;
+    private String teamB;
+    private String tradedId;
+    private Player freeAgent;
+    private final Contract contract = Contract.builder().totalValue(Money.of(3_000_000)).years(2).build();
+    private final StandardSalaryStrategy strategy = new StandardSalaryStrategy();
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        service = LeagueFixtures.league(teams, rosterSize, 42);
+        teamA = LeagueFixtures.teamId(0);
+        teamB = LeagueFixtures.teamId(teams - 1);
+        tradedId = service.getTeam(teamA).iterator().next().playerId();
+        freeAgent = LeagueFixtures.player(new Random(7), "FA-1", 0);
+    }
+
+    @Benchmark
+    public int signThenWaive() {
+        service.signPlayer(LeagueFixtures.COACH, teamA, freeAgent, contract, strategy);
+        service.waivePlayer(LeagueFixtures.COACH, teamA, freeAgent.playerId());
+        return service.getTeam(teamA).rosterSize();
+    }
+
+    @Benchmark
+    public int tradeThereAndBack() {
+        service.trade(LeagueFixtures.COACH, teamA, teamB, tradedId);
+        service.trade(LeagueFixtures.COACH, teamB, teamA, tradedId);
+        return service.getTeam(teamA).rosterSize();
+    }
+}
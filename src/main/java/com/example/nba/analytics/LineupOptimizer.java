@@ -12,75 +12,262 @@ import java.util.*;
  * Objective: maximize sum of visitor-based player value.
  *
  * This is a backtracking search with pruning (branch-and-bound).
+ *
+ * Each player is scored once into a primitive per-position array, sorted by
+ * descending value, and the bound uses precomputed suffix sums of the per-position
+ * maxima. The arrays are kept between calls, so an instance allocates only the
+ * result once warmed up - and is therefore not thread-safe: use one per thread.
+ *
+ * {@link #bestStartingFive(Iterable, SearchBudget)} is the anytime variant: it stops at
+ * a deadline, node budget or cancellation and reports the best lineup found together
+ * with a proven upper bound on the optimum.
+ *
+ * {@link #topLineups} is the solver mode: the K best lineups, with players allowed
+ * at every position in {@link Player#eligiblePositions()} (see {@link TopKLineupSearch}).
  */
 public final class LineupOptimizer {
 
+    private static final Position[] ORDER = { Position.PG, Position.SG, Position.SF, Position.PF, Position.C };
+    private static final int SLOTS = ORDER.length;
+
     private final PlayerValueVisitor valueVisitor = new PlayerValueVisitor();
+    private final TopKLineupSearch topK = new TopKLineupSearch(valueVisitor);
+
+    // Scratch, reused across calls; index = ordinal of ORDER[slot].
+    private final int[][] values = new int[SLOTS][16];
+    private final Player[][] players = new Player[SLOTS][16];
+    private final long[][] sortKeys = new long[SLOTS][16];
+    private final int[] counts = new int[SLOTS];
+    private final int[] suffixMax = new int[SLOTS + 1];
+    private final int[] chosen = new int[SLOTS];
+    private final int[] bestChosen = new int[SLOTS];
+    private int bestScore;
+
+    // Anytime bookkeeping; reset per call.
+    private static final int CLOCK_CHECK_MASK = 1023; // read the clock/cancel flag every 1024 nodes
+    private SearchBudget budget;
+    private long startNanos;
+    private long timeBudgetNanos;
+    private long nodes;
+    private long prunes;
+    private StopReason stopReason;
+    private int openBound; // best bound among subtrees left unexplored by a stop
 
     public record Lineup(List<Player> starters, int score) { }
 
+    public enum StopReason { COMPLETED, DEADLINE, NODE_BUDGET, CANCELLED }
+
+    public record SearchStats(long nodesExpanded, long prunes, long elapsedNanos, StopReason stopReason) { }
+
+    /**
+     * Outcome of an anytime search. {@code best} is null if the search stopped before
+     * completing any lineup. {@code upperBound} is proven: no lineup scores higher.
+     */
+    public record AnytimeLineup(Lineup best, int upperBound, SearchStats stats) {
+        /** upperBound minus the incumbent's score; 0 means {@code best} is optimal. */
+        public long gap() {
+            return best == null ? Long.MAX_VALUE : (long) upperBound - best.score();
+        }
+
+        public boolean optimal() { return gap() == 0; }
+    }
+
     public Lineup bestStartingFive(Team team) {
         Objects.requireNonNull(team);
+        return bestStartingFive((Iterable<Player>) team);
+    }
 
-        Map<Position, List<Player>> byPos = new EnumMap<>(Position.class);
-        for (Position p : Position.values()) byPos.put(p, new ArrayList<>());
+    /** Same search over any roster; lets callers go past the 20-player team limit (e.g. benchmarks). */
+    public Lineup bestStartingFive(Iterable<? extends Player> roster) {
+        return run(roster, null).best();
+    }
 
-        for (Player pl : team) byPos.get(pl.position()).add(pl);
+    public AnytimeLineup bestStartingFive(Team team, SearchBudget budget) {
+        Objects.requireNonNull(team);
+        return bestStartingFive((Iterable<Player>) team, budget);
+    }
 
-        for (Position p : Position.values()) {
-            if (byPos.get(p).isEmpty()) {
-                throw new IllegalStateException("Cannot build lineup: missing position " + p);
+    /**
+     * Anytime search: returns when the search completes or the budget runs out,
+     * whichever comes first. The stop is checked per node (node budget) and every
+     * 1024 nodes (deadline, cancellation).
+     */
+    public AnytimeLineup bestStartingFive(Iterable<? extends Player> roster, SearchBudget budget) {
+        return run(roster, Objects.requireNonNull(budget));
+    }
+
+    private AnytimeLineup run(Iterable<? extends Player> roster, SearchBudget budget) {
+        Objects.requireNonNull(roster);
+        Arrays.fill(counts, 0);
+        try {
+            for (Player pl : roster) add(pl);
+
+            for (int s = 0; s < SLOTS; s++) {
+                if (counts[s] == 0) {
+                    throw new IllegalStateException("Cannot build lineup: missing position " + ORDER[s]);
+                }
             }
-        }
 
-        List<Position> order = List.of(Position.PG, Position.SG, Position.SF, Position.PF, Position.C);
+            // Sort candidates by descending value for pruning (ties keep roster order)
+            for (int s = 0; s < SLOTS; s++) sortDescending(s);
+
+            suffixMax[SLOTS] = 0;
+            for (int s = SLOTS - 1; s >= 0; s--) suffixMax[s] = suffixMax[s + 1] + values[s][0];
+
+            this.budget = budget;
+            startNanos = System.nanoTime();
+            timeBudgetNanos = budget == null ? Long.MAX_VALUE : budget.timeBudgetNanos();
+            nodes = 0;
+            prunes = 0;
+            stopReason = StopReason.COMPLETED;
+            openBound = Integer.MIN_VALUE;
+            bestScore = Integer.MIN_VALUE;
+            backtrack(0, 0);
 
-        // Sort candidates by descending value for pruning
-        for (Position p : order) {
-            byPos.get(p).sort(Comparator.comparingInt((Player pl) -> pl.accept(valueVisitor)).reversed());
+            Lineup best = null;
+            if (bestScore != Integer.MIN_VALUE) {
+                Player[] starters = new Player[SLOTS];
+                for (int s = 0; s < SLOTS; s++) starters[s] = players[s][bestChosen[s]];
+                best = new Lineup(List.of(starters), bestScore);
+            }
+            int upperBound = Math.max(bestScore, openBound);
+            return new AnytimeLineup(best, upperBound,
+                    new SearchStats(nodes, prunes, System.nanoTime() - startNanos, stopReason));
+        } finally {
+            // Don't keep players reachable from a long-lived optimizer.
+            for (int s = 0; s < SLOTS; s++) Arrays.fill(players[s], 0, counts[s], null);
+            this.budget = null;
         }
+    }
 
-        List<Player> best = new ArrayList<>(5);
-        int[] bestScore = { Integer.MIN_VALUE };
+    public List<Lineup> topLineups(Team team, int k) {
+        Objects.requireNonNull(team);
+        return topLineups((Iterable<Player>) team, k);
+    }
 
-        backtrack(order, byPos, 0, new ArrayList<>(5), 0, bestScore, best);
+    /**
+     * The {@code k} best distinct starting fives, best first (ties keep roster order).
+     * Starters are listed in PG, SG, SF, PF, C slot order, which may differ from a
+     * player's primary position. Returns fewer than {@code k} (possibly none) when the
+     * roster can't field that many legal lineups.
+     */
+    public List<Lineup> topLineups(Iterable<? extends Player> roster, int k) {
+        Objects.requireNonNull(roster);
+        return topK.top(roster, k);
+    }
 
-        return new Lineup(List.copyOf(best), bestScore[0]);
+    private void add(Player pl) {
+        int s = slotOf(pl.position());
+        int n = counts[s];
+        if (n == values[s].length) {
+            values[s] = Arrays.copyOf(values[s], n * 2);
+            players[s] = Arrays.copyOf(players[s], n * 2);
+            sortKeys[s] = Arrays.copyOf(sortKeys[s], n * 2);
+        }
+        values[s][n] = pl.accept(valueVisitor);
+        players[s][n] = pl;
+        counts[s] = n + 1;
     }
 
-    private void backtrack(List<Position> order,
-                           Map<Position, List<Player>> byPos,
-                           int idx,
-                           List<Player> chosen,
-                           int scoreSoFar,
-                           int[] bestScore,
-                           List<Player> bestChosen) {
-
-        if (idx == order.size()) {
-            if (scoreSoFar > bestScore[0]) {
-                bestScore[0] = scoreSoFar;
-                bestChosen.clear();
-                bestChosen.addAll(chosen);
+    private static int slotOf(Position p) {
+        return switch (p) {
+            case PG -> 0;
+            case SG -> 1;
+            case SF -> 2;
+            case PF -> 3;
+            case C -> 4;
+        };
+    }
+
+    /**
+     * Sorts slot {@code s} by (value desc, original index asc) by packing both into a
+     * long key, then permutes values and players in place through the keys.
+     */
+    private void sortDescending(int s) {
+        int n = counts[s];
+        int[] v = values[s];
+        long[] keys = sortKeys[s];
+        for (int i = 0; i < n; i++) keys[i] = ((long) -v[i] << 32) | i;
+        Arrays.sort(keys, 0, n);
+
+        // keys[i] low bits = source index for target i; apply the permutation cycle by cycle.
+        Player[] p = players[s];
+        for (int i = 0; i < n; i++) {
+            int src = (int) keys[i];
+            if (src < 0) continue; // already placed as part of an earlier cycle
+            if (src == i) continue;
+            int tmpV = v[i];
+            Player tmpP = p[i];
+            int dst = i;
+            while (true) {
+                int from = (int) keys[dst];
+                keys[dst] |= 0x80000000L; // mark placed
+                if (from == i) {
+                    v[dst] = tmpV;
+                    p[dst] = tmpP;
+                    break;
+                }
+                v[dst] = v[from];
+                p[dst] = p[from];
+                dst = from;
             }
-            return;
         }
+    }
 
-        Position pos = order.get(idx);
-        List<Player> candidates = byPos.get(pos);
+    /** @return false once the budget stopped the search; every open subtree's bound is then in openBound */
+    private boolean backtrack(int slot, int scoreSoFar) {
+        if (budget != null && outOfBudget()) {
+            openBound = Math.max(openBound, scoreSoFar + suffixMax[slot]);
+            return false;
+        }
+        nodes++;
+
+        if (slot == SLOTS) {
+            if (scoreSoFar > bestScore) {
+                bestScore = scoreSoFar;
+                System.arraycopy(chosen, 0, bestChosen, 0, SLOTS);
+            }
+            return true;
+        }
 
         // Upper bound: score so far + best remaining per position
-        int upperBound = scoreSoFar;
-        for (int j = idx; j < order.size(); j++) {
-            Position p = order.get(j);
-            upperBound += byPos.get(p).get(0).accept(valueVisitor);
+        if (scoreSoFar + suffixMax[slot] <= bestScore) { // prune
+            prunes++;
+            return true;
+        }
+
+        int[] v = values[slot];
+        int rest = suffixMax[slot + 1];
+        for (int i = 0, n = counts[slot]; i < n; i++) {
+            int next = scoreSoFar + v[i];
+            if (next + rest <= bestScore) { // candidates are sorted, so the rest can't do better
+                prunes++;
+                break;
+            }
+            chosen[slot] = i;
+            if (!backtrack(slot + 1, next)) {
+                // Siblings not yet tried are bounded by the best of them (sorted).
+                if (i + 1 < n) openBound = Math.max(openBound, scoreSoFar + v[i + 1] + rest);
+                return false;
+            }
         }
-        if (upperBound <= bestScore[0]) return; // prune
+        return true;
+    }
 
-        for (Player pl : candidates) {
-            chosen.add(pl);
-            int nextScore = scoreSoFar + pl.accept(valueVisitor);
-            backtrack(order, byPos, idx + 1, chosen, nextScore, bestScore, bestChosen);
-            chosen.remove(chosen.size() - 1);
+    private boolean outOfBudget() {
+        if (nodes >= budget.maxNodes()) {
+            stopReason = StopReason.NODE_BUDGET;
+            return true;
+        }
+        if ((nodes & CLOCK_CHECK_MASK) != 0) return false;
+        if (budget.isCancelled()) {
+            stopReason = StopReason.CANCELLED;
+            return true;
+        }
+        if (System.nanoTime() - startNanos >= timeBudgetNanos) {
+            stopReason = StopReason.DEADLINE;
+            return true;
         }
+        return false;
     }
 }
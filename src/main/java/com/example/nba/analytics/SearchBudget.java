@@ -0,0 +1,71 @@
+package com.example.nba.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Limits for an anytime search: a wall-clock deadline, a node budget, or both.
+ * {@link #cancel()} may be called from any thread; the search notices within a
+ * few thousand nodes and returns its best lineup so far.
+ */
+public final class SearchBudget {
+    private final Duration timeLimit;
+    private final Instant deadline;
+    private final long maxNodes;
+    private volatile boolean cancelled;
+
+    private SearchBudget(Builder b) {
+        this.timeLimit = b.timeLimit;
+        this.deadline = b.deadline;
+        this.maxNodes = b.maxNodes;
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static SearchBudget unlimited() { return builder().build(); }
+
+    public long maxNodes() { return maxNodes; }
+
+    public void cancel() { cancelled = true; }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /** Nanoseconds a search starting now may run; {@code Long.MAX_VALUE} when unbounded. */
+    long timeBudgetNanos() {
+        long limit = Long.MAX_VALUE;
+        if (timeLimit != null) limit = Math.min(limit, saturatedNanos(timeLimit));
+        if (deadline != null) limit = Math.min(limit, Math.max(0, saturatedNanos(Duration.between(Instant.now(), deadline))));
+        return limit;
+    }
+
+    private static long saturatedNanos(Duration d) {
+        try {
+            return d.toNanos();
+        } catch (ArithmeticException tooLong) {
+            return d.isNegative() ? 0 : Long.MAX_VALUE;
+        }
+    }
+
+    public static final class Builder {
+        private Duration timeLimit;
+        private Instant deadline;
+        private long maxNodes = Long.MAX_VALUE;
+
+        private Builder() { }
+
+        public Builder timeLimit(Duration d) {
+            if (Objects.requireNonNull(d).isNegative()) throw new IllegalArgumentException("timeLimit must be >= 0");
+            this.timeLimit = d;
+            return this;
+        }
+        public Builder deadline(Instant t) { this.deadline = Objects.requireNonNull(t); return this; }
+        public Builder maxNodes(long n) {
+            if (n <= 0) throw new IllegalArgumentException("maxNodes must be > 0");
+            this.maxNodes = n;
+            return this;
+        }
+
+        public SearchBudget build() { return new SearchBudget(this); }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.nba.analytics;
+
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo 82-game seasons driven by the fatigue model.
+ *
+ * Each game day the teams are paired at random. Both sides start the
+ * {@link LineupOptimizer} lineup for their current fatigue, the game is scored from
+ * the starters' average {@link Player#effectiveRating()} plus noise, starters and
+ * bench log minutes via {@link Player#applyMinutes}, and everyone rests overnight
+ * unless the next day is a back-to-back.
+ *
+ * Seasons run in parallel on a {@link ForkJoinPool}. Every task gets its own
+ * {@link SplittableRandom} split from the seeded root (so a seed reproduces the same
+ * report regardless of pool size or scheduling), its own optimizer, and fresh
+ * {@link Player#copy() copies} of the roster snapshot for each season - the live
+ * league is never touched.
+ */
+public final class SeasonSimulator {
+    public static final int GAMES_PER_SEASON = 82;
+
+    private static final int STARTER_MINUTES = 34;
+    private static final int BENCH_MINUTES = 12;
+    private static final int SEASONS_PER_TASK = 8;
+    private static final double BACK_TO_BACK_RATE = 0.2;
+    private static final double POINTS_PER_RATING = 1.5; // margin per point of starter-average difference
+    private static final double MARGIN_SD = 13;           // spread of final margins around that
+
+    public record TeamOutlook(String teamId, double meanWins, double stdDevWins, int minWins, int maxWins,
+                              double bestRecordShare) { }
+
+    public record Report(int seasons, List<TeamOutlook> teams, long elapsedNanos) {
+        public double seasonsPerSecond() {
+            return elapsedNanos == 0 ? 0 : seasons * 1e9 / elapsedNanos;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    public SeasonSimulator(long seed) {
+        this(ForkJoinPool.commonPool(), seed);
+    }
+
+    public SeasonSimulator(ForkJoinPool pool, long seed) {
+        this.pool = Objects.requireNonNull(pool);
+        this.seed = seed;
+    }
+
+    /**
+     * Plays {@code seasons} seasons over {@code rosters} (teamId -> players, e.g. from
+     * {@code TeamManagementService.snapshotRosters()}); the given players are only read.
+     * Teams are listed by mean wins, best first.
+     */
+    public Report simulate(Map<String, List<Player>> rosters, int seasons) {
+        Objects.requireNonNull(rosters);
+        if (seasons <= 0) throw new IllegalArgumentException("seasons must be > 0");
+        if (rosters.size() < 2) throw new IllegalArgumentException("need at least two teams");
+
+        String[] teamIds = rosters.keySet().toArray(new String[0]);
+        Player[][] snapshot = new Player[teamIds.length][];
+        for (int t = 0; t < teamIds.length; t++) {
+            snapshot[t] = rosters.get(teamIds[t]).toArray(new Player[0]);
+            if (snapshot[t].length == 0) throw new IllegalArgumentException("empty roster: " + teamIds[t]);
+        }
+
+        long start = System.nanoTime();
+        // Fixed-size chunks (not pool-sized) so a seed gives the same report on any pool.
+        int tasks = (seasons + SEASONS_PER_TASK - 1) / SEASONS_PER_TASK;
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Callable<Totals>> work = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int count = Math.min(SEASONS_PER_TASK, seasons - i * SEASONS_PER_TASK);
+            SplittableRandom rnd = root.split(); // split here, in order, so results don't depend on scheduling
+            work.add(() -> new SeasonRunner(snapshot, rnd).run(count));
+        }
+
+        Totals total = new Totals(teamIds.length);
+        for (Future<Totals> f : pool.invokeAll(work)) {
+            try {
+                total.merge(f.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while simulating", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("season simulation failed", e.getCause());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<TeamOutlook> teams = new ArrayList<>(teamIds.length);
+        for (int t = 0; t < teamIds.length; t++) {
+            double mean = (double) total.winSum[t] / seasons;
+            double variance = Math.max(0, (double) total.winSqSum[t] / seasons - mean * mean);
+            teams.add(new TeamOutlook(teamIds[t], mean, Math.sqrt(variance), total.minWins[t], total.maxWins[t],
+                    total.bestRecord[t] / seasons));
+        }
+        teams.sort(Comparator.comparingDouble(TeamOutlook::meanWins).reversed());
+        return new Report(seasons, List.copyOf(teams), elapsed);
+    }
+
+    /** Per-task accumulators, merged once at the end. */
+    private static final class Totals {
+        final long[] winSum;
+        final long[] winSqSum;
+        final int[] minWins;
+        final int[] maxWins;
+        final double[] bestRecord; // ties for the best record share the season
+
+        Totals(int teams) {
+            winSum = new long[teams];
+            winSqSum = new long[teams];
+            minWins = new int[teams];
+            maxWins = new int[teams];
+            bestRecord = new double[teams];
+            Arrays.fill(minWins, Integer.MAX_VALUE);
+        }
+
+        void add(int[] wins) {
+            int best = 0;
+            int tied = 0;
+            for (int t = 0; t < wins.length; t++) {
+                int w = wins[t];
+                winSum[t] += w;
+                winSqSum[t] += (long) w * w;
+                minWins[t] = Math.min(minWins[t], w);
+                maxWins[t] = Math.max(maxWins[t], w);
+                if (w > best) {
+                    best = w;
+                    tied = 1;
+                } else if (w == best) {
+                    tied++;
+                }
+            }
+            for (int t = 0; t < wins.length; t++) {
+                if (wins[t] == best) bestRecord[t] += 1.0 / tied;
+            }
+        }
+
+        void merge(Totals o) {
+            for (int t = 0; t < winSum.length; t++) {
+                winSum[t] += o.winSum[t];
+                winSqSum[t] += o.winSqSum[t];
+                minWins[t] = Math.min(minWins[t], o.minWins[t]);
+                maxWins[t] = Math.max(maxWins[t], o.maxWins[t]);
+                bestRecord[t] += o.bestRecord[t];
+            }
+        }
+    }
+
+    /** Runs seasons sequentially on one thread with its own RNG, optimizer and player copies. */
+    private static final class SeasonRunner {
+        private final Player[][] snapshot; // shared, read-only
+        private final SplittableRandom rnd;
+        private final LineupOptimizer optimizer = new LineupOptimizer();
+        private final int teams;
+        private final Player[][] roster;
+        private final boolean[] fullLineup;
+        private final List<List<Player>> rosterViews;
+        private final int[] wins;
+        private final int[] played;
+        private final int[] order;
+        private final Player[] starters = new Player[5];
+
+        SeasonRunner(Player[][] snapshot, SplittableRandom rnd) {
+            this.snapshot = snapshot;
+            this.rnd = rnd;
+            this.teams = snapshot.length;
+            this.roster = new Player[teams][];
+            this.fullLineup = new boolean[teams];
+            this.rosterViews = new ArrayList<>(teams);
+            for (int t = 0; t < teams; t++) {
+                roster[t] = new Player[snapshot[t].length];
+                rosterViews.add(Arrays.asList(roster[t])); // view: sees each season's copies
+                EnumSet<Position> seen = EnumSet.noneOf(Position.class);
+                for (Player p : snapshot[t]) seen.add(p.position());
+                fullLineup[t] = seen.size() == Position.values().length;
+            }
+            this.wins = new int[teams];
+            this.played = new int[teams];
+            this.order = new int[teams];
+        }
+
+        Totals run(int seasons) {
+            Totals totals = new Totals(teams);
+            for (int s = 0; s < seasons; s++) {
+                playSeason();
+                totals.add(wins);
+            }
+            return totals;
+        }
+
+        private void playSeason() {
+            for (int t = 0; t < teams; t++) {
+                for (int i = 0; i < snapshot[t].length; i++) roster[t][i] = snapshot[t][i].copy();
+            }
+            Arrays.fill(wins, 0);
+            Arrays.fill(played, 0);
+
+            while (true) {
+                // Teams that still owe games, in random order; adjacent ones meet.
+                int n = 0;
+                for (int t = 0; t < teams; t++) if (played[t] < GAMES_PER_SEASON) order[n++] = t;
+                if (n == 0) return;
+                for (int i = n - 1; i > 0; i--) {
+                    int j = rnd.nextInt(i + 1);
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                }
+                for (int i = 0; i + 1 < n; i += 2) playGame(order[i], order[i + 1], true);
+                if (n % 2 == 1) {
+                    // Odd one out (odd league size, or the last team short of 82): its game
+                    // is against any other team and only counts for the team that owes it.
+                    int t = order[n - 1];
+                    playGame(t, (t + 1 + rnd.nextInt(teams - 1)) % teams, false);
+                }
+
+                if (rnd.nextDouble() >= BACK_TO_BACK_RATE) {
+                    for (Player[] r : roster) for (Player p : r) p.rest();
+                }
+            }
+        }
+
+        private void playGame(int home, int away, boolean countAway) {
+            double margin = (lineupRating(home) - lineupRating(away)) * POINTS_PER_RATING
+                    + rnd.nextGaussian() * MARGIN_SD;
+            boolean homeWins = margin > 0 || (margin == 0 && rnd.nextBoolean()); // dead even: overtime coin flip
+            played[home]++;
+            if (homeWins) wins[home]++;
+            if (countAway) {
+                played[away]++;
+                if (!homeWins) wins[away]++;
+            }
+        }
+
+        /** Picks the lineup, applies minutes, and returns the starters' average effective rating. */
+        private double lineupRating(int t) {
+            Player[] r = roster[t];
+            int count;
+            if (fullLineup[t]) {
+                List<Player> picked = optimizer.bestStartingFive(rosterViews.get(t)).starters();
+                for (int i = 0; i < 5; i++) starters[i] = picked.get(i);
+                count = 5;
+            } else {
+                count = topByEffectiveRating(r);
+            }
+
+            double sum = 0;
+            for (int i = 0; i < count; i++) sum += starters[i].effectiveRating();
+            for (Player p : r) {
+                boolean starting = false;
+                for (int j = 0; j < count; j++) starting |= p == starters[j];
+                p.applyMinutes(starting ? STARTER_MINUTES : BENCH_MINUTES);
+            }
+            return sum / count;
+        }
+
+        /** Fallback when a team can't cover every position: its five freshest-rated players. */
+        private int topByEffectiveRating(Player[] r) {
+            int count = Math.min(5, r.length);
+            for (int i = 0; i < count; i++) starters[i] = null;
+            for (Player p : r) {
+                for (int j = 0; j < count; j++) {
+                    if (starters[j] == null || p.effectiveRating() > starters[j].effectiveRating()) {
+                        System.arraycopy(starters, j, starters, j + 1, count - j - 1);
+                        starters[j] = p;
+                        break;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.nba.analytics;
+
+import com.example.nba.analytics.LineupOptimizer.Lineup;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Top-K starting fives where players may be eligible at several positions.
+ *
+ * A lineup's value is the sum of its five players' values, so it only depends on
+ * which five are picked; what makes a set legal is that it can be assigned one-to-one
+ * onto PG..C. With five positions that assignment problem is solved exactly by
+ * tracking, as a 32-bit set, every position subset the picked players can fill
+ * (bit {@code m} set = the picks can be placed exactly onto mask {@code m}).
+ * Adding a player extends each reachable mask by one of their free eligible
+ * positions; an empty set means no assignment exists.
+ *
+ * Search is include/exclude branch-and-bound over players sorted by value, with a
+ * size-K min-heap of the best lineups seen. The bound is the score so far plus the
+ * next best values still available, and a branch is cut once it can't beat the
+ * heap's worst entry.
+ */
+final class TopKLineupSearch {
+    private static final int SLOTS = 5; // PG, SG, SF, PF, C
+
+    private final PlayerValueVisitor valueVisitor;
+
+    private int n;
+    // Roster order as loaded, then the same data sorted by value.
+    private int[] rawValues = new int[32];
+    private int[] rawMasks = new int[32];
+    private Player[] rawPlayers = new Player[32];
+    private int[] values = new int[32];
+    private int[] masks = new int[32];
+    private Player[] players = new Player[32];
+    private long[] sortKeys = new long[32];
+    private int[] prefix = new int[33];
+    private final int[] picks = new int[SLOTS];
+
+    // Heap of found lineups, worst at the root: entry i owns heapPicks[i*5 .. i*5+4].
+    private int k;
+    private int heapSize;
+    private int[] heapScore = new int[0];
+    private long[] heapSeq = new long[0];
+    private int[] heapPicks = new int[0];
+    private int[] heapOrder = new int[0]; // heap position -> entry slot
+    private long seq;
+
+    TopKLineupSearch(PlayerValueVisitor valueVisitor) {
+        this.valueVisitor = valueVisitor;
+    }
+
+    List<Lineup> top(Iterable<? extends Player> roster, int k) {
+        if (k <= 0) throw new IllegalArgumentException("k must be > 0");
+        try {
+            load(roster);
+            prepareHeap(k);
+            search(0, 0, 1, 0);
+            return results();
+        } finally {
+            Arrays.fill(players, 0, n, null);
+            Arrays.fill(rawPlayers, 0, n, null);
+            n = 0;
+        }
+    }
+
+    private void load(Iterable<? extends Player> roster) {
+        n = 0;
+        for (Player pl : roster) {
+            if (n == values.length) grow();
+            rawValues[n] = pl.accept(valueVisitor);
+            int m = 0;
+            for (Position p : pl.eligiblePositions()) m |= 1 << slotOf(p);
+            rawMasks[n] = m;
+            rawPlayers[n] = pl;
+            n++;
+        }
+
+        // Value desc, roster order on ties.
+        for (int i = 0; i < n; i++) sortKeys[i] = ((long) -rawValues[i] << 32) | i;
+        Arrays.sort(sortKeys, 0, n);
+        for (int i = 0; i < n; i++) {
+            int src = (int) sortKeys[i];
+            values[i] = rawValues[src];
+            masks[i] = rawMasks[src];
+            players[i] = rawPlayers[src];
+        }
+
+        prefix[0] = 0;
+        for (int i = 0; i < n; i++) prefix[i + 1] = prefix[i] + values[i];
+    }
+
+    private void grow() {
+        int cap = values.length * 2;
+        rawValues = Arrays.copyOf(rawValues, cap);
+        rawMasks = Arrays.copyOf(rawMasks, cap);
+        rawPlayers = Arrays.copyOf(rawPlayers, cap);
+        values = Arrays.copyOf(values, cap);
+        masks = Arrays.copyOf(masks, cap);
+        players = Arrays.copyOf(players, cap);
+        sortKeys = Arrays.copyOf(sortKeys, cap);
+        prefix = Arrays.copyOf(prefix, cap + 1);
+    }
+
+    private void prepareHeap(int k) {
+        this.k = k;
+        heapSize = 0;
+        seq = 0;
+        if (heapScore.length < k) {
+            heapScore = new int[k];
+            heapSeq = new long[k];
+            heapPicks = new int[k * SLOTS];
+            heapOrder = new int[k];
+        }
+    }
+
+    /**
+     * @param i       next player to decide on
+     * @param chosen  players picked so far
+     * @param reach   bitset over position masks the picks can fill exactly
+     * @param score   value of the picks
+     */
+    private void search(int i, int chosen, int reach, int score) {
+        if (chosen == SLOTS) {
+            offer(score);
+            return;
+        }
+        int need = SLOTS - chosen;
+        if (n - i < need) return;
+        // Sorted by value, so the next `need` players are the best still available.
+        int bound = score + prefix[i + need] - prefix[i];
+        if (heapSize == k && !beats(bound, Long.MAX_VALUE)) return;
+
+        int extended = extend(reach, masks[i]);
+        if (extended != 0) {
+            picks[chosen] = i;
+            search(i + 1, chosen + 1, extended, score + values[i]);
+        }
+        search(i + 1, chosen, reach, score);
+    }
+
+    /** Every mask reachable by placing a player with eligibility {@code elig} on a free position. */
+    private static int extend(int reach, int elig) {
+        int out = 0;
+        for (int r = reach; r != 0; r &= r - 1) {
+            int m = Integer.numberOfTrailingZeros(r);
+            for (int free = elig & ~m; free != 0; free &= free - 1) {
+                out |= 1 << (m | Integer.lowestOneBit(free));
+            }
+        }
+        return out;
+    }
+
+    // ---- bounded heap ----
+
+    /** Whether (score, seq) ranks above the heap's current worst entry. */
+    private boolean beats(int score, long s) {
+        int root = heapOrder[0];
+        return score > heapScore[root] || (score == heapScore[root] && s < heapSeq[root]);
+    }
+
+    private void offer(int score) {
+        long s = seq++;
+        if (heapSize < k) {
+            write(heapSize, score, s);
+            heapOrder[heapSize] = heapSize;
+            siftUp(heapSize++);
+        } else if (beats(score, s)) {
+            write(heapOrder[0], score, s);
+            siftDown(0);
+        }
+    }
+
+    private void write(int entry, int score, long s) {
+        heapScore[entry] = score;
+        heapSeq[entry] = s;
+        System.arraycopy(picks, 0, heapPicks, entry * SLOTS, SLOTS);
+    }
+
+    private int pollWorst() {
+        int worst = heapOrder[0];
+        heapOrder[0] = heapOrder[--heapSize];
+        siftDown(0);
+        return worst;
+    }
+
+    /** a is worse than b: lower score, or equal score found later. */
+    private boolean worse(int a, int b) {
+        return heapScore[a] < heapScore[b] || (heapScore[a] == heapScore[b] && heapSeq[a] > heapSeq[b]);
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!worse(heapOrder[pos], heapOrder[parent])) break;
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos) {
+        while (true) {
+            int l = pos * 2 + 1;
+            if (l >= heapSize) return;
+            int r = l + 1;
+            int c = r < heapSize && worse(heapOrder[r], heapOrder[l]) ? r : l;
+            if (!worse(heapOrder[c], heapOrder[pos])) return;
+            swap(pos, c);
+            pos = c;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int t = heapOrder[a];
+        heapOrder[a] = heapOrder[b];
+        heapOrder[b] = t;
+    }
+
+    // ---- results ----
+
+    private List<Lineup> results() {
+        int count = heapSize;
+        int[] ranked = new int[count];
+        for (int i = count - 1; i >= 0; i--) ranked[i] = pollWorst();
+
+        int[] assigned = new int[SLOTS];
+        List<Lineup> lineups = new ArrayList<>(count);
+        for (int r = 0; r < count; r++) {
+            int e = ranked[r];
+            if (!assign(e * SLOTS, 0, 0, assigned)) throw new IllegalStateException("unassignable lineup");
+            Player[] starters = new Player[SLOTS];
+            for (int s = 0; s < SLOTS; s++) starters[s] = players[assigned[s]];
+            lineups.add(new Lineup(List.of(starters), heapScore[e]));
+        }
+        return lineups;
+    }
+
+    /** Places the entry's picks onto slots PG..C, preferring each player's earliest eligible slot. */
+    private boolean assign(int base, int slot, int used, int[] assigned) {
+        if (slot == SLOTS) return true;
+        for (int j = 0; j < SLOTS; j++) {
+            int p = heapPicks[base + j];
+            if ((used & (1 << j)) != 0 || (masks[p] & (1 << slot)) == 0) continue;
+            assigned[slot] = p;
+            if (assign(base, slot + 1, used | (1 << j), assigned)) return true;
+        }
+        return false;
+    }
+
+    private static int slotOf(Position p) {
+        return switch (p) {
+            case PG -> 0;
+            case SG -> 1;
+            case SF -> 2;
+            case PF -> 3;
+            case C -> 4;
+        };
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.nba.analytics;
+
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Team;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the best 1-for-1 and 2-for-1 trades across the league.
+ *
+ * A team's value is its {@link LineupOptimizer} starting-five score. With one
+ * primary position per player that score is the sum of the best
+ * {@link PlayerValueVisitor} value at each position, so each {@link TeamView} keeps
+ * its top three per position and scores a trade in O(1) instead of re-running the
+ * optimizer (an empty position counts 0). Trades are kept only when neither side
+ * loses value, and ranked by combined gain.
+ *
+ * Every ordered pair of teams is one task on a {@link ForkJoinPool}. Within a pair,
+ * cap checks (each side's remaining room against the salary swing, from
+ * {@link Team#annualSalaryFor}) run before any scoring; 2-for-1 packages walk the
+ * giver's players in salary order so over-cap combinations are cut off wholesale.
+ * Scoring is pruned against an optimistic bound (incoming gains, ignoring losses)
+ * versus the current N-th best gain, shared across tasks.
+ */
+public final class TradeSearch {
+    private static final int SLOTS = 5;
+    private static final int TOP = 3; // a 2-for-1 can remove two players from one position
+
+    public record TradeProposal(String teamA, List<Player> aGives, String teamB, Player bGives,
+                                int gainA, int gainB) {
+        public int totalGain() { return gainA + gainB; }
+    }
+
+    public record Result(List<TradeProposal> proposals, long evaluated, long capRejected, long pruned,
+                         boolean complete, long elapsedNanos) { }
+
+    /**
+     * Immutable per-team input, captured while holding the team's lock (e.g. via
+     * {@code TeamManagementService.readEachTeam(TradeSearch.TeamView::of)}).
+     */
+    public static final class TeamView {
+        private final String teamId;
+        private final Player[] players;
+        private final int[] value;
+        private final int[] slot;
+        private final long[] salaryCents;
+        private final long capRemainingCents;
+        private final int rosterSize;
+        private final int[] bySalary;             // player indexes, cheapest first
+        private final int[] top = new int[SLOTS * TOP]; // player index per (slot, rank), -1 = none
+
+        private TeamView(Team team) {
+            this.teamId = team.teamId();
+            this.rosterSize = team.rosterSize();
+            this.players = new Player[rosterSize];
+            this.value = new int[rosterSize];
+            this.slot = new int[rosterSize];
+            this.salaryCents = new long[rosterSize];
+            this.capRemainingCents = team.salaryCap().remainingCents();
+            PlayerValueVisitor visitor = new PlayerValueVisitor();
+            int i = 0;
+            for (Player p : team) {
+                players[i] = p;
+                value[i] = p.accept(visitor);
+                slot[i] = p.position().ordinal(); // PG..C, same order as the lineup slots
+                salaryCents[i] = team.annualSalaryFor(p.playerId()).cents();
+                i++;
+            }
+
+            Integer[] order = new Integer[rosterSize];
+            for (int j = 0; j < rosterSize; j++) order[j] = j;
+            Arrays.sort(order, Comparator.comparingLong(j -> salaryCents[j]));
+            bySalary = new int[rosterSize];
+            for (int j = 0; j < rosterSize; j++) bySalary[j] = order[j];
+
+            Arrays.fill(top, -1);
+            for (int j = 0; j < rosterSize; j++) {
+                int base = slot[j] * TOP;
+                for (int r = 0; r < TOP; r++) {
+                    int cur = top[base + r];
+                    if (cur == -1 || value[j] > value[cur]) {
+                        System.arraycopy(top, base + r, top, base + r + 1, TOP - r - 1);
+                        top[base + r] = j;
+                        break;
+                    }
+                }
+            }
+        }
+
+        public static TeamView of(Team team) {
+            return new TeamView(Objects.requireNonNull(team));
+        }
+
+        public String teamId() { return teamId; }
+
+        private int best(int s) {
+            int j = top[s * TOP];
+            return j == -1 ? 0 : value[j];
+        }
+
+        /** Best value at slot {@code s} once players {@code r1}/{@code r2} (or -1) leave. */
+        private int bestWithout(int s, int r1, int r2) {
+            for (int r = 0; r < TOP; r++) {
+                int j = top[s * TOP + r];
+                if (j == -1) return 0;
+                if (j != r1 && j != r2) return value[j];
+            }
+            return 0;
+        }
+
+        /** Optimistic gain from receiving a player: ignores anything this team gives up. */
+        private int gainFrom(int incomingValue, int incomingSlot) {
+            return Math.max(0, incomingValue - best(incomingSlot));
+        }
+
+        /** Exact change in lineup value when r1/r2 leave and the incoming players arrive. */
+        private int delta(int r1, int r2, TeamView src, int in1, int in2) {
+            int touched = 0; // bitmask of slots whose best player may change
+            if (r1 >= 0) touched |= 1 << slot[r1];
+            if (r2 >= 0) touched |= 1 << slot[r2];
+            if (in1 >= 0) touched |= 1 << src.slot[in1];
+            if (in2 >= 0) touched |= 1 << src.slot[in2];
+            int d = 0;
+            for (int t = touched; t != 0; t &= t - 1) {
+                int s = Integer.numberOfTrailingZeros(t);
+                int after = bestWithout(s, r1, r2);
+                if (in1 >= 0 && src.slot[in1] == s) after = Math.max(after, src.value[in1]);
+                if (in2 >= 0 && src.slot[in2] == s) after = Math.max(after, src.value[in2]);
+                d += after - best(s);
+            }
+            return d;
+        }
+
+        /** Upper bound on what this team can gain from up to {@code count} of {@code src}'s players. */
+        private int maxGainFrom(TeamView src, int count) {
+            int g1 = 0;
+            int g2 = 0;
+            for (int j = 0; j < src.rosterSize; j++) {
+                int g = gainFrom(src.value[j], src.slot[j]);
+                if (g > g1) {
+                    g2 = g1;
+                    g1 = g;
+                } else if (g > g2) {
+                    g2 = g;
+                }
+            }
+            return count == 1 ? g1 : g1 + g2;
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    public TradeSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TradeSearch(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /** The {@code topN} best trades found within {@code budget}, best first. */
+    public Result search(List<TeamView> league, int topN, Duration budget) {
+        Objects.requireNonNull(league);
+        Objects.requireNonNull(budget);
+        if (topN <= 0) throw new IllegalArgumentException("topN must be > 0");
+
+        long budgetNanos;
+        try {
+            budgetNanos = budget.toNanos();
+        } catch (ArithmeticException tooLong) {
+            budgetNanos = Long.MAX_VALUE;
+        }
+        Run run = new Run(topN, System.nanoTime(), budgetNanos);
+        List<Callable<PriorityQueue<TradeProposal>>> tasks = new ArrayList<>();
+        for (TeamView a : league) {
+            for (TeamView b : league) {
+                if (a != b) tasks.add(() -> run.pair(a, b));
+            }
+        }
+
+        PriorityQueue<TradeProposal> merged = new PriorityQueue<>(RANK.reversed());
+        for (Future<PriorityQueue<TradeProposal>> f : pool.invokeAll(tasks)) {
+            try {
+                for (TradeProposal p : f.get()) run.offer(merged, p);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted during trade search", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("trade search failed", e.getCause());
+            }
+        }
+        List<TradeProposal> out = new ArrayList<>(merged);
+        out.sort(RANK);
+        return new Result(List.copyOf(out), run.evaluated.sum(), run.capRejected.sum(), run.pruned.sum(),
+                !run.timedOut, System.nanoTime() - run.start);
+    }
+
+    /** Best first: combined gain, then the smaller side's gain, then team/player ids for stable output. */
+    private static final Comparator<TradeProposal> RANK = Comparator
+            .comparingInt(TradeProposal::totalGain).reversed()
+            .thenComparing(Comparator.comparingInt((TradeProposal p) -> Math.min(p.gainA(), p.gainB())).reversed())
+            .thenComparing(TradeProposal::teamA)
+            .thenComparing(TradeProposal::teamB)
+            .thenComparing(p -> p.bGives().playerId())
+            .thenComparing(p -> p.aGives().stream().map(Player::playerId).toList().toString());
+
+    /** State shared by one search's tasks. */
+    private static final class Run {
+        final int topN;
+        final long start;
+        final long budgetNanos;
+        final AtomicInteger threshold = new AtomicInteger(0); // proposals must beat this total gain
+        final LongAdder evaluated = new LongAdder();
+        final LongAdder capRejected = new LongAdder();
+        final LongAdder pruned = new LongAdder();
+        volatile boolean timedOut;
+
+        Run(int topN, long start, long budgetNanos) {
+            this.topN = topN;
+            this.start = start;
+            this.budgetNanos = budgetNanos;
+        }
+
+        boolean outOfTime() {
+            if (!timedOut && System.nanoTime() - start >= budgetNanos) timedOut = true;
+            return timedOut;
+        }
+
+        /** A gives one or two players, B gives one. 1-for-1 is only tried when A sorts first. */
+        PriorityQueue<TradeProposal> pair(TeamView a, TeamView b) {
+            PriorityQueue<TradeProposal> local = new PriorityQueue<>(RANK.reversed());
+            if (outOfTime()) return local;
+
+            boolean oneForOne = a.teamId.compareTo(b.teamId) < 0;
+            boolean twoForOne = b.rosterSize + 1 <= Team.MAX_ROSTER && a.rosterSize >= 2;
+            int bound = a.maxGainFrom(b, 1) + b.maxGainFrom(a, twoForOne ? 2 : 1);
+            if (bound <= threshold.get()) {
+                pruned.increment();
+                return local;
+            }
+
+            long checks = 0;
+            for (int bi = 0; bi < b.rosterSize; bi++) {
+                int gainA = a.gainFrom(b.value[bi], b.slot[bi]);
+                long bSal = b.salaryCents[bi];
+
+                if (oneForOne) {
+                    for (int ai = 0; ai < a.rosterSize; ai++) {
+                        long swing = a.salaryCents[ai] - bSal;
+                        if (a.capRemainingCents + swing < 0 || b.capRemainingCents - swing < 0) {
+                            capRejected.increment();
+                            continue;
+                        }
+                        if (gainA + b.gainFrom(a.value[ai], a.slot[ai]) <= threshold.get()) {
+                            pruned.increment();
+                            continue;
+                        }
+                        score(local, a, b, ai, -1, bi);
+                    }
+                }
+
+                if (twoForOne) {
+                    // B takes on both salaries: s1 + s2 <= B's room + what it sends out.
+                    long limit = b.capRemainingCents + bSal;
+                    int[] cheap = a.bySalary;
+                    for (int x = 0; x < cheap.length; x++) {
+                        int a1 = cheap[x];
+                        for (int y = x + 1; y < cheap.length; y++) {
+                            int a2 = cheap[y];
+                            long out = a.salaryCents[a1] + a.salaryCents[a2];
+                            if (out > limit) { // sorted: every later partner is dearer too
+                                capRejected.add(cheap.length - y);
+                                break;
+                            }
+                            if (a.capRemainingCents + out - bSal < 0) {
+                                capRejected.increment();
+                                continue;
+                            }
+                            if (gainA + b.gainFrom(a.value[a1], a.slot[a1]) + b.gainFrom(a.value[a2], a.slot[a2])
+                                    <= threshold.get()) {
+                                pruned.increment();
+                                continue;
+                            }
+                            score(local, a, b, a1, a2, bi);
+                        }
+                    }
+                }
+                if ((++checks & 7) == 0 && outOfTime()) break;
+            }
+            return local;
+        }
+
+        private void score(PriorityQueue<TradeProposal> local, TeamView a, TeamView b, int a1, int a2, int bi) {
+            evaluated.increment();
+            int gainA = a.delta(a1, a2, b, bi, -1);
+            if (gainA < 0) return;
+            int gainB = b.delta(bi, -1, a, a1, a2);
+            if (gainB < 0 || gainA + gainB <= 0) return;
+            List<Player> aGives = a2 < 0 ? List.of(a.players[a1]) : List.of(a.players[a1], a.players[a2]);
+            offer(local, new TradeProposal(a.teamId, aGives, b.teamId, b.players[bi], gainA, gainB));
+        }
+
+        /** Keeps the best topN in {@code heap} (worst at the head) and raises the shared threshold. */
+        void offer(PriorityQueue<TradeProposal> heap, TradeProposal p) {
+            if (heap.size() == topN) {
+                if (RANK.compare(p, heap.peek()) >= 0) return;
+                heap.poll();
+            }
+            heap.add(p);
+            if (heap.size() == topN) {
+                // This heap's worst is a lower bound on the global N-th best.
+                int floor = heap.peek().totalGain() - 1;
+                threshold.accumulateAndGet(floor, Math::max);
+            }
+        }
+    }
+}
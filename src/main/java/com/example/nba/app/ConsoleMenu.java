@@ -1,10 +1,12 @@
 package com.example.nba.app;
 
-import java.util.List;
 import java.util.Scanner;
 
 import com.example.nba.analytics.LineupOptimizer;
+import com.example.nba.analytics.SeasonSimulator;
 import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.AuditPage;
+import com.example.nba.audit.AuditQuery;
 import com.example.nba.domain.Contract;
 import com.example.nba.domain.ExperienceLevel;
 import com.example.nba.domain.Money;
@@ -20,10 +22,12 @@ import com.example.nba.factory.PlayerFactory;
 import com.example.nba.service.TeamManagementService;
 
 public final class ConsoleMenu {
+    private static final int AUDIT_PAGE_SIZE = 20;
 
     private final TeamManagementService service;
     private final Role actor;
     private final Scanner in = new Scanner(System.in);
+    private final LineupOptimizer optimizer = new LineupOptimizer();
 
     public ConsoleMenu(TeamManagementService service, Role actor) {
         this.service = service;
@@ -39,6 +43,7 @@ public final class ConsoleMenu {
             System.out.println("4) Print roster");
             System.out.println("5) Optimize lineup");
             System.out.println("6) Show audit log / verify chain");
+            System.out.println("7) Simulate seasons");
             System.out.println("0) Exit");
             System.out.print("> ");
 
@@ -51,6 +56,7 @@ public final class ConsoleMenu {
                     case "4" -> printRoster();
                     case "5" -> optimizeLineup();
                     case "6" -> showAudit();
+                    case "7" -> simulateSeasons();
                     case "0" -> { System.out.println("Bye."); return; }
                     default -> System.out.println("Invalid option.");
                 }
@@ -151,23 +157,51 @@ public final class ConsoleMenu {
 
     private void optimizeLineup() {
         String teamId = pickTeam("Optimize lineup for which team?");
-        Team t = service.getTeam(teamId);
-
-        var opt = new LineupOptimizer();
-        var lineup = opt.bestStartingFive(t);
+        var lineup = service.readTeam(teamId, optimizer::bestStartingFive);
 
         System.out.println("Best starting 5 (score=" + lineup.score() + "):");
         lineup.starters().forEach(p -> System.out.println(" - " + p.position() + " " + p.name() + " (" + p.playerId() + ")"));
     }
 
+    private void simulateSeasons() {
+        int seasons = readInt("seasons to simulate: ");
+        var report = new SeasonSimulator(System.nanoTime()).simulate(service.snapshotRosters(), seasons);
+
+        System.out.printf("Simulated %d seasons (%.0f seasons/sec)%n", report.seasons(), report.seasonsPerSecond());
+        for (var t : report.teams()) {
+            System.out.printf(" - %-4s %5.1f wins (sd %.1f, %d-%d)  best record %4.1f%%%n", t.teamId(), t.meanWins(),
+                    t.stdDevWins(), t.minWins(), t.maxWins(), t.bestRecordShare() * 100);
+        }
+    }
+
     private void showAudit() {
-        List<AuditEntry> entries = service.audit().all();
-        System.out.println("Audit entries: " + entries.size());
-        for (AuditEntry e : entries) {
-            System.out.println(" - " + e.timestamp() + " " + e.actorRole() + ":" + e.actorId()
-                    + " " + e.action() + " hash=" + e.hash().substring(0, 12) + "...");
+        AuditQuery.Builder q = AuditQuery.builder();
+        System.out.print("filter by action (blank = any): ");
+        String action = in.nextLine().trim().toUpperCase();
+        if (!action.isEmpty()) q.action(action);
+        System.out.print("filter by actorId (blank = any): ");
+        String actorId = in.nextLine().trim();
+        if (!actorId.isEmpty()) q.actorId(actorId);
+        AuditQuery query = q.build();
+
+        long cursor = 0;
+        int shown = 0;
+        while (true) {
+            AuditPage page = service.audit().query(query, cursor, AUDIT_PAGE_SIZE);
+            for (AuditEntry e : page.entries()) {
+                System.out.println(" - " + e.timestamp() + " " + e.actorRole() + ":" + e.actorId()
+                        + " " + e.action() + " hash=" + e.hash().substring(0, 12) + "...");
+            }
+            shown += page.entries().size();
+            if (!page.hasMore()) break;
+            System.out.print("-- more? (Enter = next page, q = stop) ");
+            if (in.nextLine().trim().equalsIgnoreCase("q")) break;
+            cursor = page.nextCursor();
         }
-        System.out.println("Audit chain OK? " + service.audit().verifyIntegrity());
+        System.out.println("Audit entries shown: " + shown);
+        var check = service.audit().verifyChain();
+        System.out.println("Audit chain OK? " + check.intact()
+                + (check.intact() ? "" : " (first broken entry #" + check.firstBrokenIndex() + ")"));
     }
 
     private String pickTeam(String prompt) {
@@ -1,23 +1,50 @@
 package com.example.nba.app;
 
+import java.nio.file.Path;
+
+import com.example.nba.audit.AuditLogRepository;
+import com.example.nba.audit.FileAuditLogRepository;
 import com.example.nba.audit.InMemoryAuditLogRepository;
 import com.example.nba.domain.Coach;
 import com.example.nba.domain.Role;
 import com.example.nba.integration.EspnClient;
 import com.example.nba.integration.EspnRosterSeeder;
+import com.example.nba.integration.HttpResponseCache;
+import com.example.nba.repo.FileTeamRepository;
 import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.repo.TeamRepository;
 import com.example.nba.service.TeamManagementService;
 
 public final class Main {
     public static void main(String[] args) {
-        var teamsRepo = new InMemoryTeamRepository();
-        var auditRepo = new InMemoryAuditLogRepository();
+        // -Dnba.dataDir=<dir> keeps the league and its audit log on disk; a restart then skips seeding.
+        String dataDir = System.getProperty("nba.dataDir");
+        if (dataDir == null) {
+            run(new InMemoryTeamRepository(), new InMemoryAuditLogRepository(), null);
+            return;
+        }
+        Path dir = Path.of(dataDir);
+        // Closing forces whatever the fsync policy left unsynced.
+        try (var teamsRepo = FileTeamRepository.builder(dir).open();
+             var auditRepo = FileAuditLogRepository.builder(dir.resolve("audit")).open()) {
+            run(teamsRepo, auditRepo, dir);
+        }
+    }
+
+    private static void run(TeamRepository teamsRepo, AuditLogRepository auditRepo, Path dataDir) {
         var service = new TeamManagementService(teamsRepo, auditRepo);
 
         Role coach = new Coach("u1", "Coach Carter");
 
-        var api = new EspnClient();
-        new EspnRosterSeeder(api).seed(service, coach);
+        if (teamsRepo.findAll().isEmpty()) {
+            // With a data dir, ESPN responses are cached there and revalidated on the next seed.
+            var api = dataDir == null
+                    ? new EspnClient()
+                    : EspnClient.builder().responseCache(HttpResponseCache.builder(dataDir.resolve("http")).build()).build();
+            new EspnRosterSeeder(api).seed(service, coach);
+        } else {
+            System.out.println("Loaded " + teamsRepo.findAll().size() + " teams from " + dataDir);
+        }
 
         new ConsoleMenu(service, coach).run();
     }
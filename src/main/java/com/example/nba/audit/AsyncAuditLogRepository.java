@@ -0,0 +1,215 @@
+package com.example.nba.audit;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import com.example.nba.domain.Role;
+
+/**
+ * Moves audit hashing and appends off the request path.
+ *
+ * {@link #appendNext} captures the mutation (actor, states) into a bounded ring
+ * buffer and returns according to the configured {@link Durability}. A single
+ * writer thread drains the buffer in batches, stamps and chains each entry onto the
+ * tail, appends it to the delegate and - once per batch - syncs it if anyone asked
+ * for fsync. Stamping on the writer (never earlier than the previous entry) keeps
+ * timestamps non-decreasing in chain order even when publishers race.
+ * When the buffer is full, publishers block (backpressure) until the writer catches up.
+ *
+ * Reads ({@link #all()}, {@link #tailHash()}, verification) flush pending entries first,
+ * so they always see every mutation published before the call.
+ */
+public final class AsyncAuditLogRepository implements AuditLogRepository, Closeable {
+
+    public enum Durability {
+        /** Return once queued; failures surface on later calls. */
+        FIRE_AND_FORGET,
+        /** Return once the entry is appended to the delegate. */
+        WAIT_FOR_APPEND,
+        /** Return once the batch holding the entry has been synced. */
+        WAIT_FOR_FSYNC
+    }
+
+    /** One queued append; either a fully built entry or the fields to chain later. */
+    private record Request(AuditEntry prebuilt, Role actor, String action, String beforeState, String afterState,
+                           String event, boolean fsync, CompletableFuture<Void> done) { }
+
+    private static final Request STOP = new Request(null, null, null, null, null, null, false, null);
+
+    private final AuditLogRepository delegate;
+    private final Durability durability;
+    private final int maxBatch;
+    private final BlockingQueue<Request> ring;
+    private final Thread writer;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    public AsyncAuditLogRepository(AuditLogRepository delegate, Durability durability, int capacity, int maxBatch) {
+        if (capacity <= 0 || maxBatch <= 0) throw new IllegalArgumentException("capacity and maxBatch must be > 0");
+        this.delegate = Objects.requireNonNull(delegate);
+        this.durability = Objects.requireNonNull(durability);
+        this.maxBatch = maxBatch;
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drainLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public AsyncAuditLogRepository(AuditLogRepository delegate, Durability durability) {
+        this(delegate, durability, 8192, 256);
+    }
+
+    @Override public String genesisHash() { return delegate.genesisHash(); }
+
+    @Override
+    public void appendNext(Role actor, String action, String beforeState, String afterState, String event) {
+        Objects.requireNonNull(actor);
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(beforeState);
+        Objects.requireNonNull(afterState);
+        Objects.requireNonNull(event);
+        publish(null, actor, action, beforeState, afterState, event, durability);
+    }
+
+    /** Pre-chained entries are appended verbatim, in order with everything else. */
+    @Override
+    public void append(AuditEntry entry) {
+        publish(Objects.requireNonNull(entry), null, null, null, null, null, durability);
+    }
+
+    @Override public List<AuditEntry> all() { flush(); return delegate.all(); }
+    @Override public Stream<AuditEntry> stream() { flush(); return delegate.stream(); }
+    @Override public Stream<AuditEntry> stream(long fromPosition) { flush(); return delegate.stream(fromPosition); }
+    @Override public Stream<AuditEntry> query(AuditQuery q) { flush(); return delegate.query(q); }
+    @Override public AuditPage query(AuditQuery q, long cursor, int limit) { flush(); return delegate.query(q, cursor, limit); }
+    @Override public String tailHash() { flush(); return delegate.tailHash(); }
+    @Override public boolean verifyIntegrity() { flush(); return delegate.verifyIntegrity(); }
+    @Override public ChainVerification verifyChain() { flush(); return delegate.verifyChain(); }
+
+    /** Waits until everything published so far is appended and synced. */
+    @Override
+    public void sync() {
+        publish(null, null, null, null, null, null, Durability.WAIT_FOR_FSYNC);
+    }
+
+    /** Waits until everything published so far is appended. */
+    public void flush() {
+        publish(null, null, null, null, null, null, Durability.WAIT_FOR_APPEND);
+    }
+
+    /** Current queue depth; useful as a backpressure metric. */
+    public int pending() { return ring.size(); }
+
+    /** Drains what's queued, syncs, and stops the writer. */
+    @Override
+    public void close() {
+        if (closed) return;
+        try {
+            sync();
+        } finally {
+            closed = true;
+            putUninterruptibly(STOP);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void publish(AuditEntry prebuilt, Role actor, String action, String before, String after,
+                         String event, Durability mode) {
+        if (closed) throw new IllegalStateException("audit writer closed");
+        checkHealthy();
+        CompletableFuture<Void> done = mode == Durability.FIRE_AND_FORGET ? null : new CompletableFuture<>();
+        putUninterruptibly(new Request(prebuilt, actor, action, before, after, event,
+                mode == Durability.WAIT_FOR_FSYNC, done));
+        if (done == null) return;
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private void putUninterruptibly(Request r) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                ring.put(r); // blocks while the ring is full
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void checkHealthy() {
+        Throwable f = failure;
+        if (f != null) throw new IllegalStateException("audit writer failed", f);
+    }
+
+    private void drainLoop() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        String tail = delegate.tailHash();
+        Instant last = Instant.MIN;
+        while (true) {
+            try {
+                batch.add(ring.take());
+            } catch (InterruptedException e) {
+                continue; // only STOP ends the writer
+            }
+            ring.drainTo(batch, maxBatch - 1);
+
+            boolean stop = false;
+            boolean fsync = false;
+            RuntimeException error = null;
+            for (Request r : batch) {
+                if (r == STOP) {
+                    stop = true;
+                    continue;
+                }
+                fsync |= r.fsync();
+                if (error != null || (r.actor() == null && r.prebuilt() == null)) continue; // flush/sync marker
+                try {
+                    Instant now = Instant.now();
+                    AuditEntry e = r.prebuilt() != null
+                            ? r.prebuilt()
+                            : new AuditEntry(r.actor(), r.action(), r.beforeState(), r.afterState(), r.event(), tail,
+                                    now.isBefore(last) ? last : now);
+                    delegate.append(e);
+                    tail = e.hash();
+                    if (e.timestamp().isAfter(last)) last = e.timestamp();
+                } catch (RuntimeException ex) {
+                    error = ex;
+                }
+            }
+            if (error == null && fsync) {
+                try {
+                    delegate.sync();
+                } catch (RuntimeException ex) {
+                    error = ex;
+                }
+            }
+            if (error != null && failure == null) failure = error;
+
+            for (Request r : batch) {
+                if (r.done() == null) continue;
+                if (error != null) r.done().completeExceptionally(error);
+                else r.done().complete(null);
+            }
+            batch.clear();
+            if (stop) return;
+        }
+    }
+}
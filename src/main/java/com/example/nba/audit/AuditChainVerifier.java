@@ -0,0 +1,93 @@
+package com.example.nba.audit;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fork-join chain verification. Every entry carries its own prevHash, so the
+ * SHA-256 recomputations are independent and run on all cores; linkage (prevHash
+ * equals the previous entry's hash) is a string compare checked per chunk,
+ * including each chunk's boundary with the one before it.
+ *
+ * Entry i is broken if its stored prevHash doesn't match entry i-1's hash (or
+ * genesis), or if its hash doesn't recompute from its own fields.
+ */
+public final class AuditChainVerifier {
+    private static final int DEFAULT_CHUNK = 2048;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public AuditChainVerifier() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK);
+    }
+
+    public AuditChainVerifier(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be > 0");
+        this.pool = Objects.requireNonNull(pool);
+        this.chunkSize = chunkSize;
+    }
+
+    /** {@code entries} must be random-access (e.g. ArrayList / List.copyOf). */
+    public ChainVerification verify(List<AuditEntry> entries, String genesisHash) {
+        Objects.requireNonNull(genesisHash);
+        int n = entries.size();
+        if (n == 0) return ChainVerification.ok(0);
+
+        AtomicLong firstBroken = new AtomicLong(Long.MAX_VALUE);
+        if (n <= chunkSize) {
+            new Chunk(entries, genesisHash, 0, n, firstBroken).compute();
+        } else {
+            pool.invoke(new Chunk(entries, genesisHash, 0, n, firstBroken));
+        }
+        long broken = firstBroken.get();
+        return broken == Long.MAX_VALUE ? ChainVerification.ok(n) : ChainVerification.brokenAt(broken, n);
+    }
+
+    /** Checks one entry against the hash it should link to. */
+    static boolean linksAndVerifies(AuditEntry e, String expectedPrevHash) {
+        return e.prevHash().equals(expectedPrevHash) && e.verifiesAgainst(expectedPrevHash);
+    }
+
+    private final class Chunk extends RecursiveTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<AuditEntry> entries;
+        private final String genesisHash;
+        private final int from;
+        private final int to;
+        private final AtomicLong firstBroken;
+
+        Chunk(List<AuditEntry> entries, String genesisHash, int from, int to, AtomicLong firstBroken) {
+            this.entries = entries;
+            this.genesisHash = genesisHash;
+            this.from = from;
+            this.to = to;
+            this.firstBroken = firstBroken;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from > chunkSize) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunk(entries, genesisHash, from, mid, firstBroken),
+                        new Chunk(entries, genesisHash, mid, to, firstBroken));
+                return null;
+            }
+            String prev = from == 0 ? genesisHash : entries.get(from - 1).hash();
+            for (int i = from; i < to; i++) {
+                if (i >= firstBroken.get()) return null; // an earlier break already won
+                AuditEntry e = entries.get(i);
+                if (!linksAndVerifies(e, prev)) {
+                    firstBroken.accumulateAndGet(i, Math::min);
+                    return null;
+                }
+                prev = e.hash();
+            }
+            return null;
+        }
+    }
+}
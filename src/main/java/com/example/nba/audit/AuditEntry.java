@@ -2,31 +2,70 @@ package com.example.nba.audit;
 
 import com.example.nba.domain.Role;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Objects;
 
 public final class AuditEntry {
+    public static final String NO_EVENT = "";
+
     private final String actorId;
     private final String actorRole;
     private final String action;
     private final String beforeState;
     private final String afterState;
     private final Instant timestamp;
+    private final String event;
     private final String prevHash;
     private final String hash;
 
     public AuditEntry(Role actor, String action, String beforeState, String afterState, String prevHash) {
+        this(actor, action, beforeState, afterState, NO_EVENT, prevHash, Instant.now());
+    }
+
+    /** An entry that also carries an encoded domain event (see {@code com.example.nba.events}). */
+    public AuditEntry(Role actor, String action, String beforeState, String afterState, String event, String prevHash) {
+        this(actor, action, beforeState, afterState, event, prevHash, Instant.now());
+    }
+
+    /**
+     * An entry with an explicit timestamp, for writers that chain it later than the
+     * mutation happened (see {@link AsyncAuditLogRepository}) or carry one over.
+     */
+    public AuditEntry(Role actor, String action, String beforeState, String afterState, String event, String prevHash,
+               Instant timestamp) {
         Objects.requireNonNull(actor);
         this.actorId = actor.id();
         this.actorRole = actor.getClass().getSimpleName();
         this.action = Objects.requireNonNull(action);
         this.beforeState = Objects.requireNonNull(beforeState);
         this.afterState = Objects.requireNonNull(afterState);
-        this.timestamp = Instant.now();
+        this.timestamp = Objects.requireNonNull(timestamp);
+        this.event = Objects.requireNonNull(event);
         this.prevHash = Objects.requireNonNull(prevHash);
-        this.hash = sha256(prevHash + "|" + actorId + "|" + actorRole + "|" + action + "|" + beforeState + "|" + afterState + "|" + timestamp);
+        this.hash = AuditHasher.get().hashEntry(prevHash, actorId, actorRole, action, beforeState, afterState, timestamp,
+                event);
+    }
+
+    /** Rehydrates a persisted entry verbatim; the stored hash is kept, not recomputed. */
+    private AuditEntry(String actorId, String actorRole, String action, String beforeState, String afterState,
+                       Instant timestamp, String event, String prevHash, String hash) {
+        this.actorId = actorId;
+        this.actorRole = actorRole;
+        this.action = action;
+        this.beforeState = beforeState;
+        this.afterState = afterState;
+        this.timestamp = timestamp;
+        this.event = event;
+        this.prevHash = prevHash;
+        this.hash = hash;
+    }
+
+    static AuditEntry restore(String actorId, String actorRole, String action, String beforeState, String afterState,
+                              Instant timestamp, String event, String prevHash, String hash) {
+        return new AuditEntry(Objects.requireNonNull(actorId), Objects.requireNonNull(actorRole),
+                Objects.requireNonNull(action), Objects.requireNonNull(beforeState), Objects.requireNonNull(afterState),
+                Objects.requireNonNull(timestamp), Objects.requireNonNull(event), Objects.requireNonNull(prevHash),
+                Objects.requireNonNull(hash));
     }
 
     public String actorId() { return actorId; }
@@ -35,24 +74,23 @@ public final class AuditEntry {
     public String beforeState() { return beforeState; }
     public String afterState() { return afterState; }
     public Instant timestamp() { return timestamp; }
+    /** Encoded domain event, or {@link #NO_EVENT}. */
+    public String event() { return event; }
+    public boolean hasEvent() { return !event.isEmpty(); }
     public String prevHash() { return prevHash; }
     public String hash() { return hash; }
 
+    /**
+     * Hash covers {@code prevHash|actorId|actorRole|action|beforeState|afterState|timestamp} (UTF-8),
+     * plus {@code |event} when there is one, so entries without events hash as they always have.
+     */
     public boolean verifiesAgainst(String expectedPrevHash) {
-        String recomputed = sha256(expectedPrevHash + "|" + actorId + "|" + actorRole + "|" + action + "|" + beforeState + "|" + afterState + "|" + timestamp);
-        return recomputed.equals(hash);
+        return AuditHasher.get().matches(hash, expectedPrevHash, actorId, actorRole, action, beforeState, afterState,
+                timestamp, event);
     }
 
     public static String sha256(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] bytes = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(bytes.length * 2);
-            for (byte b : bytes) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
-            throw new IllegalStateException("SHA-256 unavailable", e);
-        }
+        return AuditHasher.get().hashString(input);
     }
 
     @Override
@@ -0,0 +1,149 @@
+package com.example.nba.audit;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Per-thread SHA-256 over the audit fields, without building the joined string.
+ *
+ * Fields are UTF-8 encoded straight into a reused buffer that feeds the digest,
+ * which yields exactly the bytes of
+ * {@code (prevHash + "|" + actorId + ... + "|" + timestamp).getBytes(UTF_8)} -
+ * including '?' for unpaired surrogates - so existing chains keep verifying.
+ * A non-empty event is appended as {@code "|" + event}.
+ */
+final class AuditHasher {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int DIGEST_BYTES = 32;
+    private static final ThreadLocal<AuditHasher> LOCAL = ThreadLocal.withInitial(AuditHasher::new);
+
+    private final MessageDigest md;
+    private final byte[] buf = new byte[8192];
+    private final byte[] digest = new byte[DIGEST_BYTES];
+    private final char[] hex = new char[DIGEST_BYTES * 2];
+    private final StringBuilder timestamp = new StringBuilder(32);
+    private int pos;
+
+    private AuditHasher() {
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    static AuditHasher get() { return LOCAL.get(); }
+
+    /** Hex SHA-256 of the canonical entry string. */
+    String hashEntry(String prevHash, String actorId, String actorRole, String action,
+                     String beforeState, String afterState, Instant ts, String event) {
+        digestEntry(prevHash, actorId, actorRole, action, beforeState, afterState, ts, event);
+        return new String(hexOfDigest());
+    }
+
+    /** Recomputes and compares against {@code expectedHex} without allocating. */
+    boolean matches(String expectedHex, String prevHash, String actorId, String actorRole, String action,
+                    String beforeState, String afterState, Instant ts, String event) {
+        if (expectedHex.length() != hex.length) return false;
+        digestEntry(prevHash, actorId, actorRole, action, beforeState, afterState, ts, event);
+        char[] h = hexOfDigest();
+        for (int i = 0; i < h.length; i++) {
+            if (h[i] != expectedHex.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** Hex SHA-256 of an arbitrary string (UTF-8). */
+    String hashString(String input) {
+        pos = 0;
+        utf8(input);
+        finish();
+        return new String(hexOfDigest());
+    }
+
+    private void digestEntry(String prevHash, String actorId, String actorRole, String action,
+                             String beforeState, String afterState, Instant ts, String event) {
+        timestamp.setLength(0);
+        DateTimeFormatter.ISO_INSTANT.formatTo(ts, timestamp); // == Instant.toString()
+
+        pos = 0;
+        utf8(prevHash);
+        sep();
+        utf8(actorId);
+        sep();
+        utf8(actorRole);
+        sep();
+        utf8(action);
+        sep();
+        utf8(beforeState);
+        sep();
+        utf8(afterState);
+        sep();
+        utf8(timestamp);
+        if (!event.isEmpty()) {
+            sep();
+            utf8(event);
+        }
+        finish();
+    }
+
+    private void finish() {
+        md.update(buf, 0, pos);
+        pos = 0;
+        try {
+            md.digest(digest, 0, DIGEST_BYTES);
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 failed", e);
+        }
+    }
+
+    private char[] hexOfDigest() {
+        for (int i = 0; i < DIGEST_BYTES; i++) {
+            int b = digest[i] & 0xff;
+            hex[i * 2] = HEX[b >>> 4];
+            hex[i * 2 + 1] = HEX[b & 0x0f];
+        }
+        return hex;
+    }
+
+    private void sep() {
+        ensure(1);
+        buf[pos++] = '|';
+    }
+
+    private void utf8(CharSequence s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            ensure(4);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xc0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[pos++] = (byte) (0xf0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    buf[pos++] = '?'; // what String.getBytes(UTF_8) substitutes
+                }
+            } else {
+                buf[pos++] = (byte) (0xe0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (pos + bytes > buf.length) {
+            md.update(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.nba.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Secondary indexes over log positions, maintained on append.
+ *
+ * Each actorId, actorRole and action value owns an ascending postings list of
+ * positions, and a parallel array keeps every entry's timestamp. Arrays only ever
+ * grow by copy and filled slots never change, so {@link #candidates} can capture
+ * them under the owner's lock and be walked afterwards without it.
+ *
+ * Candidates are a superset of the matches: callers still apply
+ * {@link AuditQuery#matches}. Time bounds narrow the scan by binary search within
+ * each run of non-decreasing timestamps; a clock step back only starts a new run, so
+ * a log with one such step costs two searches rather than a full scan.
+ */
+final class AuditIndex {
+    private static final PrimitiveIterator.OfLong EMPTY = range(0, 0);
+
+    private final Map<String, Postings> byActorId = new HashMap<>();
+    private final Map<String, Postings> byActorRole = new HashMap<>();
+    private final Map<String, Postings> byAction = new HashMap<>();
+    private long[] timestamps = new long[1024];
+    private int size;
+    private int[] runStarts = new int[4]; // positions where a non-decreasing run begins
+    private int runs = 1;
+
+    int size() { return size; }
+
+    void add(AuditEntry e) {
+        if (size == Integer.MAX_VALUE - 8) throw new IllegalStateException("audit index full");
+        int pos = size;
+        byActorId.computeIfAbsent(e.actorId(), k -> new Postings()).add(pos);
+        byActorRole.computeIfAbsent(e.actorRole(), k -> new Postings()).add(pos);
+        byAction.computeIfAbsent(e.action(), k -> new Postings()).add(pos);
+
+        long ts = epochNanos(e.timestamp());
+        if (size == timestamps.length) timestamps = Arrays.copyOf(timestamps, size * 2);
+        if (size > 0 && ts < timestamps[size - 1]) {
+            if (runs == runStarts.length) runStarts = Arrays.copyOf(runStarts, runs * 2);
+            runStarts[runs++] = size;
+        }
+        timestamps[size++] = ts;
+    }
+
+    /** Ascending positions {@code >= cursor} that may match {@code q}. Call under the owner's lock. */
+    PrimitiveIterator.OfLong candidates(AuditQuery q, long cursor) {
+        int lo = (int) Math.min(Math.max(cursor, 0), size);
+        Postings best = null;
+        for (Postings p : new Postings[]{
+                lookup(byActorId, q.actorId()), lookup(byActorRole, q.actorRole()), lookup(byAction, q.action())}) {
+            if (p == EMPTY_POSTINGS) return EMPTY;
+            if (p != null && (best == null || p.size < best.size)) best = p;
+        }
+
+        // One [start, end) slice per run, each narrowed by the time bounds; runs are in position order.
+        List<PrimitiveIterator.OfLong> slices = new ArrayList<>(1);
+        for (int r = 0; r < runs; r++) {
+            int end = r + 1 < runs ? runStarts[r + 1] : size;
+            int start = Math.max(runStarts[r], lo);
+            if (start >= end) continue;
+            if (q.from() != null) start = lowerBound(timestamps, start, end, epochNanos(q.from()));
+            if (q.to() != null) end = lowerBound(timestamps, start, end, epochNanos(q.to()));
+            if (start < end) slices.add(best == null ? range(start, end) : best.between(start, end));
+        }
+        if (slices.isEmpty()) return EMPTY;
+        return slices.size() == 1 ? slices.get(0) : concat(slices);
+    }
+
+    /** Lazily fetches and filters candidates. */
+    static Stream<AuditEntry> stream(PrimitiveIterator.OfLong candidates, LongFunction<AuditEntry> fetch, AuditQuery q) {
+        Spliterator<AuditEntry> split = Spliterators.spliteratorUnknownSize(new Iterator<>() {
+            private AuditEntry next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && candidates.hasNext()) {
+                    AuditEntry e = fetch.apply(candidates.nextLong());
+                    if (q.matches(e)) next = e;
+                }
+                return next != null;
+            }
+
+            @Override
+            public AuditEntry next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                AuditEntry e = next;
+                next = null;
+                return e;
+            }
+        }, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(split, false);
+    }
+
+    /** Collects up to {@code limit} matches; the cursor points just past the last one returned. */
+    static AuditPage page(PrimitiveIterator.OfLong candidates, LongFunction<AuditEntry> fetch, AuditQuery q, int limit) {
+        checkLimit(limit);
+        List<AuditEntry> out = new ArrayList<>(Math.min(limit, 256));
+        while (candidates.hasNext()) {
+            long pos = candidates.nextLong();
+            AuditEntry e = fetch.apply(pos);
+            if (!q.matches(e)) continue;
+            out.add(e);
+            if (out.size() == limit) return new AuditPage(out, candidates.hasNext() ? pos + 1 : AuditPage.END);
+        }
+        return new AuditPage(out, AuditPage.END);
+    }
+
+    static void checkLimit(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+    }
+
+    private static final Postings EMPTY_POSTINGS = new Postings();
+
+    /** null = unfiltered; EMPTY_POSTINGS = value never seen. */
+    private static Postings lookup(Map<String, Postings> index, String key) {
+        if (key == null) return null;
+        return index.getOrDefault(key, EMPTY_POSTINGS);
+    }
+
+    private static long epochNanos(Instant t) {
+        long s = t.getEpochSecond();
+        if (s >= Long.MAX_VALUE / 1_000_000_000L) return Long.MAX_VALUE;
+        if (s <= Long.MIN_VALUE / 1_000_000_000L) return Long.MIN_VALUE;
+        return s * 1_000_000_000L + t.getNano();
+    }
+
+    /** First index in {@code a[from, to)} whose value is {@code >= key}, or {@code to}. */
+    private static int lowerBound(long[] a, int from, int to, long key) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int lowerBound(int[] a, int n, int key) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static PrimitiveIterator.OfLong range(int from, int to) {
+        return new PrimitiveIterator.OfLong() {
+            private int next = from;
+            @Override public boolean hasNext() { return next < to; }
+            @Override public long nextLong() {
+                if (next >= to) throw new NoSuchElementException();
+                return next++;
+            }
+        };
+    }
+
+    private static PrimitiveIterator.OfLong concat(List<PrimitiveIterator.OfLong> parts) {
+        return new PrimitiveIterator.OfLong() {
+            private int i;
+            @Override public boolean hasNext() {
+                while (i < parts.size() && !parts.get(i).hasNext()) i++;
+                return i < parts.size();
+            }
+            @Override public long nextLong() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return parts.get(i).nextLong();
+            }
+        };
+    }
+
+    private static final class Postings {
+        private int[] positions = new int[8];
+        private int size;
+
+        void add(int pos) {
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = pos;
+        }
+
+        /** Iterator over the postings in {@code [lo, hi)}, bound to the arrays as of now. */
+        PrimitiveIterator.OfLong between(int lo, int hi) {
+            int[] snap = positions;
+            int start = lowerBound(snap, size, lo);
+            int end = lowerBound(snap, size, hi);
+            return new PrimitiveIterator.OfLong() {
+                private int i = start;
+                @Override public boolean hasNext() { return i < end; }
+                @Override public long nextLong() {
+                    if (i >= end) throw new NoSuchElementException();
+                    return snap[i++];
+                }
+            };
+        }
+    }
+}
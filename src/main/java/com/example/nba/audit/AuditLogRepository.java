@@ -1,6 +1,11 @@
 package com.example.nba.audit;
 
+import com.example.nba.domain.Role;
+
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AuditLogRepository {
     String genesisHash();
@@ -8,4 +13,69 @@ public interface AuditLogRepository {
     List<AuditEntry> all();
     String tailHash();
     boolean verifyIntegrity();
+
+    /** Like {@link #verifyIntegrity()} but reports where the chain first breaks. */
+    default ChainVerification verifyChain() {
+        return new AuditChainVerifier().verify(all(), genesisHash());
+    }
+
+    /** Entries in append order. Durable implementations stream them without materializing the whole log. */
+    default Stream<AuditEntry> stream() {
+        return all().stream();
+    }
+
+    /** Entries at positions {@code >= fromPosition}, in append order; indexed logs seek instead of skipping. */
+    default Stream<AuditEntry> stream(long fromPosition) {
+        if (fromPosition < 0) throw new IllegalArgumentException("fromPosition must be >= 0");
+        return stream().skip(fromPosition);
+    }
+
+    /**
+     * Entries matching {@code q}, in append order. Indexed implementations only
+     * decode candidates; the default filters {@link #stream()}.
+     */
+    default Stream<AuditEntry> query(AuditQuery q) {
+        return stream().filter(q::matches);
+    }
+
+    /**
+     * Up to {@code limit} matches at log positions {@code >= cursor}. Start with cursor 0
+     * and pass {@link AuditPage#nextCursor()} back in while {@link AuditPage#hasMore()};
+     * a full page may be followed by an empty one.
+     */
+    default AuditPage query(AuditQuery q, long cursor, int limit) {
+        AuditIndex.checkLimit(limit);
+        List<AuditEntry> out = new ArrayList<>(Math.min(limit, 256));
+        long pos = Math.max(cursor, 0);
+        try (Stream<AuditEntry> s = stream().skip(pos)) {
+            for (Iterator<AuditEntry> it = s.iterator(); it.hasNext(); ) {
+                AuditEntry e = it.next();
+                pos++;
+                if (!q.matches(e)) continue;
+                out.add(e);
+                if (out.size() == limit) return new AuditPage(out, it.hasNext() ? pos : AuditPage.END);
+            }
+        }
+        return new AuditPage(out, AuditPage.END);
+    }
+
+    /**
+     * Chains a new entry onto the current tail and appends it as one atomic step,
+     * so concurrent writers can't fork the chain by reading the same tailHash.
+     * The default locks on {@code this}; implementations must guard append/tailHash
+     * with the same monitor or override this.
+     */
+    default void appendNext(Role actor, String action, String beforeState, String afterState) {
+        appendNext(actor, action, beforeState, afterState, AuditEntry.NO_EVENT);
+    }
+
+    /** {@link #appendNext(Role, String, String, String)} with an encoded domain event carried in the chain. */
+    default void appendNext(Role actor, String action, String beforeState, String afterState, String event) {
+        synchronized (this) {
+            append(new AuditEntry(actor, action, beforeState, afterState, event, tailHash()));
+        }
+    }
+
+    /** Forces appended entries to durable storage; a no-op for in-memory logs. */
+    default void sync() { }
 }
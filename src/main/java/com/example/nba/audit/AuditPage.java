@@ -0,0 +1,17 @@
+package com.example.nba.audit;
+
+import java.util.List;
+
+/**
+ * One page of query results. {@code nextCursor} is the log position to resume from,
+ * or {@link #END} when nothing further can match.
+ */
+public record AuditPage(List<AuditEntry> entries, long nextCursor) {
+    public static final long END = -1;
+
+    public AuditPage {
+        entries = List.copyOf(entries);
+    }
+
+    public boolean hasMore() { return nextCursor != END; }
+}
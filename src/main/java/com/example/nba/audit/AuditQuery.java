@@ -0,0 +1,77 @@
+package com.example.nba.audit;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Filter over the audit log. Unset fields match everything; the time range is
+ * {@code [from, to)}.
+ *
+ * <pre>
+ * AuditQuery q = AuditQuery.builder().action("TRADE_PLAYER").actorId("gm-1").build();
+ * </pre>
+ */
+public final class AuditQuery {
+    private static final AuditQuery ALL = builder().build();
+
+    private final String actorId;
+    private final String actorRole;
+    private final String action;
+    private final Instant from;
+    private final Instant to;
+
+    private AuditQuery(Builder b) {
+        this.actorId = b.actorId;
+        this.actorRole = b.actorRole;
+        this.action = b.action;
+        this.from = b.from;
+        this.to = b.to;
+    }
+
+    public static AuditQuery all() { return ALL; }
+
+    public static Builder builder() { return new Builder(); }
+
+    public String actorId() { return actorId; }
+    public String actorRole() { return actorRole; }
+    public String action() { return action; }
+    public Instant from() { return from; }
+    public Instant to() { return to; }
+
+    public boolean matches(AuditEntry e) {
+        if (actorId != null && !actorId.equals(e.actorId())) return false;
+        if (actorRole != null && !actorRole.equals(e.actorRole())) return false;
+        if (action != null && !action.equals(e.action())) return false;
+        if (from != null && e.timestamp().isBefore(from)) return false;
+        return to == null || e.timestamp().isBefore(to);
+    }
+
+    @Override
+    public String toString() {
+        return "AuditQuery{actorId=" + actorId + ", actorRole=" + actorRole + ", action=" + action
+                + ", from=" + from + ", to=" + to + "}";
+    }
+
+    public static final class Builder {
+        private String actorId;
+        private String actorRole;
+        private String action;
+        private Instant from;
+        private Instant to;
+
+        private Builder() { }
+
+        public Builder actorId(String actorId) { this.actorId = Objects.requireNonNull(actorId); return this; }
+        public Builder actorRole(String actorRole) { this.actorRole = Objects.requireNonNull(actorRole); return this; }
+        public Builder action(String action) { this.action = Objects.requireNonNull(action); return this; }
+        public Builder from(Instant inclusive) { this.from = Objects.requireNonNull(inclusive); return this; }
+        public Builder to(Instant exclusive) { this.to = Objects.requireNonNull(exclusive); return this; }
+
+        public AuditQuery build() {
+            if (from != null && to != null && to.isBefore(from)) {
+                throw new IllegalArgumentException("to must not be before from");
+            }
+            return new AuditQuery(this);
+        }
+    }
+}
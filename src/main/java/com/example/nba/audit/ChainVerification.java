@@ -0,0 +1,13 @@
+package com.example.nba.audit;
+
+/** Outcome of a chain check; {@code firstBrokenIndex} is -1 when the chain is intact. */
+public record ChainVerification(boolean intact, long firstBrokenIndex, long entriesChecked) {
+
+    public static ChainVerification ok(long entriesChecked) {
+        return new ChainVerification(true, -1, entriesChecked);
+    }
+
+    public static ChainVerification brokenAt(long index, long entriesChecked) {
+        return new ChainVerification(false, index, entriesChecked);
+    }
+}
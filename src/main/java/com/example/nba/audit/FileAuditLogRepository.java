@@ -0,0 +1,617 @@
+package com.example.nba.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only audit log stored as a directory of segment files.
+ *
+ * Each record is {@code [int payloadLength][int crc32][payload]}; segments are named
+ * after the index of their first entry and roll over at {@code maxSegmentBytes}.
+ * Startup only scans the newest segment to find the tail hash and to cut off a torn
+ * final record; a bad record with valid data after it fails the open instead.
+ * Reads memory-map the segments and decode entries one at a time; past recovery
+ * every mapped byte belongs to a complete record, so an unreadable one throws.
+ *
+ * The query index (an {@link AuditIndex} plus each record's offset) is built by one
+ * full scan on the first query and maintained on append from then on, so opening a
+ * large log stays cheap and queries only decode candidate records.
+ *
+ * Every method locks on {@code this} (see {@link AuditLogRepository#appendNext}).
+ */
+public final class FileAuditLogRepository implements AuditLogRepository, Closeable {
+    private static final String GENESIS = "GENESIS";
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 8;
+
+    public enum FsyncPolicy {
+        /** fsync before every append returns. */
+        ALWAYS,
+        /** fsync after {@code groupCommitEntries} appends or once {@code groupCommitInterval} has elapsed. */
+        GROUP_COMMIT,
+        /** Leave flushing to the OS; {@link #sync()} and {@link #close()} still force. */
+        NEVER
+    }
+
+    private record Segment(Path path, long baseIndex) { }
+
+    private final Path dir;
+    private final long maxSegmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final int groupCommitEntries;
+    private final long groupCommitIntervalNanos;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private FileChannel active;
+    private long activeBytes;
+    private long size;
+    private String tailHash = GENESIS;
+    private int unsynced;
+    private long lastSyncNanos;
+    private AuditIndex index;      // null until the first query
+    private long[] offsets;        // record offset within its segment, by position
+
+    private FileAuditLogRepository(Builder b) {
+        this.dir = b.dir;
+        this.maxSegmentBytes = b.maxSegmentBytes;
+        this.fsyncPolicy = b.fsyncPolicy;
+        this.groupCommitEntries = b.groupCommitEntries;
+        this.groupCommitIntervalNanos = b.groupCommitInterval.toNanos();
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open audit log: " + dir, e);
+        }
+    }
+
+    public static Builder builder(Path dir) { return new Builder(dir); }
+
+    public static final class Builder {
+        private final Path dir;
+        private long maxSegmentBytes = 64L * 1024 * 1024;
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.GROUP_COMMIT;
+        private int groupCommitEntries = 64;
+        private Duration groupCommitInterval = Duration.ofMillis(50);
+
+        private Builder(Path dir) { this.dir = Objects.requireNonNull(dir); }
+
+        public Builder maxSegmentBytes(long bytes) {
+            if (bytes <= HEADER_BYTES) throw new IllegalArgumentException("maxSegmentBytes too small");
+            this.maxSegmentBytes = bytes;
+            return this;
+        }
+        public Builder fsyncPolicy(FsyncPolicy p) { this.fsyncPolicy = Objects.requireNonNull(p); return this; }
+        public Builder groupCommitEntries(int n) {
+            if (n <= 0) throw new IllegalArgumentException("groupCommitEntries must be > 0");
+            this.groupCommitEntries = n;
+            return this;
+        }
+        public Builder groupCommitInterval(Duration d) { this.groupCommitInterval = Objects.requireNonNull(d); return this; }
+
+        public FileAuditLogRepository open() { return new FileAuditLogRepository(this); }
+    }
+
+    @Override public String genesisHash() { return GENESIS; }
+
+    @Override
+    public synchronized void append(AuditEntry entry) {
+        Objects.requireNonNull(entry);
+        if (active == null) throw new IllegalStateException("audit log closed");
+        ByteBuffer record = encode(entry);
+        try {
+            if (activeBytes > 0 && activeBytes + record.remaining() > maxSegmentBytes) roll();
+            long offset = activeBytes;
+            while (record.hasRemaining()) activeBytes += active.write(record);
+            if (index != null) indexEntry(entry, offset);
+            size++;
+            tailHash = entry.hash();
+            unsynced++;
+            maybeSync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append audit entry", e);
+        }
+    }
+
+    @Override
+    public List<AuditEntry> all() {
+        return stream().toList();
+    }
+
+    @Override
+    public synchronized String tailHash() { return tailHash; }
+
+    public synchronized long size() { return size; }
+
+    @Override
+    public boolean verifyIntegrity() {
+        return verifyChain().intact();
+    }
+
+    /**
+     * Verifies each segment on its own fork-join task (decode + SHA-256 + in-segment
+     * linkage), then checks the links between consecutive segments sequentially.
+     */
+    @Override
+    public ChainVerification verifyChain() {
+        Snapshot snap = snapshot();
+        List<Callable<SegmentCheck>> tasks = new ArrayList<>(snap.segments().size());
+        for (int i = 0; i < snap.segments().size(); i++) {
+            Segment seg = snap.segments().get(i);
+            boolean last = i == snap.segments().size() - 1;
+            tasks.add(() -> checkSegment(seg, last ? snap.lastSegmentBytes() : Files.size(seg.path())));
+        }
+
+        String prev = GENESIS;
+        long checked = 0;
+        for (Future<SegmentCheck> f : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            SegmentCheck c;
+            try {
+                c = f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while verifying audit log", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("audit segment verification failed", e.getCause());
+            }
+            // A segment that came up short would otherwise surface as a bad link at the next base.
+            if (c.baseIndex() != checked) return ChainVerification.brokenAt(checked, checked);
+            checked += c.count();
+            if (c.count() == 0) continue;
+            // firstPrevHash is null when the segment's very first record is unreadable.
+            if (c.firstPrevHash() != null && !c.firstPrevHash().equals(prev)) {
+                return ChainVerification.brokenAt(c.baseIndex(), checked);
+            }
+            if (c.brokenAt() >= 0) return ChainVerification.brokenAt(c.brokenAt(), checked);
+            prev = c.lastHash();
+        }
+        if (checked != snap.size()) return ChainVerification.brokenAt(checked, checked);
+        return ChainVerification.ok(checked);
+    }
+
+    private record SegmentCheck(long baseIndex, long count, String firstPrevHash, String lastHash, long brokenAt) { }
+
+    /**
+     * Checks a segment's internal chain; its first entry is trusted to link to whatever it
+     * names as prev. A record that doesn't decode breaks the chain at its own index.
+     */
+    private static SegmentCheck checkSegment(Segment seg, long bytes) throws IOException {
+        RecordReader reader = new RecordReader(map(seg.path(), bytes));
+        String first = null;
+        String prev = null;
+        long i = 0;
+        for (AuditEntry e; ; i++) {
+            try {
+                if ((e = reader.next()) == null) break;
+            } catch (IOException corrupt) {
+                return new SegmentCheck(seg.baseIndex(), i + 1, first, null, seg.baseIndex() + i);
+            }
+            if (first == null) first = e.prevHash();
+            if (!AuditChainVerifier.linksAndVerifies(e, prev == null ? e.prevHash() : prev)) {
+                return new SegmentCheck(seg.baseIndex(), i + 1, first, null, seg.baseIndex() + i);
+            }
+            prev = e.hash();
+        }
+        return new SegmentCheck(seg.baseIndex(), i, first, prev, -1);
+    }
+
+    /** Streams a snapshot of the log as of this call, decoding straight from mapped segments. */
+    @Override
+    public Stream<AuditEntry> stream() {
+        return stream(0);
+    }
+
+    /** Starts in the segment holding {@code fromPosition} and hops record headers to it without decoding. */
+    @Override
+    public Stream<AuditEntry> stream(long fromPosition) {
+        if (fromPosition < 0) throw new IllegalArgumentException("fromPosition must be >= 0");
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(fromPosition),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    @Override
+    public Stream<AuditEntry> query(AuditQuery q) {
+        QuerySnapshot snap = querySnapshot(q, 0);
+        return AuditIndex.stream(snap.candidates(), snap.reader()::read, q);
+    }
+
+    @Override
+    public AuditPage query(AuditQuery q, long cursor, int limit) {
+        QuerySnapshot snap = querySnapshot(q, cursor);
+        return AuditIndex.page(snap.candidates(), snap.reader()::read, q, limit);
+    }
+
+    private record QuerySnapshot(PrimitiveIterator.OfLong candidates, PositionReader reader) { }
+
+    private synchronized QuerySnapshot querySnapshot(AuditQuery q, long cursor) {
+        if (index == null) buildIndex();
+        return new QuerySnapshot(index.candidates(q, cursor), new PositionReader(snapshot(), offsets));
+    }
+
+    /** One pass over every segment; later appends keep the index current. */
+    private void buildIndex() {
+        index = new AuditIndex();
+        offsets = new long[(int) Math.min(Math.max(size, 1024), Integer.MAX_VALUE - 8)];
+        for (int i = 0; i < segments.size(); i++) {
+            Segment seg = segments.get(i);
+            try {
+                long bytes = i == segments.size() - 1 ? activeBytes : Files.size(seg.path());
+                RecordReader reader = new RecordReader(map(seg.path(), bytes));
+                for (long offset = reader.validBytes(); ; offset = reader.validBytes()) {
+                    AuditEntry e = reader.next();
+                    if (e == null) break;
+                    indexEntry(e, offset);
+                }
+            } catch (IOException e) {
+                index = null;
+                throw new UncheckedIOException("Failed to index audit segment " + seg.path(), e);
+            }
+        }
+    }
+
+    private void indexEntry(AuditEntry e, long offset) {
+        int pos = index.size();
+        index.add(e);
+        if (pos == offsets.length) offsets = Arrays.copyOf(offsets, pos * 2);
+        offsets[pos] = offset;
+    }
+
+    /** Random access by position over a snapshot; keeps the most recently used segment mapped. */
+    private static final class PositionReader {
+        private final List<Segment> segments;
+        private final long lastSegmentBytes;
+        private final long[] offsets;
+        private int mappedIdx = -1;
+        private RecordReader reader;
+
+        PositionReader(Snapshot snap, long[] offsets) {
+            this.segments = snap.segments();
+            this.lastSegmentBytes = snap.lastSegmentBytes();
+            this.offsets = offsets;
+        }
+
+        AuditEntry read(long pos) {
+            int idx = segmentOf(pos);
+            if (idx != mappedIdx) {
+                Path p = segments.get(idx).path();
+                try {
+                    long bytes = idx == segments.size() - 1 ? lastSegmentBytes : Files.size(p);
+                    reader = new RecordReader(map(p, bytes));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read audit segment " + p, e);
+                }
+                mappedIdx = idx;
+            }
+            reader.seek(offsets[(int) pos]);
+            try {
+                AuditEntry e = reader.next();
+                if (e == null) throw new IllegalStateException("audit record " + pos + " is unreadable");
+                return e;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit record " + pos, e);
+            }
+        }
+
+        private int segmentOf(long pos) {
+            int lo = 0;
+            int hi = segments.size() - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (segments.get(mid).baseIndex() <= pos) lo = mid;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+    }
+
+    /** Forces everything appended so far to disk. */
+    @Override
+    public synchronized void sync() {
+        if (active == null || unsynced == 0) return;
+        try {
+            active.force(false);
+            unsynced = 0;
+            lastSyncNanos = System.nanoTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync audit log", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (active == null) return;
+        sync();
+        try {
+            active.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close audit log", e);
+        } finally {
+            active = null;
+        }
+    }
+
+    private void maybeSync() {
+        switch (fsyncPolicy) {
+            case ALWAYS -> sync();
+            case GROUP_COMMIT -> {
+                if (unsynced >= groupCommitEntries || System.nanoTime() - lastSyncNanos >= groupCommitIntervalNanos) sync();
+            }
+            case NEVER -> { }
+        }
+    }
+
+    // ---- recovery / segments ----
+
+    private void recover() throws IOException {
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> {
+                        String n = p.getFileName().toString();
+                        return n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .forEach(p -> segments.add(new Segment(p, baseIndexOf(p))));
+        }
+        if (segments.isEmpty()) segments.add(newSegment(0));
+
+        Segment last = segments.get(segments.size() - 1);
+        Scan scan = scan(last.path());
+        try (FileChannel ch = FileChannel.open(last.path(), StandardOpenOption.WRITE)) {
+            if (ch.size() > scan.validBytes()) ch.truncate(scan.validBytes()); // torn tail from a crash
+        }
+        size = last.baseIndex() + scan.count();
+        tailHash = scan.lastHash();
+        // An empty newest segment (crash right after a roll): the tail lives in the one before it.
+        for (int i = segments.size() - 2; tailHash == null && i >= 0; i--) tailHash = scan(segments.get(i).path()).lastHash();
+        if (tailHash == null) tailHash = GENESIS;
+
+        active = FileChannel.open(last.path(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeBytes = scan.validBytes();
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private void roll() throws IOException {
+        active.force(false);
+        active.close();
+        Segment next = newSegment(size);
+        segments.add(next);
+        active = FileChannel.open(next.path(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeBytes = 0;
+        unsynced = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private Segment newSegment(long baseIndex) throws IOException {
+        Path p = dir.resolve(SEGMENT_PREFIX + "%020d".formatted(baseIndex) + SEGMENT_SUFFIX);
+        Files.createFile(p);
+        return new Segment(p, baseIndex);
+    }
+
+    private static long baseIndexOf(Path p) {
+        String n = p.getFileName().toString();
+        return Long.parseLong(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record Scan(long count, long validBytes, String lastHash) { }
+
+    /**
+     * Walks records up to the first one that doesn't decode. That is only accepted as
+     * a torn tail (see {@link #tornTail}); anything followed by more data is corruption
+     * and throws rather than letting recovery truncate the valid entries after it.
+     */
+    private static Scan scan(Path segment) throws IOException {
+        MappedByteBuffer buf = map(segment, Files.size(segment));
+        RecordReader reader = new RecordReader(buf);
+        long count = 0;
+        AuditEntry last = null;
+        for (AuditEntry e; (e = reader.tryNext()) != null; ) {
+            last = e;
+            count++;
+        }
+        int stop = (int) reader.validBytes();
+        if (!tornTail(buf, stop)) {
+            throw new IOException("corrupt audit record " + count + " at offset " + stop + " of " + segment
+                    + " with " + (buf.limit() - stop) + " bytes after it");
+        }
+        return new Scan(count, stop, last == null ? null : last.hash());
+    }
+
+    /**
+     * Whether the bytes from {@code at} to the end of the segment are what a crash
+     * mid-append leaves: nothing, a partial header, a header whose payload runs past
+     * the end, a final record with a bad CRC, or zero fill.
+     */
+    private static boolean tornTail(ByteBuffer buf, int at) {
+        int remaining = buf.limit() - at;
+        if (remaining < HEADER_BYTES) return true;
+        int payload = buf.getInt(at);
+        if (payload > remaining - HEADER_BYTES) return true;
+        if (payload > 0) return at + HEADER_BYTES + payload == buf.limit();
+        for (int i = at; i < buf.limit(); i++) if (buf.get(i) != 0) return false;
+        return true;
+    }
+
+    private static MappedByteBuffer map(Path segment, long bytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+        }
+    }
+
+    // ---- iteration ----
+
+    private record Snapshot(List<Segment> segments, long lastSegmentBytes, long size) { }
+
+    private synchronized Snapshot snapshot() {
+        return new Snapshot(List.copyOf(segments), activeBytes, size);
+    }
+
+    private Iterator<AuditEntry> iterator(long fromPosition) {
+        Snapshot snap = snapshot();
+        List<Segment> snapshot = snap.segments();
+        long lastSegmentBytes = snap.lastSegmentBytes();
+        int first = 0;
+        while (first + 1 < snapshot.size() && snapshot.get(first + 1).baseIndex() <= fromPosition) first++;
+        int startSegment = first;
+        return new Iterator<>() {
+            private int segmentIdx = startSegment - 1;
+            private RecordReader reader;
+            private AuditEntry next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (reader != null) {
+                        try {
+                            if ((next = reader.next()) != null) break;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to read audit segment " + snapshot.get(segmentIdx).path(), e);
+                        }
+                    }
+                    if (++segmentIdx >= snapshot.size()) return false;
+                    Segment seg = snapshot.get(segmentIdx);
+                    try {
+                        long bytes = segmentIdx == snapshot.size() - 1 ? lastSegmentBytes : Files.size(seg.path());
+                        reader = new RecordReader(map(seg.path(), bytes));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to read audit segment " + seg.path(), e);
+                    }
+                    for (long i = seg.baseIndex(); i < fromPosition; i++) {
+                        if (!reader.skip()) break;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public AuditEntry next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                AuditEntry e = next;
+                next = null;
+                return e;
+            }
+        };
+    }
+
+    // ---- codec ----
+
+    private ByteBuffer encode(AuditEntry e) {
+        // The event is a trailing, optional field: records without one keep the original layout.
+        byte[][] strings = {
+                utf8(e.actorId()), utf8(e.actorRole()), utf8(e.action()),
+                utf8(e.beforeState()), utf8(e.afterState()), utf8(e.prevHash()), utf8(e.hash()),
+                e.hasEvent() ? utf8(e.event()) : null
+        };
+        int payload = Long.BYTES + Integer.BYTES;
+        for (byte[] s : strings) if (s != null) payload += Integer.BYTES + s.length;
+        if (scratch.capacity() < HEADER_BYTES + payload) scratch = ByteBuffer.allocate(Math.max(HEADER_BYTES + payload, scratch.capacity() * 2));
+
+        scratch.clear();
+        scratch.putInt(payload).putInt(0);
+        for (int i = 0; i < 5; i++) scratch.putInt(strings[i].length).put(strings[i]);
+        scratch.putLong(e.timestamp().getEpochSecond()).putInt(e.timestamp().getNano());
+        for (int i = 5; i < 8; i++) if (strings[i] != null) scratch.putInt(strings[i].length).put(strings[i]);
+
+        crc.reset();
+        crc.update(scratch.array(), HEADER_BYTES, payload);
+        scratch.putInt(Integer.BYTES, (int) crc.getValue());
+        return scratch.flip();
+    }
+
+    private static byte[] utf8(String s) { return s.getBytes(StandardCharsets.UTF_8); }
+
+    /** Sequential decoder over one mapped segment. */
+    private static final class RecordReader {
+        private final ByteBuffer buf;
+        private final CRC32 crc = new CRC32();
+        private byte[] chars = new byte[256];
+
+        RecordReader(ByteBuffer buf) { this.buf = buf; }
+
+        long validBytes() { return buf.position(); }
+
+        void seek(long offset) { buf.position((int) offset); }
+
+        /** Steps over one record by its length header; false at end of segment or a torn header. */
+        boolean skip() {
+            int start = buf.position();
+            if (buf.remaining() < HEADER_BYTES) return false;
+            int payload = buf.getInt(start);
+            if (payload <= 0 || payload > buf.remaining() - HEADER_BYTES) return false;
+            buf.position(start + HEADER_BYTES + payload);
+            return true;
+        }
+
+        /**
+         * Next entry, or null at the end of the mapped bytes. Only recovery may meet a
+         * torn tail, so anywhere else a record that doesn't decode is corruption.
+         */
+        AuditEntry next() throws IOException {
+            AuditEntry e = tryNext();
+            if (e == null && buf.hasRemaining()) {
+                throw new IOException("corrupt audit record at offset " + buf.position()
+                        + " with " + buf.remaining() + " bytes after it");
+            }
+            return e;
+        }
+
+        /** Next entry, or null at end of segment or at a torn/corrupt record; {@link #scan} judges which. */
+        AuditEntry tryNext() {
+            int start = buf.position();
+            if (buf.remaining() < HEADER_BYTES) return null;
+            int payload = buf.getInt(start);
+            int expectedCrc = buf.getInt(start + Integer.BYTES);
+            if (payload <= 0 || payload > buf.remaining() - HEADER_BYTES) return null;
+
+            crc.reset();
+            crc.update(buf.duplicate().position(start + HEADER_BYTES).limit(start + HEADER_BYTES + payload));
+            if ((int) crc.getValue() != expectedCrc) return null;
+
+            buf.position(start + HEADER_BYTES);
+            String actorId = string();
+            String actorRole = string();
+            String action = string();
+            String before = string();
+            String after = string();
+            Instant ts = Instant.ofEpochSecond(buf.getLong(), buf.getInt());
+            String prevHash = string();
+            String hash = string();
+            String event = buf.position() < start + HEADER_BYTES + payload ? string() : AuditEntry.NO_EVENT;
+            return AuditEntry.restore(actorId, actorRole, action, before, after, ts, event, prevHash, hash);
+        }
+
+        private String string() {
+            int n = buf.getInt();
+            if (chars.length < n) chars = new byte[Math.max(n, chars.length * 2)];
+            buf.get(chars, 0, n);
+            return new String(chars, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -2,36 +2,70 @@ package com.example.nba.audit;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.Stream;
 
+/**
+ * Heap-backed log; every method locks on {@code this} (see {@link AuditLogRepository#appendNext}).
+ * Queries go through an {@link AuditIndex} kept up to date on append.
+ */
 public final class InMemoryAuditLogRepository implements AuditLogRepository {
     private static final String GENESIS = "GENESIS";
     private final List<AuditEntry> entries = new ArrayList<>();
+    private final AuditIndex index = new AuditIndex();
+    private final AuditChainVerifier verifier = new AuditChainVerifier();
 
     @Override public String genesisHash() { return GENESIS; }
 
     @Override
-    public void append(AuditEntry entry) {
+    public synchronized void append(AuditEntry entry) {
         entries.add(entry);
+        index.add(entry);
     }
 
     @Override
-    public List<AuditEntry> all() {
+    public synchronized List<AuditEntry> all() {
         return List.copyOf(entries);
     }
 
     @Override
-    public String tailHash() {
+    public synchronized Stream<AuditEntry> stream(long fromPosition) {
+        if (fromPosition < 0) throw new IllegalArgumentException("fromPosition must be >= 0");
+        return List.copyOf(entries.subList((int) Math.min(fromPosition, entries.size()), entries.size())).stream();
+    }
+
+    @Override
+    public Stream<AuditEntry> query(AuditQuery q) {
+        return AuditIndex.stream(candidates(q, 0), this::entryAt, q);
+    }
+
+    @Override
+    public AuditPage query(AuditQuery q, long cursor, int limit) {
+        return AuditIndex.page(candidates(q, cursor), this::entryAt, q, limit);
+    }
+
+    private synchronized PrimitiveIterator.OfLong candidates(AuditQuery q, long cursor) {
+        return index.candidates(q, cursor);
+    }
+
+    private synchronized AuditEntry entryAt(long pos) {
+        return entries.get((int) pos);
+    }
+
+    @Override
+    public synchronized String tailHash() {
         if (entries.isEmpty()) return GENESIS;
         return entries.get(entries.size() - 1).hash();
     }
 
     @Override
     public boolean verifyIntegrity() {
-        String prev = GENESIS;
-        for (AuditEntry e : entries) {
-            if (!e.verifiesAgainst(prev)) return false;
-            prev = e.hash();
-        }
-        return true;
+        return verifyChain().intact();
+    }
+
+    /** Snapshots under the lock, then verifies in parallel without blocking appends. */
+    @Override
+    public ChainVerification verifyChain() {
+        return verifier.verify(all(), GENESIS);
     }
 }
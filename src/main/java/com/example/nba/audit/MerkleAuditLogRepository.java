@@ -0,0 +1,157 @@
+package com.example.nba.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorator that keeps Merkle checkpoints over fixed-size blocks of entries.
+ *
+ * Every {@code blockSize} appends, the block's Merkle root is folded into a running
+ * root over all block roots and published as a {@link Checkpoint}. A checkpoint the
+ * caller trusts (e.g. stored off-box) makes two things cheap:
+ * <ul>
+ *   <li>{@link #verifySince} re-hashes only the entries appended after it;</li>
+ *   <li>{@link #proveInclusion} / {@link #verifyInclusion} prove a single entry
+ *       with O(log n) hashes instead of replaying the chain from genesis.</li>
+ * </ul>
+ * Leaf data is the entry's hex hash, which already commits to the whole chain prefix.
+ * All appends must go through this wrapper so the tree stays in step with the log.
+ */
+public final class MerkleAuditLogRepository implements AuditLogRepository {
+
+    /** Merkle root over the first {@code entryCount} entries and the chain tail at that point. */
+    public record Checkpoint(long entryCount, String root, String tailHash) { }
+
+    /** Path inside the entry's block, then the block's path inside the checkpoint tree. */
+    public record InclusionProof(long index, int blockSize, List<String> blockPath,
+                                 long checkpointEntryCount, List<String> checkpointPath) { }
+
+    private final AuditLogRepository delegate;
+    private final int blockSize;
+    private final MerkleTree.Levels leaves = new MerkleTree.Levels();
+    private final MerkleTree.Levels blockRoots = new MerkleTree.Levels();
+    private final MerkleTree.Frontier frontier = new MerkleTree.Frontier();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private final AuditChainVerifier verifier = new AuditChainVerifier();
+
+    /** Wraps {@code delegate}, indexing whatever it already holds. {@code blockSize} must be a power of two. */
+    public MerkleAuditLogRepository(AuditLogRepository delegate, int blockSize) {
+        if (blockSize <= 0 || Integer.bitCount(blockSize) != 1) throw new IllegalArgumentException("blockSize must be a power of two");
+        this.delegate = Objects.requireNonNull(delegate);
+        this.blockSize = blockSize;
+        try (Stream<AuditEntry> existing = delegate.stream()) {
+            existing.forEach(this::index);
+        }
+    }
+
+    @Override public String genesisHash() { return delegate.genesisHash(); }
+
+    @Override
+    public synchronized void append(AuditEntry entry) {
+        delegate.append(entry);
+        index(entry);
+    }
+
+    @Override public List<AuditEntry> all() { return delegate.all(); }
+    @Override public Stream<AuditEntry> stream() { return delegate.stream(); }
+    @Override public Stream<AuditEntry> stream(long fromPosition) { return delegate.stream(fromPosition); }
+    @Override public Stream<AuditEntry> query(AuditQuery q) { return delegate.query(q); }
+    @Override public AuditPage query(AuditQuery q, long cursor, int limit) { return delegate.query(q, cursor, limit); }
+    @Override public synchronized String tailHash() { return delegate.tailHash(); }
+    @Override public boolean verifyIntegrity() { return delegate.verifyIntegrity(); }
+    @Override public ChainVerification verifyChain() { return delegate.verifyChain(); }
+
+    public synchronized List<Checkpoint> checkpoints() { return List.copyOf(checkpoints); }
+
+    public synchronized Optional<Checkpoint> latestCheckpoint() {
+        return checkpoints.isEmpty() ? Optional.empty() : Optional.of(checkpoints.get(checkpoints.size() - 1));
+    }
+
+    /**
+     * Verifies only what was appended after {@code trusted}: the entry at the checkpoint
+     * must still carry the checkpoint's tail hash, and everything after must chain from it.
+     * Reported indexes are absolute.
+     */
+    public ChainVerification verifySince(Checkpoint trusted) {
+        Objects.requireNonNull(trusted);
+        long count = trusted.entryCount();
+        if (count == 0) return verifyChain();
+
+        List<AuditEntry> suffix;
+        try (Stream<AuditEntry> s = delegate.stream(count - 1)) {
+            suffix = s.toList();
+        }
+        if (suffix.isEmpty() || !suffix.get(0).hash().equals(trusted.tailHash())) {
+            return ChainVerification.brokenAt(count - 1, 1);
+        }
+        ChainVerification tail = verifier.verify(suffix.subList(1, suffix.size()), trusted.tailHash());
+        return tail.intact()
+                ? ChainVerification.ok(tail.entriesChecked())
+                : ChainVerification.brokenAt(count + tail.firstBrokenIndex(), tail.entriesChecked());
+    }
+
+    /**
+     * Proof that entry {@code index} is covered by {@code checkpoint} (which must be one
+     * of ours). Interior nodes are kept as entries arrive, so this is O(log n) lookups.
+     */
+    public synchronized InclusionProof proveInclusion(long index, Checkpoint checkpoint) {
+        Objects.requireNonNull(checkpoint);
+        if (!checkpoints.contains(checkpoint)) throw new IllegalArgumentException("unknown checkpoint");
+        if (index < 0 || index >= checkpoint.entryCount()) {
+            throw new IllegalArgumentException("index " + index + " not covered by checkpoint of " + checkpoint.entryCount());
+        }
+        int block = (int) (index / blockSize);
+        int blockStart = block * blockSize;
+        int blocks = (int) (checkpoint.entryCount() / blockSize);
+        return new InclusionProof(index, blockSize,
+                hex(leaves.path((int) (index - blockStart), blockStart, blockStart + blockSize)),
+                checkpoint.entryCount(),
+                hex(blockRoots.path(block, 0, blocks)));
+    }
+
+    /**
+     * Stateless check: O(log n) hashes, no access to the log itself. The leaf is the
+     * entry's stored hash, so the entry must first hash to it; an altered copy that
+     * kept the old hash is rejected.
+     */
+    public static boolean verifyInclusion(AuditEntry entry, InclusionProof proof, Checkpoint checkpoint) {
+        Objects.requireNonNull(entry);
+        Objects.requireNonNull(proof);
+        Objects.requireNonNull(checkpoint);
+        if (proof.checkpointEntryCount() != checkpoint.entryCount()) return false;
+        if (!entry.verifiesAgainst(entry.prevHash())) return false;
+        long block = proof.index() / proof.blockSize();
+        byte[] blockRoot = MerkleTree.rootFromPath(leafOf(entry), proof.index() % proof.blockSize(),
+                proof.blockSize(), unhex(proof.blockPath()));
+        if (blockRoot == null) return false;
+        byte[] root = MerkleTree.rootFromPath(blockRoot, block, checkpoint.entryCount() / proof.blockSize(),
+                unhex(proof.checkpointPath()));
+        return root != null && MerkleTree.toHex(root).equals(checkpoint.root());
+    }
+
+    private void index(AuditEntry e) {
+        leaves.add(leafOf(e));
+        if (leaves.size() % blockSize != 0) return;
+
+        byte[] blockRoot = leaves.root(leaves.size() - blockSize, leaves.size());
+        blockRoots.add(blockRoot);
+        frontier.add(blockRoot);
+        checkpoints.add(new Checkpoint(leaves.size(), MerkleTree.toHex(frontier.root()), e.hash()));
+    }
+
+    private static byte[] leafOf(AuditEntry e) {
+        return MerkleTree.leaf(e.hash().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static List<String> hex(List<byte[]> nodes) {
+        return nodes.stream().map(MerkleTree::toHex).toList();
+    }
+
+    private static List<byte[]> unhex(List<String> nodes) {
+        return nodes.stream().map(MerkleTree::fromHex).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.nba.audit;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 6962-style Merkle hashing over 32-byte nodes: leaves are
+ * {@code SHA-256(0x00 || data)}, interior nodes {@code SHA-256(0x01 || left || right)},
+ * and a tree of n nodes splits at the largest power of two below n.
+ */
+final class MerkleTree {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    });
+
+    private MerkleTree() { }
+
+    static byte[] leaf(byte[] data) {
+        MessageDigest md = SHA256.get();
+        md.update((byte) 0x00);
+        return md.digest(data);
+    }
+
+    static byte[] node(byte[] left, byte[] right) {
+        MessageDigest md = SHA256.get();
+        md.update((byte) 0x01);
+        md.update(left);
+        return md.digest(right);
+    }
+
+    /** Recomputes the root from a node, its index, the tree size and its audit path (RFC 9162 2.1.3.2). */
+    static byte[] rootFromPath(byte[] node, long index, long size, List<byte[]> path) {
+        if (index < 0 || index >= size) return null;
+        long fn = index;
+        long sn = size - 1;
+        byte[] r = node;
+        for (byte[] p : path) {
+            if (sn == 0) return null;
+            if ((fn & 1) == 1 || fn == sn) {
+                r = node(p, r);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>= 1;
+                    sn >>= 1;
+                }
+            } else {
+                r = node(r, p);
+            }
+            fn >>= 1;
+            sn >>= 1;
+        }
+        return sn == 0 ? r : null;
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        return sb.toString();
+    }
+
+    static byte[] fromHex(String hex) {
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(hex, i * 2, i * 2 + 2, 16);
+        }
+        return out;
+    }
+
+    private static int largestPowerOfTwoBelow(int n) {
+        return Integer.highestOneBit(n - 1);
+    }
+
+    /**
+     * Every perfect, aligned subtree over an append-only sequence of nodes: level h
+     * holds the roots over {@code [i * 2^h, (i + 1) * 2^h)}, filled in as nodes arrive.
+     * The left side of every split is such a subtree, so roots and audit paths over any
+     * prefix cost O(log n) lookups plus a few hashes along the right edge, and none of
+     * it is recomputed when another checkpoint or proof asks for the same range.
+     */
+    static final class Levels {
+        private final List<List<byte[]>> levels = new ArrayList<>();
+
+        Levels() { levels.add(new ArrayList<>()); }
+
+        int size() { return levels.get(0).size(); }
+
+        void add(byte[] nodeHash) {
+            byte[] cur = nodeHash;
+            for (int h = 0; ; h++) {
+                if (levels.size() == h) levels.add(new ArrayList<>());
+                List<byte[]> level = levels.get(h);
+                level.add(cur);
+                if ((level.size() & 1) == 1) return;
+                cur = node(level.get(level.size() - 2), cur);
+            }
+        }
+
+        /** Root over nodes {@code [from, to)}; {@code to} must not exceed {@link #size()}. */
+        byte[] root(int from, int to) {
+            int n = to - from;
+            if (Integer.bitCount(n) == 1 && from % n == 0) {
+                return levels.get(Integer.numberOfTrailingZeros(n)).get(from / n);
+            }
+            int k = largestPowerOfTwoBelow(n);
+            return node(root(from, from + k), root(from + k, to));
+        }
+
+        /** Audit path (leaf to root) for node {@code from + index} within {@code [from, to)}. */
+        List<byte[]> path(int index, int from, int to) {
+            List<byte[]> out = new ArrayList<>();
+            path(index, from, to, out);
+            return out;
+        }
+
+        private void path(int index, int from, int to, List<byte[]> out) {
+            int n = to - from;
+            if (n == 1) return;
+            int k = largestPowerOfTwoBelow(n);
+            if (index < k) {
+                path(index, from, from + k, out);
+                out.add(root(from + k, to));
+            } else {
+                path(index - k, from + k, to, out);
+                out.add(root(from, from + k));
+            }
+        }
+    }
+
+    /**
+     * Incremental root over an append-only sequence of nodes: keeps only the roots of
+     * the perfect subtrees (one per set bit of the count), so each append and each
+     * root is O(log n).
+     */
+    static final class Frontier {
+        private final List<byte[]> perfect = new ArrayList<>();
+        private final List<Long> sizes = new ArrayList<>();
+
+        void add(byte[] nodeHash) {
+            byte[] cur = nodeHash;
+            long size = 1;
+            while (!sizes.isEmpty() && sizes.get(sizes.size() - 1) == size) {
+                cur = node(perfect.remove(perfect.size() - 1), cur);
+                sizes.remove(sizes.size() - 1);
+                size <<= 1;
+            }
+            perfect.add(cur);
+            sizes.add(size);
+        }
+
+        byte[] root() {
+            if (perfect.isEmpty()) return null;
+            byte[] acc = perfect.get(perfect.size() - 1);
+            for (int i = perfect.size() - 2; i >= 0; i--) acc = node(perfect.get(i), acc);
+            return acc;
+        }
+    }
+}
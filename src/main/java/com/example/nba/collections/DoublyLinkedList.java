@@ -8,18 +8,26 @@ import java.util.Objects;
 /**
  * Sentinel-based doubly linked list (custom, no java.util collections inside).
  * Supports O(1) addLast, removeFirst/Last, unlink by node reference.
+ *
+ * {@link #linkLast} hands out the node it created so callers can index it
+ * and later {@link #unlink(Node)} it without a linear scan.
  */
 public final class DoublyLinkedList<E> implements Iterable<E> {
 
-    private static final class Node<E> {
-        E item;
-        Node<E> prev;
-        Node<E> next;
+    /** Opaque handle to a linked element; only valid until it is unlinked. */
+    public static final class Node<E> {
+        private E item;
+        private Node<E> prev;
+        private Node<E> next;
+        private DoublyLinkedList<E> owner;
         Node(E item, Node<E> prev, Node<E> next) {
             this.item = item;
             this.prev = prev;
             this.next = next;
         }
+
+        public E item() { return item; }
+        public boolean isLinked() { return owner != null; }
     }
 
     private final Node<E> head; // sentinel
@@ -39,8 +47,7 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
     public boolean isEmpty() { return size == 0; }
 
     public void addLast(E e) {
-        Objects.requireNonNull(e, "element");
-        linkBefore(e, tail);
+        linkLast(e);
     }
 
     public void addFirst(E e) {
@@ -48,6 +55,19 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
         linkBefore(e, head.next);
     }
 
+    /** Appends and returns the node handle for O(1) {@link #unlink(Node)}. */
+    public Node<E> linkLast(E e) {
+        Objects.requireNonNull(e, "element");
+        return linkBefore(e, tail);
+    }
+
+    /** Removes the node in O(1). The node must currently belong to this list. */
+    public E unlink(Node<E> n) {
+        Objects.requireNonNull(n, "node");
+        if (n.owner != this) throw new IllegalArgumentException("node not linked in this list");
+        return unlinkNode(n);
+    }
+
     public E peekFirst() {
         return isEmpty() ? null : head.next.item;
     }
@@ -58,19 +78,19 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
 
     public E removeFirst() {
         if (isEmpty()) throw new NoSuchElementException("empty");
-        return unlink(head.next);
+        return unlinkNode(head.next);
     }
 
     public E removeLast() {
         if (isEmpty()) throw new NoSuchElementException("empty");
-        return unlink(tail.prev);
+        return unlinkNode(tail.prev);
     }
 
     public boolean removeFirstOccurrence(E e) {
         Objects.requireNonNull(e, "element");
         for (Node<E> n = head.next; n != tail; n = n.next) {
             if (e.equals(n.item)) {
-                unlink(n);
+                unlinkNode(n);
                 return true;
             }
         }
@@ -83,16 +103,18 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
         return false;
     }
 
-    private void linkBefore(E e, Node<E> succ) {
+    private Node<E> linkBefore(E e, Node<E> succ) {
         Node<E> pred = succ.prev;
         Node<E> newNode = new Node<>(e, pred, succ);
+        newNode.owner = this;
         pred.next = newNode;
         succ.prev = newNode;
         size++;
         modCount++;
+        return newNode;
     }
 
-    private E unlink(Node<E> n) {
+    private E unlinkNode(Node<E> n) {
         Node<E> pred = n.prev;
         Node<E> succ = n.next;
         pred.next = succ;
@@ -101,6 +123,7 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
         n.item = null;
         n.prev = null;
         n.next = null;
+        n.owner = null;
         size--;
         modCount++;
         return item;
@@ -111,7 +134,7 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
         return new Iterator<>() {
             private Node<E> cursor = head.next;
             private Node<E> lastReturned = null;
-            private final int expected = modCount;
+            private int expected = modCount;
 
             private void check() {
                 if (expected != modCount) throw new ConcurrentModificationException();
@@ -136,8 +159,9 @@ public final class DoublyLinkedList<E> implements Iterable<E> {
             public void remove() {
                 check();
                 if (lastReturned == null) throw new IllegalStateException();
-                DoublyLinkedList.this.unlink(lastReturned);
+                DoublyLinkedList.this.unlinkNode(lastReturned);
                 lastReturned = null;
+                expected = modCount;
             }
         };
     }
@@ -22,7 +22,7 @@ public final class Contract {
     public static Builder builder() { return new Builder(); }
 
     public static final class Builder {
-        private Money totalValue = Money.of(0);
+        private Money totalValue = Money.ZERO;
         private int years = 1;
         private LocalDate startDate = LocalDate.now();
 
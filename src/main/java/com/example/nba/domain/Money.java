@@ -2,42 +2,75 @@ package com.example.nba.domain;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Objects;
 
-/** Tiny money value object for clarity (USD). */
-public final class Money {
-    private final BigDecimal amount;
+/**
+ * Tiny money value object for clarity (USD).
+ * Fixed-point: stored as whole cents in a {@code long}; arithmetic is
+ * overflow-checked and never goes through BigDecimal or double.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
 
-    private Money(BigDecimal amount) {
-        this.amount = amount.setScale(2, RoundingMode.HALF_UP);
+    // Whole-dollar doubles below this convert exactly without BigDecimal.
+    private static final double EXACT_DOLLARS_LIMIT = Long.MAX_VALUE / 100.0 / 2;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
     }
 
+    /** Rounds to the cent, HALF_UP; throws ArithmeticException if out of range. */
     public static Money of(double dollars) {
-        return new Money(BigDecimal.valueOf(dollars));
+        if (Double.isNaN(dollars) || Double.isInfinite(dollars)) throw new ArithmeticException("not a finite amount: " + dollars);
+        if (dollars == Math.rint(dollars) && Math.abs(dollars) < EXACT_DOLLARS_LIMIT) {
+            return ofCents((long) dollars * 100);
+        }
+        return ofCents(BigDecimal.valueOf(dollars).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
     }
 
-    public BigDecimal amount() { return amount; }
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public long cents() { return cents; }
+
+    /** Decimal view with scale 2; allocates, so keep it off hot paths. */
+    public BigDecimal amount() { return BigDecimal.valueOf(cents, 2); }
 
     public Money plus(Money other) {
-        Objects.requireNonNull(other);
-        return new Money(this.amount.add(other.amount));
+        return ofCents(Math.addExact(cents, other.cents));
     }
 
     public Money minus(Money other) {
-        Objects.requireNonNull(other);
-        return new Money(this.amount.subtract(other.amount));
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /** Divides and rounds to the cent, HALF_UP (ties away from zero). */
+    public Money dividedBy(int divisor) {
+        return ofCents(divideHalfUp(cents, divisor));
     }
 
     public boolean gte(Money other) {
-        Objects.requireNonNull(other);
-        return this.amount.compareTo(other.amount) >= 0;
+        return cents >= other.cents;
+    }
+
+    @Override public int compareTo(Money other) { return Long.compare(cents, other.cents); }
+
+    static long divideHalfUp(long cents, int divisor) {
+        if (divisor == 0) throw new ArithmeticException("divide by zero");
+        if (divisor == -1) return Math.negateExact(cents);
+        long q = cents / divisor;
+        long r = cents % divisor;
+        if (Math.abs(r) * 2 >= Math.abs((long) divisor)) q += ((cents < 0) == (divisor < 0)) ? 1 : -1;
+        return q;
     }
 
-    @Override public String toString() { return "$" + amount; }
+    @Override public String toString() { return "$" + amount(); }
 
     @Override public boolean equals(Object o) {
-        return (o instanceof Money m) && amount.compareTo(m.amount) == 0;
+        return (o instanceof Money m) && cents == m.cents;
     }
 
-    @Override public int hashCode() { return amount.stripTrailingZeros().hashCode(); }
+    @Override public int hashCode() { return Long.hashCode(cents); }
 }
@@ -1,20 +1,34 @@
 package com.example.nba.domain;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 public abstract class Player {
     private final String playerId;
     private final String name;
     private final Position position;
+    private final Set<Position> eligiblePositions;
     private final int age;
     private final int offense;
     private final int defense;
     private int fatigue; // 0..100, higher = more tired
+    private int fatigueVersion; // bumped whenever fatigue actually changes
 
     protected Player(String playerId, String name, Position position, int age, int offense, int defense) {
+        this(playerId, name, position, Set.of(), age, offense, defense);
+    }
+
+    /** {@code alsoPlays}: extra positions the player can start at besides {@code position}. */
+    protected Player(String playerId, String name, Position position, Set<Position> alsoPlays,
+                     int age, int offense, int defense) {
         this.playerId = Objects.requireNonNull(playerId);
         this.name = Objects.requireNonNull(name);
         this.position = Objects.requireNonNull(position);
+        EnumSet<Position> eligible = EnumSet.of(position);
+        eligible.addAll(alsoPlays);
+        this.eligiblePositions = Collections.unmodifiableSet(eligible);
         if (age < 16) throw new IllegalArgumentException("age too low");
         this.age = age;
         this.offense = clamp0to99(offense);
@@ -22,9 +36,24 @@ public abstract class Player {
         this.fatigue = 0;
     }
 
+    /** Copy constructor for {@link #copy()}: same identity, ratings and current fatigue. */
+    protected Player(Player other) {
+        this.playerId = other.playerId;
+        this.name = other.name;
+        this.position = other.position;
+        this.eligiblePositions = other.eligiblePositions;
+        this.age = other.age;
+        this.offense = other.offense;
+        this.defense = other.defense;
+        this.fatigue = other.fatigue;
+        this.fatigueVersion = other.fatigueVersion;
+    }
+
     public String playerId() { return playerId; }
     public String name() { return name; }
     public Position position() { return position; }
+    /** Primary position plus any secondary ones, e.g. a combo guard at PG and SG. */
+    public Set<Position> eligiblePositions() { return eligiblePositions; }
     public int age() { return age; }
     public int offense() { return offense; }
     public int defense() { return defense; }
@@ -37,14 +66,23 @@ public abstract class Player {
     /** Fatigue [0..100]. */
     public int fatigue() { return fatigue; }
 
+    /** Counts fatigue changes; lets caches keyed on player state detect staleness. */
+    public int fatigueVersion() { return fatigueVersion; }
+
     public void applyMinutes(int minutes) {
         if (minutes < 0) throw new IllegalArgumentException("minutes");
         // Simple fatigue model: +1 fatigue per 2 minutes, max 100
-        fatigue = Math.min(100, fatigue + (minutes / 2));
+        setFatigue(Math.min(100, fatigue + (minutes / 2)));
     }
 
     public void rest() {
-        fatigue = Math.max(0, fatigue - 20);
+        setFatigue(Math.max(0, fatigue - 20));
+    }
+
+    private void setFatigue(int f) {
+        if (f == fatigue) return;
+        fatigue = f;
+        fatigueVersion++;
     }
 
     /** Used by lineup optimizer as a penalty. */
@@ -60,6 +98,9 @@ public abstract class Player {
 
     public abstract ExperienceLevel experienceLevel();
 
+    /** Independent copy of this player's state, e.g. for simulations that must not touch the live roster. */
+    public abstract Player copy();
+
     public abstract <R> R accept(PlayerVisitor<R> v);
 
     @Override
@@ -1,10 +1,23 @@
 package com.example.nba.domain;
 
+import java.util.Set;
+
 public final class RookiePlayer extends Player {
     public RookiePlayer(String playerId, String name, Position position, int age, int offense, int defense) {
-        super(playerId, name, position, age, offense, defense);
+        this(playerId, name, position, Set.of(), age, offense, defense);
+    }
+
+    public RookiePlayer(String playerId, String name, Position position, Set<Position> alsoPlays,
+                        int age, int offense, int defense) {
+        super(playerId, name, position, alsoPlays, age, offense, defense);
     }
 
+    private RookiePlayer(RookiePlayer other) {
+        super(other);
+    }
+
+    @Override public RookiePlayer copy() { return new RookiePlayer(this); }
+
     @Override public ExperienceLevel experienceLevel() { return ExperienceLevel.ROOKIE; }
 
     @Override public <R> R accept(PlayerVisitor<R> v) { return v.visitRookie(this); }
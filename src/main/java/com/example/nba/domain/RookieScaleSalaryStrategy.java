@@ -2,6 +2,8 @@ package com.example.nba.domain;
 
 /** Example strategy for rookies: clamp to a small cap and add bonus based on rating. */
 public final class RookieScaleSalaryStrategy implements SalaryStrategy {
+    private static final long BONUS_CENTS_PER_POINT = 10_000L * 100; // $10k per rating point above 70
+
     private final Money maxAnnual;
 
     public RookieScaleSalaryStrategy(Money maxAnnual) {
@@ -10,9 +12,8 @@ public final class RookieScaleSalaryStrategy implements SalaryStrategy {
 
     @Override
     public Money annualSalary(Player p, Contract c) {
-        Money standard = new StandardSalaryStrategy().annualSalary(p, c);
-        double bonus = Math.max(0, p.overallRating() - 70) * 10_000; // simple bonus
-        Money withBonus = Money.of(standard.amount().doubleValue() + bonus);
-        return maxAnnual.gte(withBonus) ? withBonus : maxAnnual;
+        long bonus = Math.max(0, p.overallRating() - 70) * BONUS_CENTS_PER_POINT; // simple bonus
+        long withBonus = Math.addExact(StandardSalaryStrategy.annualCents(c), bonus);
+        return maxAnnual.cents() >= withBonus ? Money.ofCents(withBonus) : maxAnnual;
     }
 }
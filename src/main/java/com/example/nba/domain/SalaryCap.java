@@ -2,28 +2,30 @@ package com.example.nba.domain;
 
 import java.util.Objects;
 
-/** Simple salary cap model. */
+/** Simple salary cap model. Committed total is tracked in cents so commit/uncommit never allocate. */
 public final class SalaryCap {
     private final Money cap;
-    private Money committed;
+    private long committedCents;
 
     public SalaryCap(Money cap) {
         this.cap = Objects.requireNonNull(cap);
-        this.committed = Money.of(0);
+        this.committedCents = 0;
     }
 
     public Money cap() { return cap; }
-    public Money committed() { return committed; }
-    public Money remaining() { return cap.minus(committed); }
+    public Money committed() { return Money.ofCents(committedCents); }
+    public Money remaining() { return Money.ofCents(remainingCents()); }
+    public long remainingCents() { return Math.subtractExact(cap.cents(), committedCents); }
 
     public void commit(Money amount) {
         Objects.requireNonNull(amount);
-        if (!cap.gte(committed.plus(amount))) throw new IllegalStateException("cap exceeded");
-        committed = committed.plus(amount);
+        long next = Math.addExact(committedCents, amount.cents());
+        if (cap.cents() < next) throw new IllegalStateException("cap exceeded");
+        committedCents = next;
     }
 
     public void uncommit(Money amount) {
         Objects.requireNonNull(amount);
-        committed = Money.of(Math.max(0, committed.amount().doubleValue() - amount.amount().doubleValue()));
+        committedCents = Math.max(0, Math.subtractExact(committedCents, amount.cents()));
     }
 }
@@ -9,12 +9,17 @@ import java.util.Optional;
 import com.example.nba.collections.DoublyLinkedList;
 
 public final class Team implements Iterable<Player> {
+    public static final int MAX_ROSTER = 20;
+
     private final String teamId;
     private final String name;
     private final SalaryCap salaryCap;
     private final DoublyLinkedList<Player> roster;
 
+    // Both maps are keyed by playerId and always hold exactly the roster's players.
+    private final Map<String, DoublyLinkedList.Node<Player>> rosterNodeByPlayerId = new HashMap<>();
     private final Map<String, Money> annualSalaryByPlayerId = new HashMap<>();
+    private long rosterVersion;
 
     public Team(String teamId, String name, SalaryCap salaryCap) {
         this.teamId = Objects.requireNonNull(teamId);
@@ -28,27 +33,37 @@ public final class Team implements Iterable<Player> {
     public SalaryCap salaryCap() { return salaryCap; }
     public int rosterSize() { return roster.size(); }
 
+    /** Incremented on every roster add/remove; caches compare it to spot stale results. */
+    public long rosterVersion() { return rosterVersion; }
+
     public void addPlayer(Player p, Money annualSalary) {
         Objects.requireNonNull(p);
         Objects.requireNonNull(annualSalary);
-        if (rosterSize() >= 20) throw new IllegalStateException("roster full");
-        roster.addLast(p);
+        if (rosterSize() >= MAX_ROSTER) throw new IllegalStateException("roster full");
+        if (rosterNodeByPlayerId.containsKey(p.playerId())) {
+            throw new IllegalArgumentException("Player already on roster: " + p.playerId());
+        }
+        rosterNodeByPlayerId.put(p.playerId(), roster.linkLast(p));
         annualSalaryByPlayerId.put(p.playerId(), annualSalary);
+        rosterVersion++;
     }
 
+    /** O(1): unlinks the indexed node instead of scanning the roster. */
     public boolean removePlayer(Player p) {
         Objects.requireNonNull(p);
-        boolean removed = roster.removeFirstOccurrence(p);
-        if (removed) annualSalaryByPlayerId.remove(p.playerId());
-        return removed;
+        DoublyLinkedList.Node<Player> node = rosterNodeByPlayerId.get(p.playerId());
+        if (node == null || !p.equals(node.item())) return false;
+        roster.unlink(node);
+        rosterNodeByPlayerId.remove(p.playerId());
+        annualSalaryByPlayerId.remove(p.playerId());
+        rosterVersion++;
+        return true;
     }
 
     public Optional<Player> findPlayerById(String playerId) {
         Objects.requireNonNull(playerId);
-        for (Player p : roster) {
-            if (playerId.equals(p.playerId())) return Optional.of(p);
-        }
-        return Optional.empty();
+        DoublyLinkedList.Node<Player> node = rosterNodeByPlayerId.get(playerId);
+        return node == null ? Optional.empty() : Optional.of(node.item());
     }
 
     public Money annualSalaryFor(String playerId) {
@@ -57,7 +72,26 @@ public final class Team implements Iterable<Player> {
         return m;
     }
 
-    @Override public Iterator<Player> iterator() { return roster.iterator(); }
+    @Override
+    public Iterator<Player> iterator() {
+        Iterator<Player> it = roster.iterator();
+        // Wrap so Iterator.remove() keeps the playerId indexes in sync with the list.
+        return new Iterator<>() {
+            private Player last;
+
+            @Override public boolean hasNext() { return it.hasNext(); }
+
+            @Override public Player next() { return last = it.next(); }
+
+            @Override
+            public void remove() {
+                it.remove();
+                rosterNodeByPlayerId.remove(last.playerId());
+                annualSalaryByPlayerId.remove(last.playerId());
+                rosterVersion++;
+            }
+        };
+    }
 
     @Override
     public String toString() {
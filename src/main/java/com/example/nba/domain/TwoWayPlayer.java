@@ -1,10 +1,17 @@
 package com.example.nba.domain;
 
+import java.util.Set;
+
 public final class TwoWayPlayer extends Player {
     private int gLeagueDaysRemaining;
 
     public TwoWayPlayer(String playerId, String name, Position position, int age, int offense, int defense, int gLeagueDaysRemaining) {
-        super(playerId, name, position, age, offense, defense);
+        this(playerId, name, position, Set.of(), age, offense, defense, gLeagueDaysRemaining);
+    }
+
+    public TwoWayPlayer(String playerId, String name, Position position, Set<Position> alsoPlays,
+                        int age, int offense, int defense, int gLeagueDaysRemaining) {
+        super(playerId, name, position, alsoPlays, age, offense, defense);
         if (gLeagueDaysRemaining < 0) throw new IllegalArgumentException("gLeagueDaysRemaining");
         this.gLeagueDaysRemaining = gLeagueDaysRemaining;
     }
@@ -16,6 +23,13 @@ public final class TwoWayPlayer extends Player {
         gLeagueDaysRemaining = Math.max(0, gLeagueDaysRemaining - days);
     }
 
+    private TwoWayPlayer(TwoWayPlayer other) {
+        super(other);
+        this.gLeagueDaysRemaining = other.gLeagueDaysRemaining;
+    }
+
+    @Override public TwoWayPlayer copy() { return new TwoWayPlayer(this); }
+
     @Override public ExperienceLevel experienceLevel() { return ExperienceLevel.TWO_WAY; }
 
     @Override public <R> R accept(PlayerVisitor<R> v) { return v.visitTwoWay(this); }
@@ -1,16 +1,30 @@
 package com.example.nba.domain;
 
+import java.util.Set;
+
 public final class VeteranPlayer extends Player {
     private final int yearsInLeague;
 
     public VeteranPlayer(String playerId, String name, Position position, int age, int offense, int defense, int yearsInLeague) {
-        super(playerId, name, position, age, offense, defense);
+        this(playerId, name, position, Set.of(), age, offense, defense, yearsInLeague);
+    }
+
+    public VeteranPlayer(String playerId, String name, Position position, Set<Position> alsoPlays,
+                         int age, int offense, int defense, int yearsInLeague) {
+        super(playerId, name, position, alsoPlays, age, offense, defense);
         if (yearsInLeague < 0) throw new IllegalArgumentException("yearsInLeague");
         this.yearsInLeague = yearsInLeague;
     }
 
     public int yearsInLeague() { return yearsInLeague; }
 
+    private VeteranPlayer(VeteranPlayer other) {
+        super(other);
+        this.yearsInLeague = other.yearsInLeague;
+    }
+
+    @Override public VeteranPlayer copy() { return new VeteranPlayer(this); }
+
     @Override public ExperienceLevel experienceLevel() { return ExperienceLevel.VETERAN; }
 
     @Override public <R> R accept(PlayerVisitor<R> v) { return v.visitVeteran(this); }
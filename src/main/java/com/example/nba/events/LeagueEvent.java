@@ -0,0 +1,128 @@
+package com.example.nba.events;
+
+import com.example.nba.domain.Money;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.SalaryCap;
+import com.example.nba.domain.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Structured record of a successful league mutation, carried in the audit chain
+ * next to the human-readable before/after text (see {@link LeagueEventCodec}).
+ * {@link #applyTo} replays it with the same cap and roster bookkeeping as
+ * {@code TeamManagementService}.
+ */
+public sealed interface LeagueEvent {
+
+    /** Applies this event to {@code league} (teamId -> team). */
+    void applyTo(Map<String, Team> league);
+
+    /** A player and the annual salary they carry on a roster. */
+    record RosterSpot(PlayerData player, long salaryCents) {
+        public RosterSpot {
+            Objects.requireNonNull(player);
+        }
+    }
+
+    /** Registers (or replaces) a team with its cap state and any players it came with. */
+    record TeamRegistered(String teamId, String name, long capCents, long committedCents, List<RosterSpot> roster)
+            implements LeagueEvent {
+        public TeamRegistered {
+            Objects.requireNonNull(teamId);
+            Objects.requireNonNull(name);
+            roster = List.copyOf(roster);
+        }
+
+        public static TeamRegistered of(Team team) {
+            List<RosterSpot> roster = new ArrayList<>(team.rosterSize());
+            for (Player p : team) {
+                roster.add(new RosterSpot(PlayerData.of(p), team.annualSalaryFor(p.playerId()).cents()));
+            }
+            return new TeamRegistered(team.teamId(), team.name(), team.salaryCap().cap().cents(),
+                    team.salaryCap().committed().cents(), roster);
+        }
+
+        public Team toTeam() {
+            SalaryCap cap = new SalaryCap(Money.ofCents(capCents));
+            Team team = new Team(teamId, name, cap);
+            for (RosterSpot s : roster) team.addPlayer(s.player().toPlayer(), Money.ofCents(s.salaryCents()));
+            cap.commit(Money.ofCents(committedCents));
+            return team;
+        }
+
+        @Override
+        public void applyTo(Map<String, Team> league) {
+            league.put(teamId, toTeam());
+        }
+    }
+
+    record PlayerSigned(String teamId, PlayerData player, long salaryCents) implements LeagueEvent {
+        public PlayerSigned {
+            Objects.requireNonNull(teamId);
+            Objects.requireNonNull(player);
+        }
+
+        public static PlayerSigned of(String teamId, Player player, Money annualSalary) {
+            return new PlayerSigned(teamId, PlayerData.of(player), annualSalary.cents());
+        }
+
+        @Override
+        public void applyTo(Map<String, Team> league) {
+            Team team = team(league, teamId);
+            Money salary = Money.ofCents(salaryCents);
+            team.salaryCap().commit(salary);
+            team.addPlayer(player.toPlayer(), salary);
+        }
+    }
+
+    record PlayerWaived(String teamId, String playerId) implements LeagueEvent {
+        public PlayerWaived {
+            Objects.requireNonNull(teamId);
+            Objects.requireNonNull(playerId);
+        }
+
+        @Override
+        public void applyTo(Map<String, Team> league) {
+            Team team = team(league, teamId);
+            Player p = player(team, playerId);
+            Money salary = team.annualSalaryFor(playerId);
+            team.removePlayer(p);
+            team.salaryCap().uncommit(salary);
+        }
+    }
+
+    record PlayerTraded(String fromTeamId, String toTeamId, String playerId) implements LeagueEvent {
+        public PlayerTraded {
+            Objects.requireNonNull(fromTeamId);
+            Objects.requireNonNull(toTeamId);
+            Objects.requireNonNull(playerId);
+        }
+
+        @Override
+        public void applyTo(Map<String, Team> league) {
+            Team from = team(league, fromTeamId);
+            Team to = team(league, toTeamId);
+            Player p = player(from, playerId);
+            Money salary = from.annualSalaryFor(playerId);
+            to.salaryCap().commit(salary);
+            to.addPlayer(p, salary);
+            from.removePlayer(p);
+            from.salaryCap().uncommit(salary);
+        }
+    }
+
+    private static Team team(Map<String, Team> league, String teamId) {
+        Team t = league.get(teamId);
+        if (t == null) throw new IllegalStateException("event references unknown team " + teamId);
+        return t;
+    }
+
+    private static Player player(Team team, String playerId) {
+        return team.findPlayerById(playerId).orElseThrow(
+                () -> new IllegalStateException("event references " + playerId + ", not on " + team.teamId()));
+    }
+}
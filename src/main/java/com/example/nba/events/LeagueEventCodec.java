@@ -0,0 +1,146 @@
+package com.example.nba.events;
+
+import com.example.nba.domain.ExperienceLevel;
+import com.example.nba.domain.Position;
+import com.example.nba.events.LeagueEvent.PlayerSigned;
+import com.example.nba.events.LeagueEvent.PlayerTraded;
+import com.example.nba.events.LeagueEvent.PlayerWaived;
+import com.example.nba.events.LeagueEvent.RosterSpot;
+import com.example.nba.events.LeagueEvent.TeamRegistered;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Text form of {@link LeagueEvent}s for {@code AuditEntry.event()}.
+ *
+ * An event is its type name followed by length-prefixed fields,
+ * {@code PlayerWaived;3:BOS;6:p-1234}, so any text (names included) round-trips
+ * without escaping and the encoding is stable for hashing.
+ */
+public final class LeagueEventCodec {
+    private LeagueEventCodec() { }
+
+    public static String encode(LeagueEvent event) {
+        Out out = new Out();
+        if (event instanceof TeamRegistered e) {
+            out.type("TeamRegistered").str(e.teamId()).str(e.name()).num(e.capCents()).num(e.committedCents())
+                    .num(e.roster().size());
+            for (RosterSpot s : e.roster()) out.player(s.player()).num(s.salaryCents());
+        } else if (event instanceof PlayerSigned e) {
+            out.type("PlayerSigned").str(e.teamId()).player(e.player()).num(e.salaryCents());
+        } else if (event instanceof PlayerWaived e) {
+            out.type("PlayerWaived").str(e.teamId()).str(e.playerId());
+        } else if (event instanceof PlayerTraded e) {
+            out.type("PlayerTraded").str(e.fromTeamId()).str(e.toTeamId()).str(e.playerId());
+        } else {
+            throw new IllegalArgumentException("unknown event " + event);
+        }
+        return out.sb.toString();
+    }
+
+    /** @throws IllegalArgumentException if {@code text} isn't a well-formed event */
+    public static LeagueEvent decode(String text) {
+        In in = new In(text);
+        LeagueEvent e = switch (in.type()) {
+            case "TeamRegistered" -> {
+                String teamId = in.str();
+                String name = in.str();
+                long cap = in.num();
+                long committed = in.num();
+                int n = (int) in.num();
+                List<RosterSpot> roster = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) roster.add(new RosterSpot(in.player(), in.num()));
+                yield new TeamRegistered(teamId, name, cap, committed, roster);
+            }
+            case "PlayerSigned" -> new PlayerSigned(in.str(), in.player(), in.num());
+            case "PlayerWaived" -> new PlayerWaived(in.str(), in.str());
+            case "PlayerTraded" -> new PlayerTraded(in.str(), in.str(), in.str());
+            default -> throw new IllegalArgumentException("unknown event type in: " + text);
+        };
+        in.end();
+        return e;
+    }
+
+    private static final class Out {
+        final StringBuilder sb = new StringBuilder(128);
+
+        Out type(String t) { sb.append(t); return this; }
+
+        Out str(String s) {
+            sb.append(';').append(s.length()).append(':').append(s);
+            return this;
+        }
+
+        Out num(long n) { return str(Long.toString(n)); }
+
+        Out player(PlayerData p) {
+            StringBuilder also = new StringBuilder();
+            for (Position pos : Position.values()) {
+                if (p.alsoPlays().contains(pos)) also.append(also.length() == 0 ? "" : ",").append(pos.name());
+            }
+            return str(p.playerId()).str(p.name()).str(p.position().name()).str(also.toString())
+                    .num(p.age()).num(p.offense()).num(p.defense()).str(p.level().name()).num(p.levelField());
+        }
+    }
+
+    private static final class In {
+        private final String s;
+        private int pos;
+
+        In(String s) { this.s = s; }
+
+        String type() {
+            int semi = s.indexOf(';');
+            pos = semi < 0 ? s.length() : semi;
+            return s.substring(0, pos);
+        }
+
+        String str() {
+            if (pos >= s.length() || s.charAt(pos) != ';') throw malformed();
+            int colon = s.indexOf(':', pos + 1);
+            if (colon < 0) throw malformed();
+            int len;
+            try {
+                len = Integer.parseInt(s, pos + 1, colon, 10);
+            } catch (NumberFormatException e) {
+                throw malformed();
+            }
+            if (len < 0 || colon + 1 + len > s.length()) throw malformed();
+            pos = colon + 1 + len;
+            return s.substring(colon + 1, pos);
+        }
+
+        long num() {
+            try {
+                return Long.parseLong(str());
+            } catch (NumberFormatException e) {
+                throw malformed();
+            }
+        }
+
+        PlayerData player() {
+            String id = str();
+            String name = str();
+            Position position = Position.valueOf(str());
+            String also = str();
+            Set<Position> alsoPlays = EnumSet.noneOf(Position.class);
+            if (!also.isEmpty()) for (String a : also.split(",")) alsoPlays.add(Position.valueOf(a));
+            int age = (int) num();
+            int offense = (int) num();
+            int defense = (int) num();
+            ExperienceLevel level = ExperienceLevel.valueOf(str());
+            return new PlayerData(id, name, position, alsoPlays, age, offense, defense, level, (int) num());
+        }
+
+        void end() {
+            if (pos != s.length()) throw malformed();
+        }
+
+        private IllegalArgumentException malformed() {
+            return new IllegalArgumentException("malformed event at " + pos + ": " + s);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.nba.events;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.AuditLogRepository;
+import com.example.nba.domain.Team;
+import com.example.nba.events.LeagueEvent.TeamRegistered;
+import com.example.nba.repo.TeamRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Rebuilds league state from the {@link LeagueEvent}s carried in an audit chain.
+ *
+ * Every {@code snapshotEvery} applied events the whole league is written to
+ * {@code league-<position>.snap} in the snapshot directory (temp file plus atomic
+ * move), so the next rebuild resumes at that log position instead of genesis. A
+ * snapshot records the hash of the entry just before its position; it is only used
+ * if the log still has that entry with that hash, so a snapshot from a different
+ * or rewritten log is ignored rather than trusted. The newest {@code keepSnapshots}
+ * are kept.
+ *
+ * Replay checks the hash linkage of every entry it reads and fails with
+ * {@link IllegalStateException} where the chain breaks; entries without an event
+ * (rejections, pre-event logs) are linked but otherwise skipped.
+ */
+public final class LeagueReplayer {
+    private static final String PREFIX = "league-";
+    private static final String SUFFIX = ".snap";
+    private static final int SNAPSHOT_MAGIC = 0x4E42414C; // "NBAL"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    public record Result(long entriesRead, long eventsApplied, long resumedFromPosition, int snapshotsWritten,
+                         long elapsedNanos) { }
+
+    private final Path snapshotDir;
+    private final int snapshotEvery;
+    private final int keepSnapshots;
+
+    private LeagueReplayer(Builder b) {
+        this.snapshotDir = b.snapshotDir;
+        this.snapshotEvery = b.snapshotEvery;
+        this.keepSnapshots = b.keepSnapshots;
+    }
+
+    public static Builder builder(Path snapshotDir) {
+        return new Builder(snapshotDir);
+    }
+
+    public static final class Builder {
+        private final Path snapshotDir;
+        private int snapshotEvery = 1_000;
+        private int keepSnapshots = 2;
+
+        private Builder(Path snapshotDir) {
+            this.snapshotDir = Objects.requireNonNull(snapshotDir);
+        }
+
+        public Builder snapshotEvery(int events) {
+            if (events <= 0) throw new IllegalArgumentException("snapshotEvery must be > 0");
+            this.snapshotEvery = events;
+            return this;
+        }
+
+        public Builder keepSnapshots(int count) {
+            if (count <= 0) throw new IllegalArgumentException("keepSnapshots must be > 0");
+            this.keepSnapshots = count;
+            return this;
+        }
+
+        public LeagueReplayer build() {
+            return new LeagueReplayer(this);
+        }
+    }
+
+    /** Replays {@code log} and saves every resulting team into {@code into}. */
+    public Result rebuild(AuditLogRepository log, TeamRepository into) {
+        Objects.requireNonNull(into);
+        long start = System.nanoTime();
+        Map<String, Team> league = new LinkedHashMap<>();
+
+        Snapshot resumed = latestUsableSnapshot(log).orElse(null);
+        long position = 0;
+        String expectedPrev = log.genesisHash();
+        if (resumed != null) {
+            for (TeamRegistered t : resumed.teams) t.applyTo(league);
+            position = resumed.position;
+            expectedPrev = resumed.anchorHash;
+        }
+        long resumedFrom = position;
+
+        long entries = 0;
+        long events = 0;
+        long sinceSnapshot = 0;
+        int written = 0;
+        try (Stream<AuditEntry> s = log.stream(position)) {
+            for (Iterator<AuditEntry> it = s.iterator(); it.hasNext(); ) {
+                AuditEntry e = it.next();
+                if (!e.verifiesAgainst(expectedPrev)) {
+                    throw new IllegalStateException("audit chain broken at position " + position);
+                }
+                expectedPrev = e.hash();
+                position++;
+                entries++;
+                if (!e.hasEvent()) continue;
+
+                LeagueEvent event;
+                try {
+                    event = LeagueEventCodec.decode(e.event());
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalStateException("undecodable event at position " + (position - 1), ex);
+                }
+                event.applyTo(league);
+                events++;
+                if (++sinceSnapshot >= snapshotEvery) {
+                    writeSnapshot(position, expectedPrev, league);
+                    written++;
+                    sinceSnapshot = 0;
+                }
+            }
+        }
+
+        for (Team t : league.values()) into.save(t);
+        return new Result(entries, events, resumedFrom, written, System.nanoTime() - start);
+    }
+
+    // ---- snapshots ----
+
+    private record Snapshot(long position, String anchorHash, List<TeamRegistered> teams) { }
+
+    private Optional<Snapshot> latestUsableSnapshot(AuditLogRepository log) {
+        for (Path p : snapshotsNewestFirst()) {
+            Snapshot snap;
+            try {
+                snap = readSnapshot(p);
+            } catch (IOException | RuntimeException e) {
+                continue; // torn or foreign file: fall back to an older one
+            }
+            Optional<AuditEntry> anchor;
+            try (Stream<AuditEntry> s = log.stream(snap.position - 1)) {
+                anchor = s.findFirst();
+            }
+            if (anchor.isPresent() && anchor.get().hash().equals(snap.anchorHash)) return Optional.of(snap);
+        }
+        return Optional.empty();
+    }
+
+    private List<Path> snapshotsNewestFirst() {
+        if (!Files.isDirectory(snapshotDir)) return List.of();
+        List<Path> out = new ArrayList<>();
+        try (Stream<Path> files = Files.list(snapshotDir)) {
+            files.filter(p -> {
+                String n = p.getFileName().toString();
+                return n.startsWith(PREFIX) && n.endsWith(SUFFIX);
+            }).forEach(out::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list league snapshots in " + snapshotDir, e);
+        }
+        // Zero-padded positions, so name order is position order.
+        out.sort(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed());
+        return out;
+    }
+
+    private void writeSnapshot(long position, String anchorHash, Map<String, Team> league) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(position);
+            writeString(out, anchorHash);
+            out.writeInt(league.size());
+            for (Team t : league.values()) writeString(out, LeagueEventCodec.encode(TeamRegistered.of(t)));
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+            out.flush();
+
+            Files.createDirectories(snapshotDir);
+            String name = String.format("%s%020d%s", PREFIX, position, SUFFIX);
+            Path tmp = snapshotDir.resolve(name + ".tmp");
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, snapshotDir.resolve(name), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+            List<Path> all = snapshotsNewestFirst();
+            for (int i = keepSnapshots; i < all.size(); i++) Files.deleteIfExists(all.get(i));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write league snapshot at position " + position, e);
+        }
+    }
+
+    private static Snapshot readSnapshot(Path p) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(p));
+        if (buf.remaining() < 24) throw new IOException("league snapshot truncated: " + p);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.limit() - Integer.BYTES);
+        if ((int) crc.getValue() != buf.getInt(buf.limit() - Integer.BYTES)) {
+            throw new IOException("league snapshot checksum mismatch: " + p);
+        }
+        buf.limit(buf.limit() - Integer.BYTES);
+        try {
+            if (buf.getInt() != SNAPSHOT_MAGIC) throw new IOException("not a league snapshot: " + p);
+            int version = buf.getInt();
+            if (version != SNAPSHOT_VERSION) throw new IOException("unsupported league snapshot version " + version);
+            long position = buf.getLong();
+            if (position <= 0) throw new IOException("bad league snapshot position " + position + ": " + p);
+            String anchor = readString(buf);
+            int n = buf.getInt();
+            List<TeamRegistered> teams = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                if (!(LeagueEventCodec.decode(readString(buf)) instanceof TeamRegistered t)) {
+                    throw new IOException("league snapshot holds a non-team event: " + p);
+                }
+                teams.add(t);
+            }
+            return new Snapshot(position, anchor, teams);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("league snapshot truncated: " + p, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] b = new byte[buf.getInt()];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.nba.events;
+
+import com.example.nba.domain.ExperienceLevel;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.PlayerVisitor;
+import com.example.nba.domain.Position;
+import com.example.nba.domain.RookiePlayer;
+import com.example.nba.domain.TwoWayPlayer;
+import com.example.nba.domain.VeteranPlayer;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Everything needed to rebuild a {@link Player}: identity, ratings, extra eligible
+ * positions and the level-specific field ({@code yearsInLeague} for veterans,
+ * {@code gLeagueDaysRemaining} for two-way players, 0 for rookies). Fatigue is
+ * runtime state and is not carried.
+ *
+ * This is the one player codec: the team store's WAL and snapshots persist it too,
+ * so a new {@link Player} subtype only needs handling here.
+ */
+public record PlayerData(String playerId, String name, Position position, Set<Position> alsoPlays, int age,
+                         int offense, int defense, ExperienceLevel level, int levelField) {
+
+    private static final PlayerFactory FACTORY = new PlayerFactory();
+
+    private static final PlayerVisitor<Integer> LEVEL_FIELD = new PlayerVisitor<>() {
+        @Override public Integer visitRookie(RookiePlayer p) { return 0; }
+        @Override public Integer visitVeteran(VeteranPlayer p) { return p.yearsInLeague(); }
+        @Override public Integer visitTwoWay(TwoWayPlayer p) { return p.gLeagueDaysRemaining(); }
+    };
+
+    public PlayerData {
+        Objects.requireNonNull(playerId);
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(position);
+        Objects.requireNonNull(level);
+        alsoPlays = Set.copyOf(alsoPlays);
+    }
+
+    public static PlayerData of(Player p) {
+        EnumSet<Position> also = EnumSet.copyOf(p.eligiblePositions());
+        also.remove(p.position());
+        return new PlayerData(p.playerId(), p.name(), p.position(), also, p.age(), p.offense(), p.defense(),
+                p.experienceLevel(), p.accept(LEVEL_FIELD));
+    }
+
+    public Player toPlayer() {
+        PlayerBuilder b = new PlayerBuilder().playerId(playerId).name(name).position(position)
+                .alsoPlays(alsoPlays.toArray(new Position[0])).age(age).offense(offense).defense(defense);
+        switch (level) {
+            case VETERAN -> b.yearsInLeague(levelField);
+            case TWO_WAY -> b.gLeagueDaysRemaining(levelField);
+            case ROOKIE -> { }
+        }
+        return FACTORY.create(level, b);
+    }
+}
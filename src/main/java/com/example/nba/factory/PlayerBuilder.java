@@ -2,7 +2,9 @@ package com.example.nba.factory;
 
 import com.example.nba.domain.Position;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /** Builder for creating players with readable stepwise configuration. */
@@ -10,6 +12,7 @@ public final class PlayerBuilder {
     private String playerId = UUID.randomUUID().toString();
     private String name = "Unknown";
     private Position position = Position.SG;
+    private final Set<Position> alsoPlays = EnumSet.noneOf(Position.class);
     private int age = 19;
     private int offense = 70;
     private int defense = 70;
@@ -19,6 +22,10 @@ public final class PlayerBuilder {
     public PlayerBuilder playerId(String id) { this.playerId = Objects.requireNonNull(id); return this; }
     public PlayerBuilder name(String n) { this.name = Objects.requireNonNull(n); return this; }
     public PlayerBuilder position(Position p) { this.position = Objects.requireNonNull(p); return this; }
+    public PlayerBuilder alsoPlays(Position... ps) {
+        for (Position p : ps) alsoPlays.add(Objects.requireNonNull(p));
+        return this;
+    }
     public PlayerBuilder age(int a) { this.age = a; return this; }
     public PlayerBuilder offense(int o) { this.offense = o; return this; }
     public PlayerBuilder defense(int d) { this.defense = d; return this; }
@@ -28,6 +35,7 @@ public final class PlayerBuilder {
     public String playerId() { return playerId; }
     public String name() { return name; }
     public Position position() { return position; }
+    public Set<Position> alsoPlays() { return Set.copyOf(alsoPlays); }
     public int age() { return age; }
     public int offense() { return offense; }
     public int defense() { return defense; }
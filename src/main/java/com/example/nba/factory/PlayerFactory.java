@@ -12,9 +12,9 @@ public final class PlayerFactory {
         Objects.requireNonNull(b);
 
         return switch (type) {
-            case ROOKIE -> new RookiePlayer(b.playerId(), b.name(), b.position(), b.age(), b.offense(), b.defense());
-            case VETERAN -> new VeteranPlayer(b.playerId(), b.name(), b.position(), b.age(), b.offense(), b.defense(), b.yearsInLeague());
-            case TWO_WAY -> new TwoWayPlayer(b.playerId(), b.name(), b.position(), b.age(), b.offense(), b.defense(), b.gLeagueDaysRemaining());
+            case ROOKIE -> new RookiePlayer(b.playerId(), b.name(), b.position(), b.alsoPlays(), b.age(), b.offense(), b.defense());
+            case VETERAN -> new VeteranPlayer(b.playerId(), b.name(), b.position(), b.alsoPlays(), b.age(), b.offense(), b.defense(), b.yearsInLeague());
+            case TWO_WAY -> new TwoWayPlayer(b.playerId(), b.name(), b.position(), b.alsoPlays(), b.age(), b.offense(), b.defense(), b.gLeagueDaysRemaining());
         };
     }
 }
@@ -1,75 +1,318 @@
 package com.example.nba.integration;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 
+/**
+ * ESPN JSON client. Requests go out via {@link HttpClient#sendAsync}; admission is
+ * throttled by one global {@link TokenBucket} plus a per-host in-flight cap, which
+ * replaces the fixed sleeps the seeder used to do between calls.
+ *
+ * Bodies are streamed ({@link HttpResponse.BodyHandlers#ofInputStream()}) straight
+ * into a Jackson {@link JsonParser}: {@link #getAsync(String)} builds a tree, while
+ * {@link #getAsync(String, BodyReader)} lets callers pull just the fields they need
+ * and stop early. HTML (block pages, redirects to a login) is detected from the
+ * first bytes, before any parsing.
+ *
+ * With a {@link HttpResponseCache} configured, fresh responses are served from disk
+ * without a request (or a rate-limit token), and stale ones are revalidated with
+ * conditional headers so an unchanged body comes back as a bodiless 304.
+ */
 public final class EspnClient {
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long INITIAL_BACKOFF_MS = 400;
+    private static final long MAX_BACKOFF_MS = 3000;
+    private static final int SNIFF_BYTES = 512;   // leading whitespace tolerated before the first real byte
+    private static final int ERROR_BODY_BYTES = 1024;
+
+    /** Reads a 200 response body from a parser positioned before its first token. */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
     private final HttpClient client;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final TokenBucket rateLimiter;
+    private final int maxConcurrentPerHost;
+    private final Map<String, HostGate> gates = new ConcurrentHashMap<>();
+    private final HttpResponseCache cache; // null: every call goes to the network
 
     public EspnClient() {
+        this(builder());
+    }
+
+    private EspnClient(Builder b) {
         this.client = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
+        this.rateLimiter = new TokenBucket(b.requestsPerSecond, b.burst);
+        this.maxConcurrentPerHost = b.maxConcurrentPerHost;
+        this.cache = b.responseCache;
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static final class Builder {
+        private double requestsPerSecond = 20;
+        private int burst = 10;
+        private int maxConcurrentPerHost = 8;
+        private HttpResponseCache responseCache;
+
+        /** Global request rate across all hosts. */
+        public Builder requestsPerSecond(double rps) {
+            if (!(rps > 0)) throw new IllegalArgumentException("requestsPerSecond must be > 0");
+            this.requestsPerSecond = rps;
+            return this;
+        }
+        public Builder burst(int b) {
+            if (b <= 0) throw new IllegalArgumentException("burst must be > 0");
+            this.burst = b;
+            return this;
+        }
+        public Builder maxConcurrentPerHost(int n) {
+            if (n <= 0) throw new IllegalArgumentException("maxConcurrentPerHost must be > 0");
+            this.maxConcurrentPerHost = n;
+            return this;
+        }
+        /** Per-URL response cache; off by default. */
+        public Builder responseCache(HttpResponseCache cache) {
+            this.responseCache = Objects.requireNonNull(cache);
+            return this;
+        }
+
+        public EspnClient build() { return new EspnClient(this); }
     }
 
     public JsonNode get(String url) {
-        int maxAttempts = 4;
-        long backoffMs = 400;
-        RuntimeException last = null;
+        try {
+            return getAsync(url).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /** Non-blocking variant of {@link #get}: same retries/backoff, completes with the parsed body. */
+    public CompletableFuture<JsonNode> getAsync(String url) {
+        return getAsync(url, this::readTree);
+    }
+
+    /**
+     * Like {@link #getAsync(String)} but hands the body to {@code reader} as a stream of
+     * tokens; anything it doesn't read is discarded. A reader failure counts as a failed
+     * attempt and is retried like any other.
+     */
+    public <T> CompletableFuture<T> getAsync(String url, BodyReader<T> reader) {
+        Objects.requireNonNull(reader);
+        HttpResponseCache.Entry hit = cache == null ? null : cache.fresh(url);
+        if (hit == null) return attempt(url, reader, 1, INITIAL_BACKOFF_MS);
+        return CompletableFuture.supplyAsync(() -> readCached(hit, reader))
+                .handle((body, err) -> {
+                    if (err == null) return CompletableFuture.completedFuture(body);
+                    cache.invalidate(url); // unreadable on disk: drop it and fetch afresh
+                    return attempt(url, reader, 1, INITIAL_BACKOFF_MS);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<T> attempt(String url, BodyReader<T> reader, int attempt, long backoffMs) {
+        HttpResponseCache.Entry stale = cache == null ? null : cache.revalidatable(url);
+        HttpRequest req;
+        try {
+            req = request(url, stale);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("ESPN call failed (attempt " + attempt + ") url=" + url, e));
+        }
+
+        HostGate gate = gates.computeIfAbsent(authority(req.uri()), HostGate::new);
+        return gate.admit()
+                // The slot is held until the body has been read, not just until headers arrive.
+                .thenCompose(v -> send(req).thenApply(res -> readBody(res, reader, url, stale))
+                        .whenComplete((res, err) -> gate.release()))
+                .handle((body, err) -> {
+                    if (err == null) return CompletableFuture.completedFuture(body);
+
+                    Throwable cause = unwrap(err);
+                    RuntimeException failure = cause instanceof RejectedResponse r ? r
+                            : new RuntimeException("ESPN call failed (attempt " + attempt + ") url=" + url, cause);
+
+                    if (attempt >= MAX_ATTEMPTS) return CompletableFuture.<T>failedFuture(failure);
+                    return CompletableFuture
+                            .runAsync(() -> { }, CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(v -> attempt(url, reader, attempt + 1, Math.min(backoffMs * 2, MAX_BACKOFF_MS)));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> send(HttpRequest req) {
+        try {
+            return client.sendAsync(req, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+    private <T> T readBody(HttpResponse<InputStream> res, BodyReader<T> reader, String url,
+                           HttpResponseCache.Entry stale) {
+        if (res.statusCode() == 304 && stale != null) {
             try {
-                HttpRequest req = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(20))
-                        .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)")
-                        .header("Accept", "application/json,text/plain,*/*")
-                        .header("Accept-Language", "en-US,en;q=0.9")
-                        // These two help with ESPN sometimes returning HTML/blocked responses:
-                        .header("Referer", "https://www.espn.com/")
-                        .header("Origin", "https://www.espn.com")
-                        .GET()
-                        .build();
-
-                HttpResponse<String> res = client.send(req, HttpResponse.BodyHandlers.ofString());
-                String body = res.body();
-
-                if (res.statusCode() != 200) {
-                    last = new RuntimeException("ESPN status=" + res.statusCode() + " url=" + url + " body=" + abbreviate(body));
-                } else if (looksLikeHtml(body)) {
-                    last = new RuntimeException("ESPN returned HTML instead of JSON (blocked/redirected). url=" + url);
-                } else {
-                    return mapper.readTree(body);
-                }
+                res.body().close(); // a 304 has no body; release the connection
+                HttpResponseCache.Entry current = cache.revalidated(stale, res.headers());
+                if (current == null) throw new RejectedResponse("ESPN 304 for an evicted cache entry url=" + url);
+                return readCached(current, reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
 
-            } catch (Exception e) {
-                last = new RuntimeException("ESPN call failed (attempt " + attempt + ") url=" + url, e);
+        try (InputStream raw = res.body();
+             InputStream in = new BufferedInputStream(raw, SNIFF_BYTES)) {
+            if (res.statusCode() != 200) {
+                throw new RejectedResponse("ESPN status=" + res.statusCode() + " url=" + url
+                        + " body=" + abbreviate(new String(in.readNBytes(ERROR_BODY_BYTES), StandardCharsets.UTF_8)));
+            }
+            if (looksLikeHtml(in)) {
+                throw new RejectedResponse("ESPN returned HTML instead of JSON (blocked/redirected). url=" + url);
             }
+            if (cache == null) return parse(in, reader);
+            HttpResponseCache.Tee tee = cache.tee(url, res.headers(), in);
+            if (tee == null) return parse(in, reader);
+            try (tee) {
+                T body = parse(tee, reader);
+                tee.commit();
+                return body;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            sleep(backoffMs);
-            backoffMs = Math.min(backoffMs * 2, 3000);
+    private <T> T parse(InputStream in, BodyReader<T> reader) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE); // callers close; a cache tee must drain first
+            return reader.read(parser);
         }
+    }
 
-        throw (last != null) ? last : new RuntimeException("ESPN call failed");
+    private <T> T readCached(HttpResponseCache.Entry entry, BodyReader<T> reader) {
+        try (InputStream in = cache.open(entry)) {
+            return parse(in, reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readTree(JsonParser parser) throws IOException {
+        JsonNode root = mapper.readTree(parser);
+        return root == null ? MissingNode.getInstance() : root; // empty body, as readTree(String) reports it
     }
 
-    private static boolean looksLikeHtml(String body) {
-        if (body == null) return false;
-        String s = body.stripLeading();
-        return s.startsWith("<!DOCTYPE html") || s.startsWith("<html") || s.startsWith("<");
+    /** A response we got but won't parse (bad status, HTML); its message is the whole story. */
+    private static final class RejectedResponse extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RejectedResponse(String message) { super(message); }
     }
 
-    private static void sleep(long ms) {
-        try { Thread.sleep(ms); }
-        catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+    private static HttpRequest request(String url, HttpResponseCache.Entry stale) {
+        HttpRequest.Builder b = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(20))
+                .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)")
+                .header("Accept", "application/json,text/plain,*/*")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                // These two help with ESPN sometimes returning HTML/blocked responses:
+                .header("Referer", "https://www.espn.com/")
+                .header("Origin", "https://www.espn.com")
+                .GET();
+        if (stale != null) HttpResponseCache.addValidators(b, stale);
+        return b.build();
+    }
+
+    /**
+     * Per-host admission: a single daemon thread waits for an in-flight slot and then a
+     * global token, so queued requests for one host never hold up another host's.
+     */
+    private final class HostGate {
+        private final Semaphore slots = new Semaphore(maxConcurrentPerHost, true);
+        private final ExecutorService admission;
+
+        HostGate(String authority) {
+            this.admission = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "espn-admit-" + authority);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        CompletableFuture<Void> admit() {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    slots.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+                try {
+                    rateLimiter.acquire();
+                } catch (InterruptedException e) {
+                    slots.release();
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+            }, admission);
+        }
+
+        void release() { slots.release(); }
+    }
+
+    private static String authority(URI uri) {
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+
+    /** True if the first non-whitespace byte is {@code '<'}; leaves the stream where it was. */
+    private static boolean looksLikeHtml(InputStream in) throws IOException {
+        in.mark(SNIFF_BYTES);
+        try {
+            for (int i = 0; i < SNIFF_BYTES; i++) {
+                int b = in.read();
+                if (b < 0) return false;
+                if (b == ' ' || b == '\t' || b == '\r' || b == '\n') continue;
+                return b == '<';
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
     }
 
     private static String abbreviate(String s) {
@@ -0,0 +1,27 @@
+package com.example.nba.integration;
+
+import java.util.Objects;
+
+/**
+ * Base URLs for the two ESPN hosts we talk to. Overridable so ingestion can be
+ * pointed at a local stub server.
+ */
+public record EspnEndpoints(String siteApiBase, String webApiBase) {
+
+    public static final EspnEndpoints DEFAULT = new EspnEndpoints(
+            "https://site.api.espn.com/apis/site/v2/sports/basketball/nba",
+            "https://site.web.api.espn.com/apis/common/v3/sports/basketball/nba");
+
+    public EspnEndpoints {
+        Objects.requireNonNull(siteApiBase);
+        Objects.requireNonNull(webApiBase);
+    }
+
+    public String teamsUrl() { return siteApiBase + "/teams"; }
+
+    public String rosterUrl(String teamId) { return siteApiBase + "/teams/" + teamId + "/roster"; }
+
+    public String athleteStatsUrl(String athleteId) {
+        return webApiBase + "/athletes/" + athleteId + "/stats?region=us&lang=en&contentorigin=espn";
+    }
+}
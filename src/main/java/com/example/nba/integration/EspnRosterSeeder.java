@@ -1,5 +1,12 @@
 package com.example.nba.integration;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import com.example.nba.domain.Contract;
 import com.example.nba.domain.ExperienceLevel;
 import com.example.nba.domain.Money;
@@ -12,133 +19,263 @@ import com.example.nba.domain.StandardSalaryStrategy;
 import com.example.nba.domain.Team;
 import com.example.nba.factory.PlayerBuilder;
 import com.example.nba.factory.PlayerFactory;
+import com.example.nba.integration.RosterCache.CachedPlayer;
+import com.example.nba.integration.RosterCache.CachedTeam;
+import com.example.nba.integration.RosterCache.League;
+import com.example.nba.integration.RosterCache.TeamRef;
 import com.example.nba.service.TeamManagementService;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
+/**
+ * Seeds the league from ESPN. Live ingestion is pipelined: every roster request is
+ * issued up front, and each roster fans out its per-player stats calls as soon as it
+ * arrives. Pacing comes from {@link EspnClient}'s rate limiter. Teams and players are
+ * still inserted in ESPN's order, so audit chains and rosters are deterministic.
+ *
+ * Refresh is incremental against the per-team {@link RosterCache}: the team list and
+ * a team's roster are only refetched once older than {@code rosterTtl}, and a
+ * player's stats only once older than {@code statsTtl} (or if the last call failed).
+ * Players that join a roster since the last fetch (the roster hash changes) are
+ * rated; everyone else reuses their cached rating. If a roster or stats call fails,
+ * that team or player keeps its last good cached data.
+ */
 public final class EspnRosterSeeder {
 
     private static final String CACHE_KEY = "espn";
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration DEFAULT_ROSTER_TTL = Duration.ofHours(12);
+    private static final Duration DEFAULT_STATS_TTL = Duration.ofHours(24);
 
     private final EspnClient api;
+    private final EspnEndpoints endpoints;
+    private final RosterCache cache;
     private final StatBasedRatingModel ratingModel;
-
-    // Teams endpoint
-    private static final String TEAMS_URL =
-            "https://site.api.espn.com/apis/site/v2/sports/basketball/nba/teams";
+    private final Duration rosterTtl;
+    private final Duration statsTtl;
 
     public EspnRosterSeeder(EspnClient api) {
+        this(api, EspnEndpoints.DEFAULT, new RosterCache(CACHE_KEY));
+    }
+
+    public EspnRosterSeeder(EspnClient api, EspnEndpoints endpoints, RosterCache cache) {
+        this(api, endpoints, cache, DEFAULT_ROSTER_TTL, DEFAULT_STATS_TTL);
+    }
+
+    public EspnRosterSeeder(EspnClient api, EspnEndpoints endpoints, RosterCache cache,
+                            Duration rosterTtl, Duration statsTtl) {
         this.api = api;
-        this.ratingModel = new StatBasedRatingModel(api);
+        this.endpoints = endpoints;
+        this.cache = cache;
+        this.ratingModel = new StatBasedRatingModel(api, endpoints);
+        if (rosterTtl.isNegative() || statsTtl.isNegative()) throw new IllegalArgumentException("TTLs must be >= 0");
+        this.rosterTtl = rosterTtl;
+        this.statsTtl = statsTtl;
     }
 
-    public void seed(TeamManagementService service, Role actor) {
-        RosterCache cache = new RosterCache(CACHE_KEY);
-
-        // 1) Try cache first
-        if (cache.exists()) {
-            System.out.println("Seeder(ESPN): cache found -> " + cache.path());
-            try {
-                seedFromCache(cache.load(), service, actor);
-                System.out.println("Seeder(ESPN): loaded from cache ✅");
-                return;
-            } catch (Exception e) {
-                System.out.println("Seeder(ESPN): cache load failed; will try live ESPN. Reason: " + e.getMessage());
-            }
-        } else {
-            System.out.println("Seeder(ESPN): no cache found, using live ESPN...");
-        }
+    /** What a {@link #seed} run fetched versus reused from the cache. */
+    public record Report(int teams, int rostersFetched, int rostersCached, int statsFetched, int statsCached,
+                         int failures) { }
 
-        ObjectNode cacheRoot = MAPPER.createObjectNode();
-        cacheRoot.put("source", "ESPN");
-        ArrayNode teamsArr = MAPPER.createArrayNode();
-        cacheRoot.set("teams", teamsArr);
+    private record RosterEntry(String playerId, String name, Position position) { }
 
-        JsonNode teamsJson = api.get(TEAMS_URL);
+    /** One team's outcome: its (possibly refreshed) roster and whether the cache must be rewritten. */
+    private record TeamResult(CachedTeam team, boolean changed, boolean rosterFetched, int statsFetched,
+                              int statsCached, String failure) { }
 
-        JsonNode teams = teamsJson.at("/sports/0/leagues/0/teams");
-        if (teams == null || !teams.isArray()) teams = teamsJson.at("/leagues/0/teams");
-        if (teams == null || !teams.isArray()) throw new RuntimeException("Unexpected ESPN teams JSON shape");
+    private record TeamFetch(TeamRef ref, CompletableFuture<TeamResult> result) { }
+
+    public Report seed(TeamManagementService service, Role actor) {
+        Instant now = Instant.now();
+        System.out.println(cache.exists()
+                ? "Seeder(ESPN): cache found -> " + cache.path() + " (refreshing stale entries)"
+                : "Seeder(ESPN): no cache found, using live ESPN...");
+
+        List<TeamRef> teams = teamList(now);
+
+        // Fire every stale roster fetch now; each roster's stats fan out as soon as it lands.
+        List<TeamFetch> fetches = new ArrayList<>();
+        for (TeamRef ref : teams) fetches.add(new TeamFetch(ref, refreshTeam(ref, cachedTeam(ref.abbr()), now)));
 
         PlayerFactory pf = new PlayerFactory();
         SalaryStrategy salary = new StandardSalaryStrategy();
 
         int idx = 0;
-        int successRosters = 0;
-
-        for (JsonNode wrapper : teams) {
-            JsonNode team = wrapper.get("team");
-            if (team == null || team.isNull()) continue;
+        int rostersFetched = 0, rostersCached = 0, statsFetched = 0, statsCached = 0, failures = 0;
 
+        // Insert in ESPN order while later rosters keep downloading.
+        for (TeamFetch f : fetches) {
             idx++;
+            TeamRef ref = f.ref();
+            System.out.printf("Loading roster %2d/%d: %s (%s)%n", idx, fetches.size(), ref.name(), ref.abbr());
+
+            TeamResult r = f.result().join();
+            if (r.failure() != null) {
+                failures++;
+                System.out.println("  ⚠ Failed roster for " + ref.abbr() + ": " + r.failure()
+                        + (r.team() != null ? " -> keeping cached roster" : ""));
+                System.out.println("  -> continuing...");
+            }
+            if (r.team() == null) {
+                service.registerTeam(actor, newTeam(ref));
+                continue;
+            }
 
-            String abbr = text(team, "abbreviation", "UNK");
-            String name = text(team, "displayName", text(team, "name", abbr));
-            String teamId = text(team, "id", abbr);
+            if (r.rosterFetched()) rostersFetched++;
+            else rostersCached++;
+            statsFetched += r.statsFetched();
+            statsCached += r.statsCached();
+
+            // One pass and one audit entry per team rather than a locked, audited call per player.
+            List<TeamManagementService.Signing> signings = new ArrayList<>(r.team().players().size());
+            for (CachedPlayer p : r.team().players()) signings.add(signing(p, pf));
+            int added = service.importTeam(actor, newTeam(ref), signings, salary).signed().size();
+            System.out.println("  ✅ Added " + added + " players"
+                    + (r.rosterFetched() ? "" : " (cached roster)") + ", " + r.statsCached() + " cached ratings");
+
+            if (r.changed()) {
+                try {
+                    cache.saveTeam(r.team());
+                } catch (Exception e) {
+                    System.out.println("  cache save failed (non-fatal): " + e.getMessage());
+                }
+            }
+        }
+        try {
+            cache.flush(); // one write for every team refreshed above
+        } catch (Exception e) {
+            System.out.println("Seeder(ESPN): cache save failed (non-fatal): " + e.getMessage());
+        }
 
-            service.registerTeam(actor, new Team(abbr, name, new SalaryCap(Money.of(140_000_000))));
-            System.out.printf("Loading roster %2d/30: %s (%s)%n", idx, name, abbr);
+        System.out.printf("Seeder(ESPN): seed complete ✅ (%d teams; rosters %d fetched/%d cached; "
+                        + "stats %d fetched/%d cached; %d failures)%n",
+                fetches.size(), rostersFetched, rostersCached, statsFetched, statsCached, failures);
+        return new Report(fetches.size(), rostersFetched, rostersCached, statsFetched, statsCached, failures);
+    }
 
-            String rosterUrl =
-                    "https://site.api.espn.com/apis/site/v2/sports/basketball/nba/teams/" + teamId + "/roster";
+    /** The cached team list while fresh; otherwise ESPN's (falling back to the cached one if that call fails). */
+    private List<TeamRef> teamList(Instant now) {
+        League cached = null;
+        try {
+            cached = cache.loadLeague().orElse(null);
+        } catch (Exception e) {
+            System.out.println("Seeder(ESPN): cache load failed; will use live ESPN. Reason: " + e.getMessage());
+        }
+        if (cached != null && isFresh(cached.fetchedAt(), rosterTtl, now)) return cached.teams();
 
-            try {
-                JsonNode rosterJson = api.get(rosterUrl);
-                ArrayNode cachedPlayers = MAPPER.createArrayNode();
+        List<TeamRef> live;
+        try {
+            live = fetchTeamList();
+        } catch (RuntimeException e) {
+            if (cached == null || cached.teams().isEmpty()) throw e;
+            System.out.println("Seeder(ESPN): team list fetch failed; using cached list. Reason: " + rootCause(e));
+            return cached.teams();
+        }
+        try {
+            cache.saveLeague(new League(now, live));
+        } catch (Exception e) {
+            System.out.println("Seeder(ESPN): cache save failed (non-fatal): " + e.getMessage());
+        }
+        return live;
+    }
 
-                PositionAssigner assigner = new PositionAssigner();
+    private List<TeamRef> fetchTeamList() {
+        JsonNode teamsJson = api.get(endpoints.teamsUrl());
 
-                int added = extractAndSeedRoster(rosterJson, service, actor, abbr, pf, salary, cachedPlayers, assigner);
+        JsonNode teams = teamsJson.at("/sports/0/leagues/0/teams");
+        if (teams == null || !teams.isArray()) teams = teamsJson.at("/leagues/0/teams");
+        if (teams == null || !teams.isArray()) throw new RuntimeException("Unexpected ESPN teams JSON shape");
 
-                ObjectNode teamCache = MAPPER.createObjectNode();
-                teamCache.put("teamId", teamId);
-                teamCache.put("abbr", abbr);
-                teamCache.put("name", name);
-                teamCache.set("players", cachedPlayers);
-                teamsArr.add(teamCache);
+        List<TeamRef> out = new ArrayList<>();
+        for (JsonNode wrapper : teams) {
+            JsonNode team = wrapper.get("team");
+            if (team == null || team.isNull()) continue;
 
-                successRosters++;
-                System.out.println("  ✅ Added " + added + " players");
+            String abbr = text(team, "abbreviation", "UNK");
+            String name = text(team, "displayName", text(team, "name", abbr));
+            String teamId = text(team, "id", abbr);
+            out.add(new TeamRef(teamId, abbr, name));
+        }
+        return out;
+    }
 
-                // Small delay between teams to reduce ESPN blocking
-                sleep(200);
+    private CachedTeam cachedTeam(String abbr) {
+        try {
+            return cache.loadTeam(abbr).orElse(null);
+        } catch (Exception e) {
+            System.out.println("Seeder(ESPN): unreadable cache entry for " + abbr + ", refetching: " + e.getMessage());
+            return null;
+        }
+    }
 
-            } catch (Exception e) {
-                System.out.println("  ⚠ Failed roster for " + abbr + ": " + rootCause(e));
-                System.out.println("  -> continuing...");
-            }
+    /** Never completes exceptionally: a failed fetch falls back to {@code cached} (or to no roster). */
+    private CompletableFuture<TeamResult> refreshTeam(TeamRef ref, CachedTeam cached, Instant now) {
+        if (cached != null && isFresh(cached.fetchedAt(), rosterTtl, now)) {
+            List<RosterEntry> entries = new ArrayList<>(cached.players().size());
+            for (CachedPlayer p : cached.players()) entries.add(new RosterEntry(p.playerId(), p.name(), p.position()));
+            return rateStale(ref, cached, entries, cached.fetchedAt(), false, now);
         }
+        return api.getAsync(endpoints.rosterUrl(ref.teamId()))
+                .thenApply(EspnRosterSeeder::extractRoster)
+                .thenCompose(entries -> rateStale(ref, cached, entries, now, true, now))
+                .exceptionally(e -> new TeamResult(cached, false, false, 0, 0, rootCause(e)));
+    }
 
-        if (successRosters > 0) {
-            try {
-                cache.save(cacheRoot);
-                System.out.println("Seeder(ESPN): saved cache -> " + cache.path());
-            } catch (Exception e) {
-                System.out.println("Seeder(ESPN): cache save failed (non-fatal): " + e.getMessage());
+    /**
+     * Rates the roster's players that have no fresh, successful cached rating; everyone
+     * else reuses theirs. A failed stats call keeps the last good rating if there is one.
+     */
+    private CompletableFuture<TeamResult> rateStale(TeamRef ref, CachedTeam cached, List<RosterEntry> entries,
+                                                    Instant fetchedAt, boolean rosterFetched, Instant now) {
+        Map<String, CachedPlayer> known = cached == null ? Map.of() : cached.byPlayerId();
+        List<CompletableFuture<CachedPlayer>> players = new ArrayList<>(entries.size());
+        int fetched = 0;
+        for (RosterEntry e : entries) {
+            CachedPlayer prev = known.get(e.playerId());
+            if (prev != null && prev.rated() && isFresh(prev.ratedAt(), statsTtl, now)) {
+                players.add(CompletableFuture.completedFuture(new CachedPlayer(e.playerId(), e.name(), e.position(),
+                        prev.offense(), prev.defense(), true, prev.ratedAt())));
+                continue;
             }
-        } else {
-            System.out.println("Seeder(ESPN): live fetch failed for all rosters.");
+            fetched++;
+            players.add(ratingModel.rateAsync(e.playerId()).thenApply(r -> rated(e, r, prev, now)));
         }
+        int statsFetched = fetched;
+        return CompletableFuture.allOf(players.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<CachedPlayer> roster = players.stream().map(CompletableFuture::join).toList();
+            CachedTeam team = new CachedTeam(ref, fetchedAt, RosterCache.rosterHash(roster), roster);
+            boolean changed = cached == null || rosterFetched || statsFetched > 0
+                    || !team.rosterHash().equals(cached.rosterHash()) || !ref.equals(cached.team());
+            return new TeamResult(team, changed, rosterFetched, statsFetched, roster.size() - statsFetched, null);
+        });
+    }
 
-        System.out.println("Seeder(ESPN): seed complete ✅ (" + successRosters + "/30 rosters)");
+    private static CachedPlayer rated(RosterEntry e, StatBasedRatingModel.Result r, CachedPlayer prev, Instant now) {
+        if (r.ok()) {
+            System.out.printf("    ✅ Stats OK: %s (%s) -> O:%d D:%d%n",
+                    e.name(), e.playerId(), r.rating().offense(), r.rating().defense());
+            return new CachedPlayer(e.playerId(), e.name(), e.position(), r.rating().offense(), r.rating().defense(),
+                    true, now);
+        }
+        if (prev != null && prev.rated()) {
+            System.out.printf("    ⚠ Stats FAIL: %s (%s) -> %s -> keeping cached O:%d D:%d%n",
+                    e.name(), e.playerId(), r.reason(), prev.offense(), prev.defense());
+            return new CachedPlayer(e.playerId(), e.name(), e.position(), prev.offense(), prev.defense(), true,
+                    prev.ratedAt());
+        }
+        // fallback so the system still runs even if ESPN blocks stats; retried on the next refresh
+        System.out.printf("    ⚠ Stats FAIL: %s (%s) -> %s -> fallback O:%d D:%d%n", e.name(), e.playerId(), r.reason(), 0, 0);
+        return new CachedPlayer(e.playerId(), e.name(), e.position(), 0, 0, false, now);
     }
 
-    private int extractAndSeedRoster(JsonNode rosterJson,
-                                     TeamManagementService service,
-                                     Role actor,
-                                     String teamAbbr,
-                                     PlayerFactory pf,
-                                     SalaryStrategy salary,
-                                     ArrayNode cachedPlayers,
-                                     PositionAssigner assigner) {
+    private static boolean isFresh(Instant fetchedAt, Duration ttl, Instant now) {
+        return fetchedAt.plus(ttl).isAfter(now);
+    }
 
+    private static List<RosterEntry> extractRoster(JsonNode rosterJson) {
         JsonNode athletes = rosterJson.get("athletes");
         if (athletes == null || athletes.isNull()) athletes = rosterJson.at("/team/athletes");
 
-        int added = 0;
+        List<RosterEntry> out = new ArrayList<>();
+        PositionAssigner assigner = new PositionAssigner();
 
         if (athletes != null && athletes.isArray()) {
             for (JsonNode groupOrAthlete : athletes) {
@@ -147,66 +284,44 @@ public final class EspnRosterSeeder {
                 if (groupOrAthlete.has("items") && groupOrAthlete.get("items").isArray()) {
                     String groupPosRaw = readPositionRaw(groupOrAthlete);
                     for (JsonNode item : groupOrAthlete.get("items")) {
-                        if (seedOnePlayer(service, actor, teamAbbr, item, groupPosRaw, pf, salary, cachedPlayers, assigner)) {
-                            added++;
-                        }
+                        RosterEntry e = readEntry(item, groupPosRaw, assigner);
+                        if (e != null) out.add(e);
                     }
                 } else {
-                    if (seedOnePlayer(service, actor, teamAbbr, groupOrAthlete, "", pf, salary, cachedPlayers, assigner)) {
-                        added++;
-                    }
+                    RosterEntry e = readEntry(groupOrAthlete, "", assigner);
+                    if (e != null) out.add(e);
                 }
             }
         }
 
-        return added;
+        return out;
     }
 
-    private boolean seedOnePlayer(TeamManagementService service,
-                                  Role actor,
-                                  String teamAbbr,
-                                  JsonNode node,
-                                  String groupPosRaw,
-                                  PlayerFactory pf,
-                                  SalaryStrategy salary,
-                                  ArrayNode cachedPlayers,
-                                  PositionAssigner assigner) {
-
+    private static RosterEntry readEntry(JsonNode node, String groupPosRaw, PositionAssigner assigner) {
         JsonNode athlete = node.has("athlete") ? node.get("athlete") : node;
-        if (athlete == null || athlete.isNull()) return false;
+        if (athlete == null || athlete.isNull()) return null;
 
         String pid = text(athlete, "id", null);
         String name = text(athlete, "displayName", null);
-        if (pid == null || name == null) return false;
+        if (pid == null || name == null) return null;
 
         String posRaw = readPositionRaw(athlete);
         if (posRaw.isBlank()) posRaw = (groupPosRaw == null) ? "" : groupPosRaw;
-        Position pos = assigner.assign(posRaw);
-
-        // --- NEW: per-player stat fetch with explicit OK/FAIL output ---
-        int off;
-        int def;
-
-        StatBasedRatingModel.Result rr = ratingModel.rate(pid);
-        if (rr.ok()) {
-            off = rr.rating().offense();
-            def = rr.rating().defense();
-            System.out.printf("    ✅ Stats OK: %s (%s) -> O:%d D:%d%n", name, pid, off, def);
-        } else {
-            // fallback so the system still runs even if ESPN blocks stats
-            off = 0;
-            def = 0;
-            System.out.printf("    ⚠ Stats FAIL: %s (%s) -> %s -> fallback O:%d D:%d%n",
-                    name, pid, rr.reason(), off, def);
-        }
+        return new RosterEntry(pid, name, assigner.assign(posRaw));
+    }
+
+    private static Team newTeam(TeamRef ref) {
+        return new Team(ref.abbr(), ref.name(), new SalaryCap(Money.of(140_000_000)));
+    }
 
+    private static TeamManagementService.Signing signing(CachedPlayer cp, PlayerFactory pf) {
         PlayerBuilder b = new PlayerBuilder()
-                .playerId(pid)
-                .name(name)
-                .position(pos)
+                .playerId(cp.playerId())
+                .name(cp.name())
+                .position(cp.position())
                 .age(26)
-                .offense(off)
-                .defense(def);
+                .offense(cp.offense())
+                .defense(cp.defense());
 
         Player p = pf.create(ExperienceLevel.VETERAN, b);
 
@@ -217,26 +332,8 @@ public final class EspnRosterSeeder {
                 .years(1)
                 .build();
 
-        try {
-            service.signPlayer(actor, teamAbbr, p, c, salary);
-        } catch (Exception ignored) {
-            // cap/validation failures -> player not added
-            return false;
-        }
-
-        // Cache now stores the computed rating too (so next run is instant)
-        ObjectNode pj = MAPPER.createObjectNode();
-        pj.put("playerId", pid);
-        pj.put("name", name);
-        pj.put("pos", pos.name());
-        pj.put("off", off);
-        pj.put("def", def);
-        cachedPlayers.add(pj);
-
-        // small delay between player stats requests to reduce ESPN rate limiting
-        sleep(40);
-
-        return true;
+        // cap/validation failures are skipped by importTeam -> player not added
+        return new TeamManagementService.Signing(p, c);
     }
 
     private static String readPositionRaw(JsonNode node) {
@@ -257,49 +354,6 @@ public final class EspnRosterSeeder {
         return "";
     }
 
-    private void seedFromCache(JsonNode root, TeamManagementService service, Role actor) {
-        JsonNode teams = root.get("teams");
-        if (teams == null || !teams.isArray()) throw new IllegalArgumentException("Bad cache format");
-
-        for (JsonNode t : teams) {
-            String abbr = t.get("abbr").asText();
-            String name = t.get("name").asText();
-            service.registerTeam(actor, new Team(abbr, name, new SalaryCap(Money.of(140_000_000))));
-        }
-
-        PlayerFactory pf = new PlayerFactory();
-        SalaryStrategy salary = new StandardSalaryStrategy();
-
-        for (JsonNode t : teams) {
-            String abbr = t.get("abbr").asText();
-            for (JsonNode p : t.get("players")) {
-                String playerId = p.get("playerId").asText();
-                String name = p.get("name").asText();
-                Position pos = Position.valueOf(p.get("pos").asText());
-                int off = p.get("off").asInt();
-                int def = p.get("def").asInt();
-
-                PlayerBuilder b = new PlayerBuilder()
-                        .playerId(playerId)
-                        .name(name)
-                        .position(pos)
-                        .age(26)
-                        .offense(off)
-                        .defense(def);
-
-                Player player = pf.create(ExperienceLevel.VETERAN, b);
-
-                Contract c = Contract.builder()
-                        .totalValue(Money.of(5_000_000))
-                        .years(1)
-                        .build();
-
-                try { service.signPlayer(actor, abbr, player, c, salary); }
-                catch (Exception ignored) {}
-            }
-        }
-    }
-
     private static String text(JsonNode node, String field, String def) {
         JsonNode v = node.get(field);
         return (v == null || v.isNull()) ? def : v.asText(def);
@@ -341,11 +395,6 @@ public final class EspnRosterSeeder {
         return min + (h % (max - min + 1));
     }
 
-    private static void sleep(long ms) {
-        try { Thread.sleep(ms); }
-        catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
-    }
-
     private static String rootCause(Throwable t) {
         Throwable cur = t;
         while (cur.getCause() != null) cur = cur.getCause();
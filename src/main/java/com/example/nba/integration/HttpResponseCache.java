@@ -0,0 +1,437 @@
+package com.example.nba.integration;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Per-URL on-disk cache of 200 responses for {@link EspnClient}.
+ *
+ * Each URL is stored as {@code <sha256>.body} plus a small {@code <sha256>.meta}
+ * holding the URL, {@code ETag}, {@code Last-Modified} and expiry. A response is
+ * fresh for its {@code Cache-Control: max-age} (or {@code defaultTtl} when the
+ * server gives none; {@code no-cache} means always revalidate, {@code no-store}
+ * means never stored). Fresh entries are served without touching the network;
+ * stale ones are revalidated with {@code If-None-Match}/{@code If-Modified-Since},
+ * and a 304 just extends them.
+ *
+ * Bodies are bounded by {@code maxBytes} with least-recently-used eviction. Recency
+ * survives restarts through the body file's modification time. Bodies are written
+ * to a temp file while the caller parses them and only published (atomic move)
+ * once the whole body has arrived and parsed.
+ */
+public final class HttpResponseCache {
+    private static final String BODY = ".body";
+    private static final String META = ".meta";
+
+    public record Stats(long hits, long revalidated, long misses, long stored, long evicted, long bytes,
+                        int entries) { }
+
+    /** A cached response; replaced, never mutated, when revalidated. */
+    static final class Entry {
+        final String url;
+        final String key;
+        final String etag;          // null if the server sent none
+        final String lastModified;  // ditto
+        final long expiresAtMillis;
+        final long bytes;
+
+        Entry(String url, String key, String etag, String lastModified, long expiresAtMillis, long bytes) {
+            this.url = url;
+            this.key = key;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAtMillis = expiresAtMillis;
+            this.bytes = bytes;
+        }
+
+        boolean isFresh(long nowMillis) { return nowMillis < expiresAtMillis; }
+        boolean canRevalidate() { return etag != null || lastModified != null; }
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+    private final Duration defaultTtl;
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(64, 0.75f, true); // access order = LRU
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong tmpSeq = new AtomicLong();
+
+    private HttpResponseCache(Builder b) {
+        this.dir = b.dir;
+        this.maxBytes = b.maxBytes;
+        this.defaultTtl = b.defaultTtl;
+        try {
+            Files.createDirectories(dir);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open HTTP cache: " + dir, e);
+        }
+    }
+
+    public static Builder builder(Path dir) { return new Builder(dir); }
+
+    public static final class Builder {
+        private final Path dir;
+        private long maxBytes = 64L * 1024 * 1024;
+        private Duration defaultTtl = Duration.ofHours(1);
+
+        private Builder(Path dir) {
+            this.dir = Objects.requireNonNull(dir);
+        }
+
+        /** Upper bound on the summed size of cached bodies. */
+        public Builder maxBytes(long bytes) {
+            if (bytes <= 0) throw new IllegalArgumentException("maxBytes must be > 0");
+            this.maxBytes = bytes;
+            return this;
+        }
+
+        /** Freshness for responses that carry no {@code max-age}. */
+        public Builder defaultTtl(Duration ttl) {
+            if (ttl == null || ttl.isNegative()) throw new IllegalArgumentException("defaultTtl must be >= 0");
+            this.defaultTtl = ttl;
+            return this;
+        }
+
+        public HttpResponseCache build() { return new HttpResponseCache(this); }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.get(), revalidated.get(), misses.get(), stored.get(), evicted.get(), totalBytes,
+                index.size());
+    }
+
+    /** Drops every entry, on disk too. */
+    public synchronized void clear() {
+        for (Entry e : new ArrayList<>(index.values())) remove(e);
+    }
+
+    // ---- used by EspnClient ----
+
+    /**
+     * The entry for {@code url} if it is fresh, otherwise null. Called once per logical
+     * request, so it does the counting: a hit if fresh, a miss if there is nothing to
+     * revalidate either (a revalidation is counted when its 304 arrives).
+     */
+    synchronized Entry fresh(String url) {
+        Entry e = index.get(key(url));
+        if (e == null || !e.isFresh(System.currentTimeMillis())) {
+            if (e == null || !e.canRevalidate()) misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        touch(e);
+        return e;
+    }
+
+    /** The (stale) entry to revalidate for {@code url}, or null. Looked up again on every attempt. */
+    synchronized Entry revalidatable(String url) {
+        Entry e = index.get(key(url));
+        return e != null && e.canRevalidate() ? e : null;
+    }
+
+    /** Adds conditional headers for {@code e}. */
+    static void addValidators(HttpRequest.Builder req, Entry e) {
+        if (e.etag != null) req.header("If-None-Match", e.etag);
+        if (e.lastModified != null) req.header("If-Modified-Since", e.lastModified);
+    }
+
+    /** Records a 304 for {@code e}: new expiry (and validators, if re-sent) from {@code headers}. */
+    synchronized Entry revalidated(Entry e, HttpHeaders headers) {
+        Entry current = index.get(e.key);
+        if (current == null) return null; // evicted meanwhile; caller refetches
+        long expires = expiry(headers);
+        Entry updated = new Entry(current.url, current.key,
+                headers.firstValue("ETag").orElse(current.etag),
+                headers.firstValue("Last-Modified").orElse(current.lastModified),
+                expires, current.bytes);
+        try {
+            writeMeta(updated);
+        } catch (IOException ex) {
+            remove(current);
+            return null;
+        }
+        index.put(updated.key, updated);
+        revalidated.incrementAndGet();
+        touch(updated);
+        return updated;
+    }
+
+    InputStream open(Entry e) throws IOException {
+        return Files.newInputStream(dir.resolve(e.key + BODY));
+    }
+
+    /** Drops {@code url} (e.g. after its body failed to read back). */
+    synchronized void invalidate(String url) {
+        Entry e = index.get(key(url));
+        if (e != null) remove(e);
+    }
+
+    /**
+     * Wraps a 200 body so it is copied to disk as it is read, or returns null if the
+     * response must not be stored. Call {@link Tee#commit()} once the caller succeeded.
+     */
+    Tee tee(String url, HttpHeaders headers, InputStream body) throws IOException {
+        if (directives(headers).containsKey("no-store")) return null;
+        String key = key(url);
+        Path tmp = dir.resolve(key + "." + tmpSeq.incrementAndGet() + ".tmp");
+        return new Tee(body, Files.newOutputStream(tmp), tmp, url, key, headers);
+    }
+
+    /** Copies what the caller reads to a temp file; publishes it as the entry on commit. */
+    final class Tee extends FilterInputStream {
+        private final OutputStream out;
+        private final Path tmp;
+        private final String url;
+        private final String key;
+        private final HttpHeaders headers;
+        private long written;
+        private boolean done;
+
+        private Tee(InputStream in, OutputStream out, Path tmp, String url, String key, HttpHeaders headers) {
+            super(in);
+            this.out = out;
+            this.tmp = tmp;
+            this.url = url;
+            this.key = key;
+            this.headers = headers;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                out.write(b);
+                written++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                out.write(b, off, n);
+                written += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            byte[] buf = new byte[(int) Math.min(n, 8192)];
+            while (skipped < n) {
+                int r = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+                if (r < 0) break;
+                skipped += r;
+            }
+            return skipped;
+        }
+
+        @Override public boolean markSupported() { return false; }
+
+        /** Reads whatever the caller left unread, then publishes the body. */
+        void commit() throws IOException {
+            byte[] buf = new byte[8192];
+            while (read(buf, 0, buf.length) >= 0) { }
+            out.close();
+            done = true;
+            store(this);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!done) {
+                    out.close();
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        }
+    }
+
+    // ---- internals ----
+
+    private synchronized void store(Tee t) throws IOException {
+        if (t.written > maxBytes) {
+            Files.deleteIfExists(t.tmp);
+            return;
+        }
+        Entry old = index.remove(t.key);
+        if (old != null) totalBytes -= old.bytes;
+
+        Entry e = new Entry(t.url, t.key, t.headers.firstValue("ETag").orElse(null),
+                t.headers.firstValue("Last-Modified").orElse(null), expiry(t.headers), t.written);
+        Files.move(t.tmp, dir.resolve(t.key + BODY), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        writeMeta(e);
+        index.put(e.key, e);
+        totalBytes += e.bytes;
+        stored.incrementAndGet();
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        Iterator<Entry> it = index.values().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Entry lru = it.next();
+            it.remove();
+            totalBytes -= lru.bytes;
+            deleteFiles(lru.key);
+            evicted.incrementAndGet();
+        }
+    }
+
+    private void remove(Entry e) {
+        if (index.remove(e.key) != null) totalBytes -= e.bytes;
+        deleteFiles(e.key);
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(dir.resolve(key + META));
+            Files.deleteIfExists(dir.resolve(key + BODY));
+        } catch (IOException ignored) {
+            // An orphaned file is dropped on the next load.
+        }
+    }
+
+    private void touch(Entry e) {
+        try {
+            Files.setLastModifiedTime(dir.resolve(e.key + BODY), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // Only affects LRU order after a restart.
+        }
+    }
+
+    private long expiry(HttpHeaders headers) {
+        Map<String, String> cc = directives(headers);
+        long ttlMillis = defaultTtl.toMillis();
+        if (cc.containsKey("no-cache")) {
+            ttlMillis = 0;
+        } else if (cc.containsKey("max-age")) {
+            try {
+                ttlMillis = Math.max(0, Long.parseLong(cc.get("max-age"))) * 1000;
+            } catch (NumberFormatException ignored) {
+                // keep the default
+            }
+        }
+        return System.currentTimeMillis() + ttlMillis;
+    }
+
+    private static Map<String, String> directives(HttpHeaders headers) {
+        Map<String, String> out = new LinkedHashMap<>();
+        for (String value : headers.allValues("Cache-Control")) {
+            for (String part : value.split(",")) {
+                String p = part.trim().toLowerCase(Locale.ROOT);
+                if (p.isEmpty()) continue;
+                int eq = p.indexOf('=');
+                if (eq < 0) out.put(p, "");
+                else out.put(p.substring(0, eq).trim(), p.substring(eq + 1).trim().replace("\"", ""));
+            }
+        }
+        return out;
+    }
+
+    private void writeMeta(Entry e) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("url", e.url);
+        if (e.etag != null) p.setProperty("etag", e.etag);
+        if (e.lastModified != null) p.setProperty("lastModified", e.lastModified);
+        p.setProperty("expiresAt", Long.toString(e.expiresAtMillis));
+        p.setProperty("bytes", Long.toString(e.bytes));
+        Path tmp = dir.resolve(e.key + META + "." + tmpSeq.incrementAndGet() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            p.store(out, null);
+        }
+        Files.move(tmp, dir.resolve(e.key + META), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Rebuilds the index from disk, least recently used first; drops temp files and orphans. */
+    private void load() throws IOException {
+        record Found(Entry entry, FileTime lastUsed) { }
+        List<Found> found = new ArrayList<>();
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.toList();
+        }
+        for (Path f : files) {
+            String name = f.getFileName().toString();
+            if (name.endsWith(".tmp")) {
+                Files.deleteIfExists(f);
+                continue;
+            }
+            if (!name.endsWith(META)) continue;
+            String key = name.substring(0, name.length() - META.length());
+            Path body = dir.resolve(key + BODY);
+            try {
+                Properties p = new Properties();
+                try (InputStream in = Files.newInputStream(f)) {
+                    p.load(in);
+                }
+                long bytes = Long.parseLong(p.getProperty("bytes"));
+                if (Files.size(body) != bytes || !key.equals(key(p.getProperty("url")))) throw new IOException("stale");
+                Entry e = new Entry(p.getProperty("url"), key, p.getProperty("etag"), p.getProperty("lastModified"),
+                        Long.parseLong(p.getProperty("expiresAt")), bytes);
+                found.add(new Found(e, Files.getLastModifiedTime(body)));
+            } catch (IOException | RuntimeException e) {
+                deleteFiles(key);
+            }
+        }
+        for (Path f : files) {
+            String name = f.getFileName().toString();
+            if (name.endsWith(BODY) && !Files.exists(dir.resolve(name.substring(0, name.length() - BODY.length()) + META))) {
+                Files.deleteIfExists(f);
+            }
+        }
+        found.sort(Comparator.comparing(Found::lastUsed));
+        for (Found f : found) {
+            index.put(f.entry.key, f.entry);
+            totalBytes += f.entry.bytes;
+        }
+        evictOverBudget();
+    }
+
+    private static String key(String url) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(d);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
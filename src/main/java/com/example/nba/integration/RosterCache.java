@@ -1,52 +1,284 @@
 package com.example.nba.integration;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import com.example.nba.domain.Position;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+/**
+ * Per-team roster cache with fetch timestamps, so the seeder can refresh only what
+ * is stale: the team list in ESPN order, and per team its roster, when it was
+ * fetched, a hash of the roster, and each player's rating with its own timestamp.
+ *
+ * Stored as one binary file, {@code cache/rosters_<key>.bin} (see
+ * {@link RosterCacheFormat}), memory-mapped and decoded once on first use. Saves
+ * only update memory; {@link #flush} writes everything changed since in one
+ * rewrite (temp file, fsync, atomic move), so a refresh costs one write however
+ * many teams changed and a crash leaves the file at its last flushed state.
+ * {@link #exportJson} writes the same data as readable JSON for debugging.
+ *
+ * Older JSON caches are still read until the first save replaces them: the per-team
+ * layout ({@code rosters_<key>/league.json} + {@code team_<abbr>.json}, which is also
+ * what {@link #exportJson} writes) and the single {@code rosters_<key>.json} (read as
+ * fetched at the epoch, i.e. stale but usable).
+ */
 public final class RosterCache {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private final Path cacheFile;
+    private static final String LEAGUE = "league.json";
+
+    public record TeamRef(String teamId, String abbr, String name) {
+        public TeamRef {
+            Objects.requireNonNull(abbr);
+            Objects.requireNonNull(name);
+        }
+    }
+
+    /** {@code rated} is false when the stats call failed and the ratings are the fallback. */
+    public record CachedPlayer(String playerId, String name, Position position, int offense, int defense,
+                               boolean rated, Instant ratedAt) {
+        public CachedPlayer {
+            Objects.requireNonNull(playerId);
+            Objects.requireNonNull(name);
+            Objects.requireNonNull(position);
+            Objects.requireNonNull(ratedAt);
+        }
+    }
+
+    public record CachedTeam(TeamRef team, Instant fetchedAt, String rosterHash, List<CachedPlayer> players) {
+        public CachedTeam {
+            Objects.requireNonNull(team);
+            Objects.requireNonNull(fetchedAt);
+            Objects.requireNonNull(rosterHash);
+            players = List.copyOf(players);
+        }
+
+        public Map<String, CachedPlayer> byPlayerId() {
+            Map<String, CachedPlayer> out = new LinkedHashMap<>();
+            for (CachedPlayer p : players) out.put(p.playerId(), p);
+            return out;
+        }
+    }
+
+    public record League(Instant fetchedAt, List<TeamRef> teams) {
+        public League {
+            Objects.requireNonNull(fetchedAt);
+            teams = List.copyOf(teams);
+        }
+    }
+
+    private final Path file;
+    private final Path jsonDir;
+    private final Path legacyFile;
+    private RosterCacheFormat.Contents contents; // loaded on first use
+    private boolean dirty;                        // saved since the last flush
 
     /**
-     * cache/rosters_<key>.json
-     * example: cache/rosters_espn.json
+     * cache/rosters_<key>.bin
+     * example: cache/rosters_espn.bin
      */
     public RosterCache(String key) {
-        Path dir = Paths.get("cache");
-        this.cacheFile = dir.resolve("rosters_" + key + ".json");
+        this(Paths.get("cache"), key);
+    }
+
+    public RosterCache(Path dir, String key) {
+        this.file = dir.resolve("rosters_" + key + ".bin");
+        this.jsonDir = dir.resolve("rosters_" + key);
+        this.legacyFile = dir.resolve("rosters_" + key + ".json");
     }
 
     public boolean exists() {
-        return Files.exists(cacheFile);
+        return Files.exists(file) || Files.exists(jsonDir.resolve(LEAGUE)) || Files.exists(legacyFile);
+    }
+
+    public Path path() {
+        return file;
+    }
+
+    /** The cached team list, if any. */
+    public synchronized Optional<League> loadLeague() {
+        return Optional.ofNullable(contents().league());
+    }
+
+    /** The cached roster of team {@code abbr}, if any. */
+    public synchronized Optional<CachedTeam> loadTeam(String abbr) {
+        return Optional.ofNullable(contents().teams().get(abbr));
+    }
+
+    /** Replaces the team list; written on the next {@link #flush}. */
+    public synchronized void saveLeague(League league) {
+        RosterCacheFormat.Contents c = contents();
+        contents = new RosterCacheFormat.Contents(league, c.teams());
+        dirty = true;
+    }
+
+    /** Replaces one team's roster; written on the next {@link #flush}. */
+    public synchronized void saveTeam(CachedTeam team) {
+        RosterCacheFormat.Contents c = contents();
+        Map<String, CachedTeam> teams = new LinkedHashMap<>(c.teams());
+        teams.put(team.team().abbr(), team);
+        contents = new RosterCacheFormat.Contents(c.league(), teams);
+        dirty = true;
     }
 
-    public JsonNode load() {
+    /** Writes every save since the last flush to disk in one rewrite; a no-op if nothing changed. */
+    public synchronized void flush() {
+        if (!dirty) return;
         try {
-            return MAPPER.readTree(Files.readString(cacheFile));
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            RosterCacheFormat.write(file, contents);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load cache: " + cacheFile, e);
+            throw new UncheckedIOException("Failed to save cache: " + file, e);
         }
+        dirty = false;
     }
 
-    public void save(JsonNode root) {
+    /**
+     * Writes the cache as pretty-printed JSON under {@code dir}: {@code league.json} plus
+     * one {@code team_<abbr>.json} per team. A cache with no binary file reads this back.
+     */
+    public synchronized void exportJson(Path dir) {
+        RosterCacheFormat.Contents c = contents();
+        if (c.league() != null) {
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("source", "ESPN");
+            root.put("fetchedAt", c.league().fetchedAt().toString());
+            ArrayNode teams = root.putArray("teams");
+            for (TeamRef t : c.league().teams()) writeTeamRef(teams.addObject(), t);
+            writeJson(dir, dir.resolve(LEAGUE), root);
+        }
+        for (CachedTeam team : c.teams().values()) {
+            ObjectNode root = MAPPER.createObjectNode();
+            writeTeamRef(root, team.team());
+            root.put("fetchedAt", team.fetchedAt().toString());
+            root.put("rosterHash", team.rosterHash());
+            ArrayNode players = root.putArray("players");
+            for (CachedPlayer p : team.players()) {
+                ObjectNode pj = players.addObject();
+                pj.put("playerId", p.playerId());
+                pj.put("name", p.name());
+                pj.put("pos", p.position().name());
+                pj.put("off", p.offense());
+                pj.put("def", p.defense());
+                pj.put("rated", p.rated());
+                pj.put("ratedAt", p.ratedAt().toString());
+            }
+            writeJson(dir, teamFile(dir, team.team().abbr()), root);
+        }
+    }
+
+    private RosterCacheFormat.Contents contents() {
+        if (contents != null) return contents;
+        try {
+            if (Files.exists(file)) contents = RosterCacheFormat.read(file);
+            else if (Files.exists(jsonDir.resolve(LEAGUE))) contents = importJsonDir();
+            else if (Files.exists(legacyFile)) contents = importLegacy();
+            else contents = new RosterCacheFormat.Contents(null, Map.of());
+        } catch (IOException | RuntimeException e) {
+            // Unreadable: start empty so the next refresh rewrites it, but tell this caller.
+            contents = new RosterCacheFormat.Contents(null, Map.of());
+            throw new IllegalStateException("Failed to load cache: " + file, e);
+        }
+        return contents;
+    }
+
+    private RosterCacheFormat.Contents importJsonDir() throws IOException {
+        JsonNode root = MAPPER.readTree(jsonDir.resolve(LEAGUE).toFile());
+        List<TeamRef> refs = new ArrayList<>();
+        for (JsonNode t : root.get("teams")) refs.add(teamRef(t));
+        Map<String, CachedTeam> teams = new LinkedHashMap<>();
+        try (Stream<Path> files = Files.list(jsonDir)) {
+            for (Path f : files.filter(f -> f.getFileName().toString().startsWith("team_")).sorted().toList()) {
+                CachedTeam t = readTeam(MAPPER.readTree(f.toFile()), null);
+                teams.put(t.team().abbr(), t);
+            }
+        }
+        return new RosterCacheFormat.Contents(new League(Instant.parse(root.get("fetchedAt").asText()), refs), teams);
+    }
+
+    private RosterCacheFormat.Contents importLegacy() throws IOException {
+        List<TeamRef> refs = new ArrayList<>();
+        Map<String, CachedTeam> teams = new LinkedHashMap<>();
+        for (JsonNode t : MAPPER.readTree(legacyFile.toFile()).get("teams")) {
+            CachedTeam team = readTeam(t, Instant.EPOCH);
+            refs.add(team.team());
+            teams.put(team.team().abbr(), team);
+        }
+        return new RosterCacheFormat.Contents(new League(Instant.EPOCH, refs), teams);
+    }
+
+    /** Order-sensitive hash of a roster's identity (ids, names, positions), not its ratings. */
+    public static String rosterHash(List<CachedPlayer> players) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (CachedPlayer p : players) {
+                md.update((p.playerId() + '\u0000' + p.name() + '\u0000' + p.position().name() + '\n')
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(md.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path teamFile(Path dir, String abbr) {
+        // Abbreviations are short uppercase codes; anything else is made file-safe.
+        return dir.resolve("team_" + abbr.replaceAll("[^A-Za-z0-9_-]", "_") + ".json");
+    }
+
+    private static void writeJson(Path dir, Path target, JsonNode root) {
         try {
-            Files.createDirectories(cacheFile.getParent());
-            Files.writeString(
-                    cacheFile,
-                    MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root)
-            );
+            Files.createDirectories(dir);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(tmp, MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root));
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to save cache: " + cacheFile, e);
+            throw new UncheckedIOException("Failed to save cache: " + target, e);
         }
     }
 
-    public Path path() {
-        return cacheFile;
+    private static TeamRef teamRef(JsonNode t) {
+        String abbr = t.get("abbr").asText();
+        return new TeamRef(t.has("teamId") ? t.get("teamId").asText() : abbr, abbr, t.get("name").asText());
+    }
+
+    private static void writeTeamRef(ObjectNode out, TeamRef t) {
+        out.put("teamId", t.teamId());
+        out.put("abbr", t.abbr());
+        out.put("name", t.name());
+    }
+
+    /** @param legacyTime when non-null, the entry is pre-split and every timestamp is this */
+    private static CachedTeam readTeam(JsonNode t, Instant legacyTime) {
+        List<CachedPlayer> players = new ArrayList<>();
+        for (JsonNode p : t.get("players")) {
+            players.add(new CachedPlayer(p.get("playerId").asText(), p.get("name").asText(),
+                    Position.valueOf(p.get("pos").asText()), p.get("off").asInt(), p.get("def").asInt(),
+                    legacyTime != null || p.get("rated").asBoolean(),
+                    legacyTime != null ? legacyTime : Instant.parse(p.get("ratedAt").asText())));
+        }
+        Instant fetchedAt = legacyTime != null ? legacyTime : Instant.parse(t.get("fetchedAt").asText());
+        String hash = legacyTime != null ? rosterHash(players) : t.get("rosterHash").asText();
+        return new CachedTeam(teamRef(t), fetchedAt, hash, players);
     }
 }
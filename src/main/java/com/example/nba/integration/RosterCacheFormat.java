@@ -0,0 +1,231 @@
+package com.example.nba.integration;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import com.example.nba.domain.Position;
+import com.example.nba.integration.RosterCache.CachedPlayer;
+import com.example.nba.integration.RosterCache.CachedTeam;
+import com.example.nba.integration.RosterCache.League;
+import com.example.nba.integration.RosterCache.TeamRef;
+
+/**
+ * Binary form of the roster cache, memory-mapped on load and decoded straight into
+ * the cache records with no intermediate tree.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   magic "NBRC", u16 version, u16 reserved, i64 league fetchedAt (epoch ms, or -1
+ *            for no team list), i32 teams, i32 players, i32 strings
+ *   teams    teams x 40 bytes:  i32 teamId, i32 abbr, i32 name, i32 rosterHash (string
+ *            indexes), i32 flags (bit 0: in the team list, bit 1: roster cached), i32 firstPlayer, i32 playerCount,
+ *            i64 fetchedAt, 4 bytes padding
+ *   players  players x 24 bytes: i32 playerId, i32 name (string indexes), u8 position
+ *            ordinal, u8 rated, i16 offense, i16 defense, 2 bytes padding, i64 ratedAt
+ *   strings  strings x (i32 UTF-8 length, bytes), deduplicated
+ *   trailer  i32 CRC32 of everything before it
+ * </pre>
+ * Teams are stored in team-list order, followed by cached teams no longer listed.
+ */
+final class RosterCacheFormat {
+    static final int MAGIC = 0x4E425243; // "NBRC"
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + 4 + 4;
+    private static final int TEAM_BYTES = 40;
+    private static final int PLAYER_BYTES = 24;
+    private static final int IN_LEAGUE = 1;
+    private static final int HAS_ROSTER = 2;
+
+    private static final Position[] POSITIONS = Position.values();
+
+    /** Decoded file: the team list (null if none was cached) and every cached team by abbreviation. */
+    record Contents(League league, Map<String, CachedTeam> teams) { }
+
+    private RosterCacheFormat() { }
+
+    static Contents read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES + Integer.BYTES) throw new IOException("roster cache truncated: " + file);
+            if (size > Integer.MAX_VALUE) throw new IOException("roster cache too large: " + file);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return decode(buf, file);
+        }
+    }
+
+    static Contents decode(ByteBuffer buf, Path source) throws IOException {
+        int end = buf.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buf.duplicate().position(0).limit(end));
+        if ((int) crc.getValue() != buf.getInt(end)) throw new IOException("roster cache checksum mismatch: " + source);
+
+        try {
+            ByteBuffer in = buf.duplicate().position(0).limit(end);
+            if (in.getInt() != MAGIC) throw new IOException("not a roster cache: " + source);
+            int version = Short.toUnsignedInt(in.getShort());
+            if (version != VERSION) throw new IOException("unsupported roster cache version " + version);
+            in.getShort();
+            long leagueFetchedAt = in.getLong();
+            int teams = in.getInt();
+            int players = in.getInt();
+            int strings = in.getInt();
+
+            // Strings first (they sit after the fixed-width records), then walk the records.
+            int teamsAt = in.position();
+            int playersAt = teamsAt + teams * TEAM_BYTES;
+            String[] table = new String[strings];
+            in.position(playersAt + players * PLAYER_BYTES);
+            for (int i = 0; i < strings; i++) {
+                int len = in.getInt();
+                if (len < 0 || len > in.remaining()) throw new IOException("bad string length in " + source);
+                table[i] = utf8(in, len);
+            }
+
+            List<TeamRef> listed = new ArrayList<>();
+            Map<String, CachedTeam> byAbbr = new LinkedHashMap<>(teams * 2);
+            for (int t = 0; t < teams; t++) {
+                in.position(teamsAt + t * TEAM_BYTES);
+                TeamRef ref = new TeamRef(table[in.getInt()], table[in.getInt()], table[in.getInt()]);
+                String hash = table[in.getInt()];
+                int flags = in.getInt();
+                int first = in.getInt();
+                int count = in.getInt();
+                Instant fetchedAt = Instant.ofEpochMilli(in.getLong());
+                if (first < 0 || count < 0 || first + count > players) throw new IOException("bad team record in " + source);
+
+                List<CachedPlayer> roster = new ArrayList<>(count);
+                in.position(playersAt + first * PLAYER_BYTES);
+                for (int p = 0; p < count; p++) {
+                    String id = table[in.getInt()];
+                    String name = table[in.getInt()];
+                    Position pos = POSITIONS[in.get()];
+                    boolean rated = in.get() != 0;
+                    int offense = in.getShort();
+                    int defense = in.getShort();
+                    in.getShort();
+                    roster.add(new CachedPlayer(id, name, pos, offense, defense, rated,
+                            Instant.ofEpochMilli(in.getLong())));
+                }
+                if ((flags & HAS_ROSTER) != 0) byAbbr.put(ref.abbr(), new CachedTeam(ref, fetchedAt, hash, roster));
+                if ((flags & IN_LEAGUE) != 0) listed.add(ref);
+            }
+            League league = leagueFetchedAt < 0 ? null : new League(Instant.ofEpochMilli(leagueFetchedAt), listed);
+            return new Contents(league, byAbbr);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("corrupt roster cache: " + source, e);
+        }
+    }
+
+    /** Writes {@code contents} to {@code file} via a temp file, fsync and atomic move. */
+    static void write(Path file, Contents contents) throws IOException {
+        ByteBuffer buf = encode(contents);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true); // durable before the rename makes it the cache
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static ByteBuffer encode(Contents contents) {
+        // Listed teams first, in list order, then any other cached teams.
+        List<CachedTeam> ordered = new ArrayList<>(contents.teams().size());
+        List<Integer> flags = new ArrayList<>();
+        Set<String> listed = new HashSet<>();
+        if (contents.league() != null) {
+            for (TeamRef ref : contents.league().teams()) {
+                CachedTeam t = contents.teams().get(ref.abbr());
+                ordered.add(t != null ? t : new CachedTeam(ref, Instant.EPOCH, "", List.of()));
+                flags.add(t != null ? IN_LEAGUE | HAS_ROSTER : IN_LEAGUE);
+                listed.add(ref.abbr());
+            }
+        }
+        for (CachedTeam t : contents.teams().values()) {
+            if (listed.contains(t.team().abbr())) continue;
+            ordered.add(t);
+            flags.add(HAS_ROSTER);
+        }
+
+        Strings strings = new Strings();
+        int players = 0;
+        for (CachedTeam t : ordered) players += t.players().size();
+        ByteBuffer records = ByteBuffer.allocate(HEADER_BYTES + ordered.size() * TEAM_BYTES + players * PLAYER_BYTES);
+        records.putInt(MAGIC).putShort((short) VERSION).putShort((short) 0)
+                .putLong(contents.league() == null ? -1 : contents.league().fetchedAt().toEpochMilli())
+                .putInt(ordered.size()).putInt(players);
+        int stringCountAt = records.position();
+        records.putInt(0); // patched below
+
+        int first = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            CachedTeam t = ordered.get(i);
+            records.putInt(strings.index(t.team().teamId())).putInt(strings.index(t.team().abbr()))
+                    .putInt(strings.index(t.team().name())).putInt(strings.index(t.rosterHash()))
+                    .putInt(flags.get(i)).putInt(first).putInt(t.players().size())
+                    .putLong(t.fetchedAt().toEpochMilli()).putInt(0);
+            first += t.players().size();
+        }
+        for (CachedTeam t : ordered) {
+            for (CachedPlayer p : t.players()) {
+                records.putInt(strings.index(p.playerId())).putInt(strings.index(p.name()))
+                        .put((byte) p.position().ordinal()).put((byte) (p.rated() ? 1 : 0))
+                        .putShort((short) p.offense()).putShort((short) p.defense()).putShort((short) 0)
+                        .putLong(p.ratedAt().toEpochMilli());
+            }
+        }
+        records.putInt(stringCountAt, strings.encoded.size());
+
+        int stringBytes = 0;
+        for (byte[] s : strings.encoded) stringBytes += Integer.BYTES + s.length;
+        ByteBuffer out = ByteBuffer.allocate(records.position() + stringBytes + Integer.BYTES);
+        out.put(records.flip());
+        for (byte[] s : strings.encoded) out.putInt(s.length).put(s);
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        return out.flip();
+    }
+
+    private static String utf8(ByteBuffer in, int len) {
+        if (in.hasArray()) {
+            String s = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+            in.position(in.position() + len);
+            return s;
+        }
+        byte[] b = new byte[len];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** Deduplicating string table in first-use order. */
+    private static final class Strings {
+        final Map<String, Integer> index = new HashMap<>();
+        final List<byte[]> encoded = new ArrayList<>();
+
+        int index(String s) {
+            return index.computeIfAbsent(s, k -> {
+                encoded.add(k.getBytes(StandardCharsets.UTF_8));
+                return encoded.size() - 1;
+            });
+        }
+    }
+}
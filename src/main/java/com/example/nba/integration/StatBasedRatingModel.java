@@ -1,5 +1,10 @@
 package com.example.nba.integration;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
@@ -20,84 +25,173 @@ public final class StatBasedRatingModel {
     }
 
     private final EspnClient api;
+    private final EspnEndpoints endpoints;
 
     public StatBasedRatingModel(EspnClient api) {
+        this(api, EspnEndpoints.DEFAULT);
+    }
+
+    public StatBasedRatingModel(EspnClient api, EspnEndpoints endpoints) {
         this.api = api;
+        this.endpoints = endpoints;
     }
 
     public Result rate(String athleteId) {
-        String url =
-                "https://site.web.api.espn.com/apis/common/v3/sports/basketball/nba/athletes/"
-                        + athleteId
-                        + "/stats?region=us&lang=en&contentorigin=espn";
+        return rateAsync(athleteId).join();
+    }
+
+    /** Never completes exceptionally: fetch/parse failures come back as {@link Result#fail}. */
+    public CompletableFuture<Result> rateAsync(String athleteId) {
+        return api.getAsync(endpoints.athleteStatsUrl(athleteId), StatBasedRatingModel::rateStats)
+                .exceptionally(e -> Result.fail(rootCause(e)));
+    }
 
+    // Labels: GP=0, GS=1, MIN=2, FG=3, FG%=4, 3PT=5, 3P%=6, FT=7, FT%=8, OR=9, DR=10, REB=11, AST=12, BLK=13, STL=14, PF=15, TO=16, PTS=17
+    private static final int STATS_PER_SEASON = 18;
+    private static final int REB = 11, AST = 12, BLK = 13, STL = 14, TO = 16, PTS = 17;
+
+    /**
+     * Streams the stats body: only the first {@code averages} category is walked, only
+     * season years and the six stat columns above are materialized, and reading stops
+     * as soon as that category ends.
+     */
+    static Result rateStats(JsonParser p) {
         try {
-            JsonNode root = api.get(url);
-
-            // Parse the new JSON structure with categories
-            Double ppg = null, apg = null, rpg = null, spg = null, bpg = null, topg = null;
-
-            JsonNode categories = root.get("categories");
-            if (categories != null && categories.isArray()) {
-                for (JsonNode category : categories) {
-                    String name = category.get("name").asText();
-                    if ("averages".equals(name)) {
-                        JsonNode statistics = category.get("statistics");
-                        if (statistics != null && statistics.isArray()) {
-                            // Find the most recent season (2025-26, year 2026)
-                            JsonNode latestStats = null;
-                            int latestYear = 0;
-                            for (JsonNode stat : statistics) {
-                                int year = stat.at("/season/year").asInt(0);
-                                if (year > latestYear) {
-                                    latestYear = year;
-                                    latestStats = stat;
-                                }
-                            }
-                            if (latestStats != null) {
-                                JsonNode statsArray = latestStats.get("stats");
-                                if (statsArray != null && statsArray.isArray() && statsArray.size() >= 18) {
-                                    // Labels: GP=0, GS=1, MIN=2, FG=3, FG%=4, 3PT=5, 3P%=6, FT=7, FT%=8, OR=9, DR=10, REB=11, AST=12, BLK=13, STL=14, PF=15, TO=16, PTS=17
-                                    ppg = parseDoubleSafe(statsArray.get(17).asText());
-                                    apg = parseDoubleSafe(statsArray.get(12).asText());
-                                    rpg = parseDoubleSafe(statsArray.get(11).asText());
-                                    spg = parseDoubleSafe(statsArray.get(14).asText());
-                                    bpg = parseDoubleSafe(statsArray.get(13).asText());
-                                    topg = parseDoubleSafe(statsArray.get(16).asText());
-                                }
-                            }
-                        }
-                        break;
-                    }
-                }
-            }
+            String[] latest = latestAverages(p);
+            if (latest == null) return Result.fail("no recognizable per-game stats in JSON");
+            return rate(parseDoubleSafe(latest[PTS]), parseDoubleSafe(latest[AST]), parseDoubleSafe(latest[REB]),
+                    parseDoubleSafe(latest[STL]), parseDoubleSafe(latest[BLK]), parseDoubleSafe(latest[TO]));
+        } catch (Exception e) {
+            return Result.fail(rootCause(e));
+        }
+    }
+
+    private static Result rate(Double ppg, Double apg, Double rpg, Double spg, Double bpg, Double topg) {
+        // If we can't get ANY meaningful stats, treat as fail (caller will fallback).
+        if (ppg == null && apg == null && rpg == null && spg == null && bpg == null) {
+            return Result.fail("no recognizable per-game stats in JSON");
+        }
+
+        // Simple but reasonable mapping:
+        // offense: points + assists - turnovers
+        // defense: rebounds + steals + blocks
+        double oScore = 0.0;
+        if (ppg != null) oScore += ppg * 2.2;
+        if (apg != null) oScore += apg * 2.0;
+        if (topg != null) oScore -= topg * 1.2;
+
+        double dScore = 0.0;
+        if (rpg != null) dScore += rpg * 1.4;
+        if (spg != null) dScore += spg * 6.0;
+        if (bpg != null) dScore += bpg * 5.0;
+
+        int offense = clampToRating(oScore, 50, 99);
+        int defense = clampToRating(dScore, 50, 99);
+
+        return Result.ok(new Rating(offense, defense));
+    }
 
-            // If we can't get ANY meaningful stats, treat as fail (caller will fallback).
-            if (ppg == null && apg == null && rpg == null && spg == null && bpg == null) {
-                return Result.fail("no recognizable per-game stats in JSON");
+    /**
+     * Stat texts (indexed like the labels, only the needed columns filled) of the latest
+     * season in the first {@code averages} category, or null if there is none or that
+     * season has fewer than {@link #STATS_PER_SEASON} columns.
+     */
+    private static String[] latestAverages(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) return null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (!"categories".equals(field) || value != JsonToken.START_ARRAY) {
+                p.skipChildren();
+                continue;
+            }
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                Averages a = category(p);
+                if (a != null) return a.latest();
             }
+            return null;
+        }
+        return null;
+    }
 
-            // Simple but reasonable mapping:
-            // offense: points + assists - turnovers
-            // defense: rebounds + steals + blocks
-            double oScore = 0.0;
-            if (ppg != null) oScore += ppg * 2.2;
-            if (apg != null) oScore += apg * 2.0;
-            if (topg != null) oScore -= topg * 1.2;
+    /** Latest-season stats of an averages category; null means "not the averages category". */
+    private record Averages(String[] latest) { }
 
-            double dScore = 0.0;
-            if (rpg != null) dScore += rpg * 1.4;
-            if (spg != null) dScore += spg * 6.0;
-            if (bpg != null) dScore += bpg * 5.0;
+    /** Reads one category object (its fields may come in any order). */
+    private static Averages category(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String name = null;
+        String[] latest = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("name".equals(field) && value.isScalarValue()) {
+                name = p.getText();
+            } else if ("statistics".equals(field) && value == JsonToken.START_ARRAY
+                    && (name == null || "averages".equals(name))) {
+                latest = latestSeason(p);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return "averages".equals(name) ? new Averages(latest) : null;
+    }
 
-            int offense = clampToRating(oScore, 50, 99);
-            int defense = clampToRating(dScore, 50, 99);
+    private static String[] latestSeason(JsonParser p) throws IOException {
+        int latestYear = 0;
+        String[] latest = null;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            int year = 0;
+            String[] stats = new String[STATS_PER_SEASON];
+            int columns = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("season".equals(field) && value == JsonToken.START_OBJECT) {
+                    year = seasonYear(p);
+                } else if ("stats".equals(field) && value == JsonToken.START_ARRAY) {
+                    for (columns = 0; p.nextToken() != JsonToken.END_ARRAY; columns++) {
+                        if (columns < STATS_PER_SEASON && needed(columns) && p.currentToken().isScalarValue()) {
+                            stats[columns] = p.getText();
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (year > latestYear) {
+                latestYear = year;
+                latest = columns >= STATS_PER_SEASON ? stats : null;
+            }
+        }
+        return latest;
+    }
 
-            return Result.ok(new Rating(offense, defense));
-        } catch (Exception e) {
-            // Important: surface WHY it failed (timeout/HTML/blocked/parse/etc.)
-            return Result.fail(rootCause(e));
+    private static int seasonYear(JsonParser p) throws IOException {
+        int year = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("year".equals(field) && value.isScalarValue()) {
+                year = p.getValueAsInt(0);
+            } else {
+                p.skipChildren();
+            }
         }
+        return year;
+    }
+
+    private static boolean needed(int column) {
+        return column == REB || column == AST || column == BLK || column == STL || column == TO || column == PTS;
     }
 
     /**
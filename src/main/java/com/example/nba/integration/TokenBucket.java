@@ -0,0 +1,36 @@
+package com.example.nba.integration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global token-bucket rate limiter. Callers reserve a token under the lock and
+ * sleep (outside the lock) until their reservation matures, so waiters are
+ * served in arrival order and bursts up to {@code burst} go through immediately.
+ */
+final class TokenBucket {
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        if (burst <= 0) throw new IllegalArgumentException("burst must be > 0");
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+            tokens -= 1; // may go negative: that's a reservation against future refill
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+        }
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+}
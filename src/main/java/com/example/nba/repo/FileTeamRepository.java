@@ -0,0 +1,558 @@
+package com.example.nba.repo;
+
+import com.example.nba.audit.FileAuditLogRepository.FsyncPolicy;
+import com.example.nba.domain.ExperienceLevel;
+import com.example.nba.domain.Money;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Position;
+import com.example.nba.domain.SalaryCap;
+import com.example.nba.domain.Team;
+import com.example.nba.events.LeagueEvent.RosterSpot;
+import com.example.nba.events.LeagueEvent.TeamRegistered;
+import com.example.nba.events.PlayerData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable team storage: a binary snapshot plus a write-ahead log of every save.
+ *
+ * Each {@link #save} diffs the team against what was last persisted for it and
+ * appends one WAL record holding just the changes (team/cap header, players added
+ * or changed, players removed); {@link #saveAll} puts every team's changes in one
+ * record, so a multi-team change is replayed whole or not at all. Records are framed
+ * like the audit log as {@code [int payloadLength][int crc32][payload]} so a torn
+ * tail is detected and cut off on restart, while a bad record with data after it
+ * fails the open. Every {@code snapshotEvery} records (or on {@link #snapshot()})
+ * the whole league is written to {@code teams.snap} via a temp file and atomic
+ * rename, and the log restarts in a new generation file.
+ *
+ * Opening loads the snapshot, replays the WAL generations after it, and builds the
+ * live teams once; no service calls or audit entries are involved. Reads are served
+ * by an {@link InMemoryTeamRepository}, so its indexes apply. Player fatigue is
+ * runtime state and is not persisted.
+ *
+ * {@link #save} and {@link #snapshot()} lock on {@code this}; reads don't.
+ */
+public final class FileTeamRepository implements TeamRepository, Closeable {
+    private static final String SNAPSHOT = "teams.snap";
+    private static final String WAL_PREFIX = "teams-";
+    private static final String WAL_SUFFIX = ".wal";
+    private static final int SNAPSHOT_MAGIC = 0x4E424153; // "NBAS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+
+    private static final byte OP_TEAM = 1;
+    private static final byte OP_PUT_PLAYER = 2;
+    private static final byte OP_REMOVE_PLAYER = 3;
+
+    private final Path dir;
+    private final FsyncPolicy fsyncPolicy;
+    private final int groupCommitEntries;
+    private final long groupCommitIntervalNanos;
+    private final int snapshotEvery;
+
+    private final InMemoryTeamRepository memory = new InMemoryTeamRepository();
+    private final Map<String, TeamImage> persisted = new LinkedHashMap<>();
+    private final Writer out = new Writer();
+    private final CRC32 crc = new CRC32();
+    private FileChannel wal;
+    private long walGeneration;
+    private long walRecords;      // since the last snapshot
+    private long replayedRecords; // WAL records applied while opening
+    private int unsynced;
+    private long lastSyncNanos;
+
+    private FileTeamRepository(Builder b) {
+        this.dir = b.dir;
+        this.fsyncPolicy = b.fsyncPolicy;
+        this.groupCommitEntries = b.groupCommitEntries;
+        this.groupCommitIntervalNanos = b.groupCommitInterval.toNanos();
+        this.snapshotEvery = b.snapshotEvery;
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open team store: " + dir, e);
+        }
+    }
+
+    public static Builder builder(Path dir) { return new Builder(dir); }
+
+    public static final class Builder {
+        private final Path dir;
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.GROUP_COMMIT;
+        private int groupCommitEntries = 64;
+        private Duration groupCommitInterval = Duration.ofMillis(50);
+        private int snapshotEvery = 10_000;
+
+        private Builder(Path dir) { this.dir = Objects.requireNonNull(dir); }
+
+        public Builder fsyncPolicy(FsyncPolicy p) { this.fsyncPolicy = Objects.requireNonNull(p); return this; }
+        public Builder groupCommitEntries(int n) {
+            if (n <= 0) throw new IllegalArgumentException("groupCommitEntries must be > 0");
+            this.groupCommitEntries = n;
+            return this;
+        }
+        public Builder groupCommitInterval(Duration d) { this.groupCommitInterval = Objects.requireNonNull(d); return this; }
+        /** Snapshot after this many WAL records. */
+        public Builder snapshotEvery(int records) {
+            if (records <= 0) throw new IllegalArgumentException("snapshotEvery must be > 0");
+            this.snapshotEvery = records;
+            return this;
+        }
+
+        public FileTeamRepository open() { return new FileTeamRepository(this); }
+    }
+
+    // ---- TeamRepository ----
+
+    @Override
+    public synchronized void save(Team team) {
+        saveAll(team);
+    }
+
+    /** One WAL record (one CRC) covering every team's changes. */
+    @Override
+    public synchronized void saveAll(Team... teams) {
+        if (wal == null) throw new IllegalStateException("team store closed");
+        TeamImage[] current = new TeamImage[teams.length];
+        out.clear();
+        int ops = 0;
+        for (int i = 0; i < teams.length; i++) {
+            current[i] = TeamImage.of(Objects.requireNonNull(teams[i]));
+            ops += diff(persisted.get(teams[i].teamId()), current[i], teams[i]);
+        }
+        if (ops > 0) {
+            try {
+                appendRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to log save of teams " + teamIds(teams), e);
+            }
+            for (TeamImage t : current) persisted.put(t.teamId, t);
+        }
+        for (Team t : teams) memory.save(t);
+        if (walRecords >= snapshotEvery) snapshot();
+    }
+
+    private static String teamIds(Team[] teams) {
+        StringJoiner ids = new StringJoiner(", ");
+        for (Team t : teams) ids.add(t.teamId());
+        return ids.toString();
+    }
+
+    @Override public Optional<Team> findById(String teamId) { return memory.findById(teamId); }
+    @Override public List<Team> findAll() { return memory.findAll(); }
+    @Override public List<Team> search(Predicate<Team> predicate) { return memory.search(predicate); }
+    @Override public List<PlayerMatch> findPlayers(PlayerQuery q) { return memory.findPlayers(q); }
+    @Override public Optional<Team> findTeamByPlayerId(String playerId) { return memory.findTeamByPlayerId(playerId); }
+    @Override public List<Team> findTeamsByCapSpace(Money minRemaining) { return memory.findTeamsByCapSpace(minRemaining); }
+
+    /** WAL records applied on open (those written since the last snapshot). */
+    public synchronized long replayedRecords() { return replayedRecords; }
+
+    /** WAL records written since the last snapshot. */
+    public synchronized long walRecordsSinceSnapshot() { return walRecords; }
+
+    // ---- snapshot ----
+
+    /** Writes every team to {@code teams.snap} and starts a fresh WAL generation. */
+    public synchronized void snapshot() {
+        if (wal == null) throw new IllegalStateException("team store closed");
+        try {
+            long nextGeneration = walGeneration + 1;
+            out.clear();
+            out.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(nextGeneration).putInt(persisted.size());
+            for (TeamImage t : persisted.values()) {
+                out.putTeamHeader(t);
+                out.putInt(t.roster.size());
+                for (RosterSpot p : t.roster.values()) out.putPlayer(p);
+            }
+            crc.reset();
+            crc.update(out.buf.array(), 0, out.buf.position());
+            out.putInt((int) crc.getValue());
+
+            Path tmp = dir.resolve(SNAPSHOT + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer data = out.buf.flip();
+                while (data.hasRemaining()) ch.write(data);
+                ch.force(true);
+            }
+            Files.move(tmp, dir.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            // The snapshot now covers every generation before nextGeneration.
+            wal.close();
+            wal = openWal(nextGeneration);
+            Path old = walPath(walGeneration);
+            walGeneration = nextGeneration;
+            walRecords = 0;
+            unsynced = 0;
+            Files.deleteIfExists(old);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to snapshot team store", e);
+        }
+    }
+
+    // ---- durability ----
+
+    /** Forces every logged save to disk. */
+    public synchronized void sync() {
+        if (wal == null || unsynced == 0) return;
+        try {
+            wal.force(false);
+            unsynced = 0;
+            lastSyncNanos = System.nanoTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync team WAL", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (wal == null) return;
+        sync();
+        try {
+            wal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close team WAL", e);
+        } finally {
+            wal = null;
+        }
+    }
+
+    private void maybeSync() {
+        switch (fsyncPolicy) {
+            case ALWAYS -> sync();
+            case GROUP_COMMIT -> {
+                if (unsynced >= groupCommitEntries || System.nanoTime() - lastSyncNanos >= groupCommitIntervalNanos) sync();
+            }
+            case NEVER -> { }
+        }
+    }
+
+    // ---- WAL ----
+
+    /** Encodes the changes from {@code before} to {@code after} into {@link #out}; returns the op count. */
+    private int diff(TeamImage before, TeamImage after, Team team) {
+        int ops = 0;
+        boolean replaced = before == null || before.live != team;
+        if (replaced || !before.sameHeader(after)) {
+            out.put(OP_TEAM).putTeamHeader(after).put((byte) (replaced ? 1 : 0));
+            ops++;
+        }
+        if (!replaced) {
+            for (String playerId : before.roster.keySet()) {
+                if (!after.roster.containsKey(playerId)) {
+                    out.put(OP_REMOVE_PLAYER).putString(after.teamId).putString(playerId);
+                    ops++;
+                }
+            }
+        }
+        for (RosterSpot p : after.roster.values()) {
+            if (replaced || !p.equals(before.roster.get(p.player().playerId()))) {
+                out.put(OP_PUT_PLAYER).putString(after.teamId).putPlayer(p);
+                ops++;
+            }
+        }
+        return ops;
+    }
+
+    private void appendRecord() throws IOException {
+        int payload = out.buf.position();
+        crc.reset();
+        crc.update(out.buf.array(), 0, payload);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(payload).putInt((int) crc.getValue()).flip();
+        ByteBuffer body = ByteBuffer.wrap(out.buf.array(), 0, payload);
+        while (header.hasRemaining() || body.hasRemaining()) wal.write(new ByteBuffer[] { header, body });
+        walRecords++;
+        unsynced++;
+        maybeSync();
+    }
+
+    /** Applies one record's ops to the persisted images. */
+    private void replay(ByteBuffer payload) {
+        Reader in = new Reader(payload);
+        while (payload.hasRemaining()) {
+            byte op = payload.get();
+            switch (op) {
+                case OP_TEAM -> {
+                    TeamImage header = in.teamHeader();
+                    boolean reset = payload.get() != 0;
+                    TeamImage existing = persisted.get(header.teamId);
+                    if (existing != null && !reset) header.roster.putAll(existing.roster);
+                    persisted.put(header.teamId, header);
+                }
+                case OP_PUT_PLAYER -> {
+                    TeamImage t = image(in.string());
+                    RosterSpot p = in.player();
+                    t.roster.put(p.player().playerId(), p);
+                }
+                case OP_REMOVE_PLAYER -> {
+                    TeamImage t = image(in.string());
+                    t.roster.remove(in.string());
+                }
+                default -> throw new IllegalStateException("unknown WAL op " + op);
+            }
+        }
+    }
+
+    private TeamImage image(String teamId) {
+        TeamImage t = persisted.get(teamId);
+        if (t == null) throw new IllegalStateException("WAL references unknown team " + teamId);
+        return t;
+    }
+
+    // ---- recovery ----
+
+    private void recover() throws IOException {
+        Files.createDirectories(dir);
+        Path snap = dir.resolve(SNAPSHOT);
+        long firstGeneration = 0;
+        if (Files.exists(snap)) firstGeneration = loadSnapshot(snap);
+
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(WAL_PREFIX) && n.endsWith(WAL_SUFFIX))
+                    .map(n -> Long.parseLong(n.substring(WAL_PREFIX.length(), n.length() - WAL_SUFFIX.length())))
+                    .sorted()
+                    .forEach(generations::add);
+        }
+        walGeneration = firstGeneration;
+        for (long g : generations) {
+            if (g < firstGeneration) {
+                Files.delete(walPath(g)); // already in the snapshot (crash before it was removed)
+                continue;
+            }
+            replayWal(walPath(g));
+            walGeneration = g;
+        }
+        walRecords = replayedRecords;
+
+        for (TeamImage t : persisted.values()) {
+            t.live = t.toTeam();
+            memory.save(t.live);
+        }
+        wal = openWal(walGeneration);
+        lastSyncNanos = System.nanoTime();
+    }
+
+    /** @return the first WAL generation not covered by the snapshot */
+    private long loadSnapshot(Path snap) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(snap));
+        if (buf.remaining() < 24) throw new IOException("team snapshot truncated: " + snap);
+        crc.reset();
+        crc.update(buf.array(), 0, buf.limit() - Integer.BYTES);
+        if ((int) crc.getValue() != buf.getInt(buf.limit() - Integer.BYTES)) {
+            throw new IOException("team snapshot checksum mismatch: " + snap);
+        }
+        buf.limit(buf.limit() - Integer.BYTES);
+        if (buf.getInt() != SNAPSHOT_MAGIC) throw new IOException("not a team snapshot: " + snap);
+        int version = buf.getInt();
+        if (version != SNAPSHOT_VERSION) throw new IOException("unsupported team snapshot version " + version);
+        long generation = buf.getLong();
+
+        Reader in = new Reader(buf);
+        for (int teams = buf.getInt(); teams > 0; teams--) {
+            TeamImage t = in.teamHeader();
+            for (int players = buf.getInt(); players > 0; players--) {
+                RosterSpot p = in.player();
+                t.roster.put(p.player().playerId(), p);
+            }
+            persisted.put(t.teamId, t);
+        }
+        return generation;
+    }
+
+    private void replayWal(Path path) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path));
+        long valid = 0;
+        while (buf.remaining() >= HEADER_BYTES) {
+            int start = buf.position();
+            int payload = buf.getInt();
+            int expectedCrc = buf.getInt();
+            if (payload <= 0 || payload > buf.remaining()) break;
+            crc.reset();
+            crc.update(buf.array(), start + HEADER_BYTES, payload);
+            if ((int) crc.getValue() != expectedCrc) break;
+            ByteBuffer record = buf.slice(start + HEADER_BYTES, payload);
+            try {
+                replay(record);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("malformed WAL record at " + start + " in " + path, e);
+            }
+            buf.position(start + HEADER_BYTES + payload);
+            valid = buf.position();
+            replayedRecords++;
+        }
+        if (valid < buf.limit()) {
+            if (!tornTail(buf, (int) valid)) {
+                throw new IOException("corrupt WAL record at offset " + valid + " of " + path
+                        + " with " + (buf.limit() - valid) + " bytes after it");
+            }
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                ch.truncate(valid); // torn tail from a crash
+            }
+        }
+    }
+
+    /**
+     * Whether the bytes from {@code at} to the end of the file are what a crash
+     * mid-append leaves: a partial header, a header whose payload runs past the end,
+     * a final record with a bad CRC, or zero fill.
+     */
+    private static boolean tornTail(ByteBuffer buf, int at) {
+        int remaining = buf.limit() - at;
+        if (remaining < HEADER_BYTES) return true;
+        int payload = buf.getInt(at);
+        if (payload > remaining - HEADER_BYTES) return true;
+        if (payload > 0) return at + HEADER_BYTES + payload == buf.limit();
+        for (int i = at; i < buf.limit(); i++) if (buf.get(i) != 0) return false;
+        return true;
+    }
+
+    private FileChannel openWal(long generation) throws IOException {
+        return FileChannel.open(walPath(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path walPath(long generation) {
+        return dir.resolve(WAL_PREFIX + "%020d".formatted(generation) + WAL_SUFFIX);
+    }
+
+    // ---- images ----
+
+    /**
+     * A team as persisted; roster in roster order. Players are the same {@link RosterSpot}s
+     * the event log's {@link TeamRegistered} carries, and teams are built through it.
+     */
+    private static final class TeamImage {
+        final String teamId;
+        final String name;
+        final long capCents;
+        final long committedCents;
+        final Map<String, RosterSpot> roster = new LinkedHashMap<>();
+        Team live; // the Team object this image was taken from (or built into)
+
+        TeamImage(String teamId, String name, long capCents, long committedCents) {
+            this.teamId = teamId;
+            this.name = name;
+            this.capCents = capCents;
+            this.committedCents = committedCents;
+        }
+
+        static TeamImage of(Team team) {
+            SalaryCap cap = team.salaryCap();
+            TeamImage t = new TeamImage(team.teamId(), team.name(), cap.cap().cents(), cap.committed().cents());
+            for (Player p : team) {
+                t.roster.put(p.playerId(), new RosterSpot(PlayerData.of(p), team.annualSalaryFor(p.playerId()).cents()));
+            }
+            t.live = team;
+            return t;
+        }
+
+        boolean sameHeader(TeamImage o) {
+            return name.equals(o.name) && capCents == o.capCents && committedCents == o.committedCents;
+        }
+
+        Team toTeam() {
+            return new TeamRegistered(teamId, name, capCents, committedCents, List.copyOf(roster.values())).toTeam();
+        }
+    }
+
+    // ---- codec ----
+
+    /** Growable big-endian buffer for WAL payloads and snapshots. */
+    private static final class Writer {
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+
+        void clear() { buf.clear(); }
+
+        private void ensure(int n) {
+            if (buf.remaining() >= n) return;
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + n));
+            bigger.put(buf.flip());
+            buf = bigger;
+        }
+
+        Writer put(byte b) { ensure(1); buf.put(b); return this; }
+        Writer putInt(int v) { ensure(Integer.BYTES); buf.putInt(v); return this; }
+        Writer putLong(long v) { ensure(Long.BYTES); buf.putLong(v); return this; }
+
+        Writer putString(String s) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            ensure(Integer.BYTES + b.length);
+            buf.putInt(b.length).put(b);
+            return this;
+        }
+
+        Writer putTeamHeader(TeamImage t) {
+            return putString(t.teamId).putString(t.name).putLong(t.capCents).putLong(t.committedCents);
+        }
+
+        /** Eligibility is a bitmask of position ordinals, the primary position included. */
+        Writer putPlayer(RosterSpot spot) {
+            PlayerData p = spot.player();
+            int mask = 1 << p.position().ordinal();
+            for (Position e : p.alsoPlays()) mask |= 1 << e.ordinal();
+            putString(p.playerId()).putString(p.name());
+            put((byte) p.position().ordinal()).put((byte) mask).put((byte) p.level().ordinal());
+            return putInt(p.age()).putInt(p.offense()).putInt(p.defense()).putInt(p.levelField())
+                    .putLong(spot.salaryCents());
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buf;
+
+        Reader(ByteBuffer buf) { this.buf = buf; }
+
+        String string() {
+            int n = buf.getInt();
+            if (n < 0 || n > buf.remaining()) throw new BufferUnderflowException();
+            byte[] b = new byte[n];
+            buf.get(b);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+
+        TeamImage teamHeader() {
+            return new TeamImage(string(), string(), buf.getLong(), buf.getLong());
+        }
+
+        RosterSpot player() {
+            String id = string();
+            String name = string();
+            Position position = Position.values()[buf.get()];
+            int mask = buf.get();
+            ExperienceLevel level = ExperienceLevel.values()[buf.get()];
+            EnumSet<Position> alsoPlays = EnumSet.noneOf(Position.class);
+            for (Position e : Position.values()) {
+                if (e != position && (mask & (1 << e.ordinal())) != 0) alsoPlays.add(e);
+            }
+            PlayerData p = new PlayerData(id, name, position, alsoPlays, buf.getInt(), buf.getInt(), buf.getInt(),
+                    level, buf.getInt());
+            return new RosterSpot(p, buf.getLong());
+        }
+    }
+}
@@ -1,16 +1,35 @@
 package com.example.nba.repo;
 
+import com.example.nba.domain.Money;
 import com.example.nba.domain.Team;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 
+/**
+ * Safe for concurrent save/find; Team contents are guarded by the service's per-team locks.
+ *
+ * {@link #save} also refreshes the {@link TeamIndex} secondary indexes, so
+ * {@link #findPlayers}, {@link #findTeamByPlayerId} and {@link #findTeamsByCapSpace}
+ * answer without scanning rosters. They reflect each team as of its last save.
+ */
 public final class InMemoryTeamRepository implements TeamRepository {
-    private final Map<String, Team> store = new HashMap<>();
+    private final Map<String, Team> store = new ConcurrentHashMap<>();
+    private final TeamIndex index = new TeamIndex();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
 
     @Override
     public void save(Team team) {
-        store.put(team.teamId(), team);
+        indexLock.writeLock().lock();
+        try {
+            store.put(team.teamId(), team);
+            index.update(team);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -30,4 +49,37 @@ public final class InMemoryTeamRepository implements TeamRepository {
         for (Team t : store.values()) if (predicate.test(t)) out.add(t);
         return out;
     }
+
+    @Override
+    public List<PlayerMatch> findPlayers(PlayerQuery q) {
+        Objects.requireNonNull(q);
+        indexLock.readLock().lock();
+        try {
+            return index.find(q);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Team> findTeamByPlayerId(String playerId) {
+        Objects.requireNonNull(playerId);
+        indexLock.readLock().lock();
+        try {
+            return index.teamOf(playerId);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Team> findTeamsByCapSpace(Money minRemaining) {
+        Objects.requireNonNull(minRemaining);
+        indexLock.readLock().lock();
+        try {
+            return index.teamsWithCapSpace(minRemaining);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
 }
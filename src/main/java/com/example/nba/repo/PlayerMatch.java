@@ -0,0 +1,7 @@
+package com.example.nba.repo;
+
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Team;
+
+/** A player found by {@link TeamRepository#findPlayers} and the team they were on at the last save. */
+public record PlayerMatch(Team team, Player player) { }
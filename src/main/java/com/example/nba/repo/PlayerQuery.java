@@ -0,0 +1,119 @@
+package com.example.nba.repo;
+
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Position;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Filter over every rostered player in the league. Unset fields match everything;
+ * rating ranges are inclusive. {@link Builder#where} is a fallback for anything the
+ * indexes don't cover and is applied after them.
+ *
+ * <pre>
+ * PlayerQuery q = PlayerQuery.builder().position(Position.C).overall(80, 99).build();
+ * </pre>
+ */
+public final class PlayerQuery {
+    private final Position position;
+    private final int minOffense, maxOffense;
+    private final int minDefense, maxDefense;
+    private final int minOverall, maxOverall;
+    private final Predicate<? super Player> where;
+
+    private PlayerQuery(Builder b) {
+        this.position = b.position;
+        this.minOffense = b.minOffense;
+        this.maxOffense = b.maxOffense;
+        this.minDefense = b.minDefense;
+        this.maxDefense = b.maxDefense;
+        this.minOverall = b.minOverall;
+        this.maxOverall = b.maxOverall;
+        this.where = b.where;
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    /** Primary position, or null for any. */
+    public Position position() { return position; }
+    public int minOffense() { return minOffense; }
+    public int maxOffense() { return maxOffense; }
+    public int minDefense() { return minDefense; }
+    public int maxDefense() { return maxDefense; }
+    public int minOverall() { return minOverall; }
+    public int maxOverall() { return maxOverall; }
+
+    boolean hasOffenseRange() { return minOffense != Integer.MIN_VALUE || maxOffense != Integer.MAX_VALUE; }
+    boolean hasDefenseRange() { return minDefense != Integer.MIN_VALUE || maxDefense != Integer.MAX_VALUE; }
+    boolean hasOverallRange() { return minOverall != Integer.MIN_VALUE || maxOverall != Integer.MAX_VALUE; }
+
+    public boolean matches(Player p) {
+        if (position != null && p.position() != position) return false;
+        if (p.offense() < minOffense || p.offense() > maxOffense) return false;
+        if (p.defense() < minDefense || p.defense() > maxDefense) return false;
+        int overall = p.overallRating();
+        if (overall < minOverall || overall > maxOverall) return false;
+        return where == null || where.test(p);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerQuery{position=" + position + ", offense=" + range(minOffense, maxOffense)
+                + ", defense=" + range(minDefense, maxDefense) + ", overall=" + range(minOverall, maxOverall)
+                + (where == null ? "" : ", where=" + where) + "}";
+    }
+
+    private static String range(int min, int max) {
+        return (min == Integer.MIN_VALUE ? "*" : min) + ".." + (max == Integer.MAX_VALUE ? "*" : max);
+    }
+
+    public static final class Builder {
+        private Position position;
+        private int minOffense = Integer.MIN_VALUE, maxOffense = Integer.MAX_VALUE;
+        private int minDefense = Integer.MIN_VALUE, maxDefense = Integer.MAX_VALUE;
+        private int minOverall = Integer.MIN_VALUE, maxOverall = Integer.MAX_VALUE;
+        private Predicate<? super Player> where;
+
+        private Builder() { }
+
+        public Builder position(Position p) { this.position = Objects.requireNonNull(p); return this; }
+
+        public Builder offense(int min, int max) {
+            checkRange(min, max);
+            this.minOffense = min;
+            this.maxOffense = max;
+            return this;
+        }
+
+        public Builder defense(int min, int max) {
+            checkRange(min, max);
+            this.minDefense = min;
+            this.maxDefense = max;
+            return this;
+        }
+
+        public Builder overall(int min, int max) {
+            checkRange(min, max);
+            this.minOverall = min;
+            this.maxOverall = max;
+            return this;
+        }
+
+        /** Extra condition checked on each indexed candidate; combined with earlier ones by AND. */
+        public Builder where(Predicate<? super Player> predicate) {
+            Objects.requireNonNull(predicate);
+            Predicate<? super Player> prev = where;
+            this.where = prev == null ? predicate : p -> prev.test(p) && predicate.test(p);
+            return this;
+        }
+
+        public PlayerQuery build() {
+            return new PlayerQuery(this);
+        }
+
+        private static void checkRange(int min, int max) {
+            if (max < min) throw new IllegalArgumentException("max must not be below min");
+        }
+    }
+}
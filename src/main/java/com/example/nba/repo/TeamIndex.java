@@ -0,0 +1,164 @@
+package com.example.nba.repo;
+
+import com.example.nba.domain.Money;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Position;
+import com.example.nba.domain.Team;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Secondary indexes over saved teams, updated on {@link #update}.
+ *
+ * playerId maps to the player's team; offense, defense and overall ratings each
+ * keep a sorted set per primary position plus one across all positions; teams are
+ * kept ordered by remaining cap room. Each team's roster as of its last update is
+ * remembered, so a save only touches players who joined or left since then, and a
+ * save with the same roster version and cap room does nothing.
+ *
+ * Not thread-safe; the owning repository guards it.
+ */
+final class TeamIndex {
+    private static final int OFFENSE = 0, DEFENSE = 1, OVERALL = 2, RATINGS = 3;
+    private static final int ANY = Position.values().length; // set index for "every position"
+    private static final int SETS_PER_RATING = ANY + 1;
+
+    /** One player in one rating set. Ordered by rating, then playerId, then teamId. */
+    private record Entry(int rating, String playerId, String teamId, Team team, Player player) { }
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparingInt(Entry::rating)
+            .thenComparing(Entry::playerId).thenComparing(Entry::teamId);
+
+    private record CapEntry(long remainingCents, String teamId, Team team) { }
+
+    private static final Comparator<CapEntry> CAP_ORDER = Comparator
+            .comparingLong(CapEntry::remainingCents).reversed().thenComparing(CapEntry::teamId);
+
+    /** What a team looked like when it was last indexed. */
+    private record Indexed(Team team, long rosterVersion, long capRemainingCents, Map<String, Player> players) { }
+
+    private final Map<String, Indexed> indexed = new HashMap<>();
+    private final Map<String, Team> teamByPlayerId = new HashMap<>();
+    private final List<NavigableSet<Entry>> byRating = new ArrayList<>(RATINGS * SETS_PER_RATING);
+    private final NavigableSet<CapEntry> byCapSpace = new TreeSet<>(CAP_ORDER);
+
+    TeamIndex() {
+        for (int i = 0; i < RATINGS * SETS_PER_RATING; i++) byRating.add(new TreeSet<>(ENTRY_ORDER));
+    }
+
+    void update(Team team) {
+        long version = team.rosterVersion();
+        long cap = team.salaryCap().remainingCents();
+        Indexed old = indexed.get(team.teamId());
+        if (old != null && old.team() == team && old.rosterVersion() == version && old.capRemainingCents() == cap) {
+            return;
+        }
+
+        Map<String, Player> now = new HashMap<>();
+        for (Player p : team) now.put(p.playerId(), p);
+
+        if (old != null) {
+            byCapSpace.remove(new CapEntry(old.capRemainingCents(), team.teamId(), old.team()));
+            for (Player p : old.players().values()) {
+                if (old.team() != team || now.get(p.playerId()) != p) removePlayer(old.team(), p);
+            }
+        }
+        for (Player p : now.values()) {
+            if (old == null || old.team() != team || old.players().get(p.playerId()) != p) addPlayer(team, p);
+        }
+        byCapSpace.add(new CapEntry(cap, team.teamId(), team));
+        indexed.put(team.teamId(), new Indexed(team, version, cap, now));
+    }
+
+    Optional<Team> teamOf(String playerId) {
+        return Optional.ofNullable(teamByPlayerId.get(playerId));
+    }
+
+    /**
+     * Walks the narrowest index the query constrains - overall, then offense, then
+     * defense range, else the position's (or league's) full set - and filters the
+     * rest with {@link PlayerQuery#matches}.
+     */
+    List<PlayerMatch> find(PlayerQuery q) {
+        int set = q.position() == null ? ANY : q.position().ordinal();
+        NavigableSet<Entry> candidates;
+        if (q.hasOverallRange()) {
+            candidates = range(OVERALL, set, q.minOverall(), q.maxOverall());
+        } else if (q.hasOffenseRange()) {
+            candidates = range(OFFENSE, set, q.minOffense(), q.maxOffense());
+        } else if (q.hasDefenseRange()) {
+            candidates = range(DEFENSE, set, q.minDefense(), q.maxDefense());
+        } else {
+            candidates = byRating.get(OVERALL * SETS_PER_RATING + set);
+        }
+
+        List<PlayerMatch> out = new ArrayList<>();
+        for (Entry e : candidates.descendingSet()) {
+            if (q.matches(e.player())) out.add(new PlayerMatch(e.team(), e.player()));
+        }
+        out.sort(TeamRepository.PLAYER_ORDER);
+        return out;
+    }
+
+    List<Team> teamsWithCapSpace(Money minRemaining) {
+        List<Team> out = new ArrayList<>();
+        for (CapEntry e : byCapSpace) {
+            if (e.remainingCents() < minRemaining.cents()) break;
+            out.add(e.team());
+        }
+        return out;
+    }
+
+    private NavigableSet<Entry> range(int rating, int set, int min, int max) {
+        NavigableSet<Entry> s = byRating.get(rating * SETS_PER_RATING + set);
+        // "" sorts before every playerId, so bound(r) precedes all entries rated r.
+        NavigableSet<Entry> tail = min == Integer.MIN_VALUE ? s : s.tailSet(bound(min), true);
+        return max == Integer.MAX_VALUE ? tail : tail.headSet(bound(max + 1), false);
+    }
+
+    private static Entry bound(int rating) {
+        return new Entry(rating, "", "", null, null);
+    }
+
+    private void addPlayer(Team team, Player p) {
+        teamByPlayerId.put(p.playerId(), team);
+        forEachSet(team, p, true);
+    }
+
+    private void removePlayer(Team team, Player p) {
+        // Only if still mapped here: a trade may have indexed the receiving team first.
+        teamByPlayerId.remove(p.playerId(), team);
+        forEachSet(team, p, false);
+    }
+
+    private void forEachSet(Team team, Player p, boolean add) {
+        int pos = p.position().ordinal();
+        for (int r = 0; r < RATINGS; r++) {
+            Entry e = new Entry(rating(p, r), p.playerId(), team.teamId(), team, p);
+            NavigableSet<Entry> bySlot = byRating.get(r * SETS_PER_RATING + pos);
+            NavigableSet<Entry> all = byRating.get(r * SETS_PER_RATING + ANY);
+            if (add) {
+                bySlot.add(e);
+                all.add(e);
+            } else {
+                bySlot.remove(e);
+                all.remove(e);
+            }
+        }
+    }
+
+    private static int rating(Player p, int r) {
+        return switch (r) {
+            case OFFENSE -> p.offense();
+            case DEFENSE -> p.defense();
+            default -> p.overallRating();
+        };
+    }
+}
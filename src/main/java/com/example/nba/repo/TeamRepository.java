@@ -1,14 +1,69 @@
 package com.example.nba.repo;
 
+import com.example.nba.domain.Money;
+import com.example.nba.domain.Player;
 import com.example.nba.domain.Team;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 
+/**
+ * Team storage. The typed lookups below have full-scan defaults; indexed
+ * implementations override them and answer from the state as of each team's last
+ * {@link #save} (the service saves after every roster or cap change).
+ */
 public interface TeamRepository {
     void save(Team team);
+
+    /**
+     * Saves several teams as one unit, for changes that span teams (a trade). Durable
+     * implementations make it atomic: after a crash either every team's save is
+     * visible or none is. The default saves them one by one.
+     */
+    default void saveAll(Team... teams) {
+        for (Team t : teams) save(t);
+    }
+
     Optional<Team> findById(String teamId);
     List<Team> findAll();
     List<Team> search(Predicate<Team> predicate);
+
+    /** Players matching {@code q}, best {@link Player#overallRating()} first, then by playerId. */
+    default List<PlayerMatch> findPlayers(PlayerQuery q) {
+        Objects.requireNonNull(q);
+        List<PlayerMatch> out = new ArrayList<>();
+        for (Team t : findAll()) {
+            for (Player p : t) if (q.matches(p)) out.add(new PlayerMatch(t, p));
+        }
+        out.sort(PLAYER_ORDER);
+        return out;
+    }
+
+    default Optional<Team> findTeamByPlayerId(String playerId) {
+        Objects.requireNonNull(playerId);
+        for (Team t : findAll()) if (t.findPlayerById(playerId).isPresent()) return Optional.of(t);
+        return Optional.empty();
+    }
+
+    /** Teams with at least {@code minRemaining} cap room, most room first (ties by teamId). */
+    default List<Team> findTeamsByCapSpace(Money minRemaining) {
+        Objects.requireNonNull(minRemaining);
+        List<Team> out = new ArrayList<>();
+        for (Team t : findAll()) if (t.salaryCap().remainingCents() >= minRemaining.cents()) out.add(t);
+        out.sort(CAP_SPACE_ORDER);
+        return out;
+    }
+
+    Comparator<PlayerMatch> PLAYER_ORDER = Comparator
+            .comparingInt((PlayerMatch m) -> m.player().overallRating()).reversed()
+            .thenComparing(m -> m.player().playerId())
+            .thenComparing(m -> m.team().teamId());
+
+    Comparator<Team> CAP_SPACE_ORDER = Comparator
+            .comparingLong((Team t) -> t.salaryCap().remainingCents()).reversed()
+            .thenComparing(Team::teamId);
 }
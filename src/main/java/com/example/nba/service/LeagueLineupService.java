@@ -0,0 +1,118 @@
+package com.example.nba.service;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.nba.analytics.LineupOptimizer;
+import com.example.nba.analytics.LineupOptimizer.Lineup;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Team;
+
+/**
+ * League-wide lineup optimization. Teams are optimized in parallel on a
+ * {@link ForkJoinPool}, each under its team lock via
+ * {@link TeamManagementService#readTeam}, and every result is cached against the
+ * team's version stamp (roster version plus the players' fatigue versions). A pass
+ * after a batch of roster moves only recomputes the teams those moves touched.
+ */
+public final class LeagueLineupService {
+
+    public record Metrics(long hits, long misses) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /** The team instance is part of the stamp so a re-registered team never matches. */
+    private record Stamp(Team team, long rosterVersion, long fatigueVersions) { }
+
+    /** lineup is null when the team can't field all five positions. */
+    private record Cached(Stamp stamp, Lineup lineup) { }
+
+    private final TeamManagementService service;
+    private final ForkJoinPool pool;
+    // LineupOptimizer reuses scratch buffers, so each worker gets its own.
+    private final ThreadLocal<LineupOptimizer> optimizers = ThreadLocal.withInitial(LineupOptimizer::new);
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LeagueLineupService(TeamManagementService service) {
+        this(service, ForkJoinPool.commonPool());
+    }
+
+    public LeagueLineupService(TeamManagementService service, ForkJoinPool pool) {
+        this.service = Objects.requireNonNull(service);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Best starting five for every team, keyed by teamId in repository order.
+     * Teams that can't field all five positions are left out.
+     */
+    public Map<String, Lineup> optimizeAll() {
+        List<Team> teams = service.listTeams();
+        List<ForkJoinTask<Cached>> tasks = teams.stream()
+                .map(t -> pool.submit(() -> lookup(t.teamId())))
+                .toList();
+
+        Map<String, Lineup> out = new LinkedHashMap<>();
+        Set<String> live = new HashSet<>();
+        for (int i = 0; i < teams.size(); i++) {
+            String teamId = teams.get(i).teamId();
+            live.add(teamId);
+            Lineup lineup = tasks.get(i).join().lineup();
+            if (lineup != null) out.put(teamId, lineup);
+        }
+        cache.keySet().retainAll(live);
+        return out;
+    }
+
+    /** Cached best starting five for one team; empty if it can't field all five positions. */
+    public Optional<Lineup> optimize(String teamId) {
+        return Optional.ofNullable(lookup(teamId).lineup());
+    }
+
+    public Metrics metrics() {
+        return new Metrics(hits.sum(), misses.sum());
+    }
+
+    private Cached lookup(String teamId) {
+        return service.readTeam(teamId, team -> {
+            Stamp stamp = stampOf(team);
+            Cached cached = cache.get(teamId);
+            if (cached != null && cached.stamp().equals(stamp)) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            Lineup lineup;
+            try {
+                lineup = optimizers.get().bestStartingFive(team);
+            } catch (IllegalStateException missingPosition) {
+                lineup = null;
+            }
+            Cached fresh = new Cached(stamp, lineup);
+            cache.put(teamId, fresh);
+            return fresh;
+        });
+    }
+
+    private static Stamp stampOf(Team team) {
+        // Fatigue versions only grow, so their sum changes whenever any player's does
+        // while the roster stays the same; roster moves bump rosterVersion.
+        long fatigue = 0;
+        for (Player p : team) fatigue += p.fatigueVersion();
+        return new Stamp(team, team.rosterVersion(), fatigue);
+    }
+}
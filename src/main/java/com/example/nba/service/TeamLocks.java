@@ -0,0 +1,49 @@
+package com.example.nba.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One lock per teamId. Multi-team operations acquire in teamId order so two
+ * opposite trades (A->B, B->A) can never deadlock.
+ */
+final class TeamLocks {
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    ReentrantLock of(String teamId) {
+        return locks.computeIfAbsent(Objects.requireNonNull(teamId), id -> new ReentrantLock());
+    }
+
+    /** Locks a single team; release the returned handle in a {@code finally}. */
+    Held lock(String teamId) {
+        ReentrantLock l = of(teamId);
+        l.lock();
+        return l::unlock;
+    }
+
+    /** Locks both teams in a global (lexicographic) order; a == b locks once. */
+    Held lockBoth(String a, String b) {
+        int cmp = a.compareTo(b);
+        if (cmp == 0) return lock(a);
+        ReentrantLock first = of(cmp < 0 ? a : b);
+        ReentrantLock second = of(cmp < 0 ? b : a);
+        first.lock();
+        try {
+            second.lock();
+        } catch (RuntimeException e) {
+            first.unlock();
+            throw e;
+        }
+        return () -> {
+            second.unlock();
+            first.unlock();
+        };
+    }
+
+    @FunctionalInterface
+    interface Held {
+        void release();
+    }
+}
@@ -1,22 +1,37 @@
 package com.example.nba.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
-import com.example.nba.audit.AuditEntry;
 import com.example.nba.audit.AuditLogRepository;
 import com.example.nba.domain.Coach;
 import com.example.nba.domain.Contract;
 import com.example.nba.domain.Money;
 import com.example.nba.domain.Player;
 import com.example.nba.domain.Role;
+import com.example.nba.domain.SalaryCap;
 import com.example.nba.domain.SalaryStrategy;
 import com.example.nba.domain.Team;
+import com.example.nba.events.LeagueEvent;
+import com.example.nba.events.LeagueEventCodec;
 import com.example.nba.repo.TeamRepository;
 
+/**
+ * Safe for concurrent use: every mutation holds its team's lock (both teams for
+ * a trade, acquired in teamId order), and audit entries are chained and appended
+ * atomically via {@link AuditLogRepository#appendNext}.
+ *
+ * Successful mutations also carry an encoded {@link LeagueEvent} in their audit
+ * entry, so {@code LeagueReplayer} can rebuild the league from the log alone.
+ */
 public final class TeamManagementService {
     private final TeamRepository teams;
     private final AuditLogRepository audit;
+    private final TeamLocks locks = new TeamLocks();
 
     public TeamManagementService(TeamRepository teams, AuditLogRepository audit) {
         this.teams = Objects.requireNonNull(teams);
@@ -28,91 +43,221 @@ public final class TeamManagementService {
     public Team getTeam(String teamId) { return teams.findById(teamId).orElseThrow(); }
     public AuditLogRepository audit() { return audit; }
 
-    public void registerTeam(Role actor, Team team) {
-        String before = "NONE";
-        teams.save(team);
-        String after = team.toString();
-        audit.append(new AuditEntry(actor, "REGISTER_TEAM", before, after, audit.tailHash()));
+    /** Consistent read of a team while other threads may be mutating it. */
+    public <R> R readTeam(String teamId, Function<Team, R> reader) {
+        TeamLocks.Held held = locks.lock(teamId);
+        try {
+            return reader.apply(getTeam(teamId));
+        } finally {
+            held.release();
+        }
     }
 
-    public void signPlayer(Role actor, String teamId, Player player, Contract contract, SalaryStrategy strategy) {
-        Team team = teams.findById(teamId).orElseThrow();
-        String before = team.toString();
+    /**
+     * Copies every team's roster (via {@link Player#copy()}), each under its own team
+     * lock, keyed by teamId in repository order. Callers may mutate the copies freely.
+     */
+    public Map<String, List<Player>> snapshotRosters() {
+        Map<String, List<Player>> out = new LinkedHashMap<>();
+        for (Team t : teams.findAll()) {
+            out.put(t.teamId(), readTeam(t.teamId(), team -> {
+                List<Player> copies = new ArrayList<>(team.rosterSize());
+                for (Player p : team) copies.add(p.copy());
+                return copies;
+            }));
+        }
+        return out;
+    }
+
+    /** Applies {@code reader} to every team, each under its own lock, in repository order. */
+    public <R> List<R> readEachTeam(Function<Team, R> reader) {
+        List<R> out = new ArrayList<>();
+        for (Team t : teams.findAll()) out.add(readTeam(t.teamId(), reader));
+        return out;
+    }
 
-        if (!(actor instanceof Coach)) {
-            audit.append(new AuditEntry(actor, "SIGN_PLAYER_REJECTED", before, before, audit.tailHash()));
-            throw new SecurityException("Only Coach may sign players");
+    public void registerTeam(Role actor, Team team) {
+        TeamLocks.Held held = locks.lock(team.teamId());
+        try {
+            String before = "NONE";
+            teams.save(team);
+            String after = team.toString();
+            audit.appendNext(actor, "REGISTER_TEAM", before, after,
+                    LeagueEventCodec.encode(LeagueEvent.TeamRegistered.of(team)));
+        } finally {
+            held.release();
         }
+    }
 
-        Money annual = Objects.requireNonNull(strategy).annualSalary(player, contract);
-        team.salaryCap().commit(annual);
-        team.addPlayer(player, annual);
+    /** A player and the contract to sign them to, for {@link #importTeam}. */
+    public record Signing(Player player, Contract contract) {
+        public Signing {
+            Objects.requireNonNull(player);
+            Objects.requireNonNull(contract);
+        }
+    }
 
-        String after = team.toString();
-        audit.append(new AuditEntry(actor, "SIGN_PLAYER", before, after, audit.tailHash()));
-        teams.save(team);
+    /** Outcome of {@link #importTeam}: playerIds signed (in roster order) and those that didn't fit. */
+    public record ImportResult(String teamId, List<String> signed, List<String> skipped) {
+        public ImportResult {
+            signed = List.copyOf(signed);
+            skipped = List.copyOf(skipped);
+        }
     }
 
-    public void waivePlayer(Role actor, String teamId, String playerId) {
-        Team team = teams.findById(teamId).orElseThrow();
-        String before = team.toString();
+    /**
+     * Bulk form of {@link #registerTeam} followed by {@link #signPlayer} for each signing
+     * in order, for seeding. It ends in the same team state: a signing that would
+     * exceed the cap, overfill the roster, repeat a playerId or be rejected by
+     * {@code strategy} is skipped, as a failed signPlayer would leave it. The cost
+     * differs: one pass over the roster, one repository save, and a single
+     * {@code IMPORT_TEAM} audit entry whose event is the whole registered team, so the
+     * chain stays verifiable and replayable.
+     */
+    public ImportResult importTeam(Role actor, Team team, List<Signing> signings, SalaryStrategy strategy) {
+        Objects.requireNonNull(strategy);
+        TeamLocks.Held held = locks.lock(team.teamId());
+        try {
+            if (!(actor instanceof Coach)) {
+                audit.appendNext(actor, "IMPORT_TEAM_REJECTED", "NONE", "NONE");
+                throw new SecurityException("Only Coach may sign players");
+            }
+
+            SalaryCap cap = team.salaryCap();
+            List<String> signed = new ArrayList<>(signings.size());
+            List<String> skipped = new ArrayList<>();
+            for (Signing s : signings) {
+                Player p = s.player();
+                Money annual;
+                try {
+                    annual = strategy.annualSalary(p, s.contract());
+                } catch (RuntimeException e) {
+                    skipped.add(p.playerId());
+                    continue;
+                }
+                if (annual.cents() > cap.remainingCents() || team.rosterSize() >= Team.MAX_ROSTER
+                        || team.findPlayerById(p.playerId()).isPresent()) {
+                    skipped.add(p.playerId());
+                    continue;
+                }
+                cap.commit(annual);
+                team.addPlayer(p, annual);
+                signed.add(p.playerId());
+            }
 
-        if (!(actor instanceof Coach)) {
-            audit.append(new AuditEntry(actor, "WAIVE_PLAYER_REJECTED", before, before, audit.tailHash()));
-            throw new SecurityException("Only Coach may waive players");
+            teams.save(team);
+            audit.appendNext(actor, "IMPORT_TEAM", "NONE", team.toString(),
+                    LeagueEventCodec.encode(LeagueEvent.TeamRegistered.of(team)));
+            return new ImportResult(team.teamId(), signed, skipped);
+        } finally {
+            held.release();
         }
+    }
 
-        Player p = team.findPlayerById(playerId).orElse(null);
-        if (p == null) {
-            audit.append(new AuditEntry(actor, "WAIVE_PLAYER_NOT_FOUND", before, before, audit.tailHash()));
-            throw new IllegalArgumentException("Player not on roster: " + playerId);
+    public void signPlayer(Role actor, String teamId, Player player, Contract contract, SalaryStrategy strategy) {
+        TeamLocks.Held held = locks.lock(teamId);
+        try {
+            Team team = teams.findById(teamId).orElseThrow();
+            String before = team.toString();
+
+            if (!(actor instanceof Coach)) {
+                audit.appendNext(actor, "SIGN_PLAYER_REJECTED", before, before);
+                throw new SecurityException("Only Coach may sign players");
+            }
+
+            Money annual = Objects.requireNonNull(strategy).annualSalary(player, contract);
+            team.salaryCap().commit(annual);
+            try {
+                team.addPlayer(player, annual);
+            } catch (RuntimeException e) {
+                team.salaryCap().uncommit(annual);
+                throw e;
+            }
+
+            String after = team.toString();
+            audit.appendNext(actor, "SIGN_PLAYER", before, after,
+                    LeagueEventCodec.encode(LeagueEvent.PlayerSigned.of(teamId, player, annual)));
+            teams.save(team);
+        } finally {
+            held.release();
         }
+    }
+
+    public void waivePlayer(Role actor, String teamId, String playerId) {
+        TeamLocks.Held held = locks.lock(teamId);
+        try {
+            Team team = teams.findById(teamId).orElseThrow();
+            String before = team.toString();
+
+            if (!(actor instanceof Coach)) {
+                audit.appendNext(actor, "WAIVE_PLAYER_REJECTED", before, before);
+                throw new SecurityException("Only Coach may waive players");
+            }
 
-        Money annual = team.annualSalaryFor(playerId);
+            Player p = team.findPlayerById(playerId).orElse(null);
+            if (p == null) {
+                audit.appendNext(actor, "WAIVE_PLAYER_NOT_FOUND", before, before);
+                throw new IllegalArgumentException("Player not on roster: " + playerId);
+            }
 
-        team.removePlayer(p);
-        team.salaryCap().uncommit(annual);
+            Money annual = team.annualSalaryFor(playerId);
 
-        String after = team.toString();
-        audit.append(new AuditEntry(actor, "WAIVE_PLAYER", before, after, audit.tailHash()));
-        teams.save(team);
+            team.removePlayer(p);
+            team.salaryCap().uncommit(annual);
+
+            String after = team.toString();
+            audit.appendNext(actor, "WAIVE_PLAYER", before, after,
+                    LeagueEventCodec.encode(new LeagueEvent.PlayerWaived(teamId, playerId)));
+            teams.save(team);
+        } finally {
+            held.release();
+        }
     }
 
     public void trade(Role actor, String fromTeamId, String toTeamId, String playerId) {
-        Team from = teams.findById(fromTeamId).orElseThrow();
-        Team to = teams.findById(toTeamId).orElseThrow();
+        TeamLocks.Held held = locks.lockBoth(fromTeamId, toTeamId);
+        try {
+            Team from = teams.findById(fromTeamId).orElseThrow();
+            Team to = teams.findById(toTeamId).orElseThrow();
 
-        String beforeFrom = from.toString();
-        String beforeTo = to.toString();
+            String beforeFrom = from.toString();
+            String beforeTo = to.toString();
 
-        if (!(actor instanceof Coach)) {
-            audit.append(new AuditEntry(actor, "TRADE_REJECTED",
-                    beforeFrom + " | " + beforeTo,
-                    beforeFrom + " | " + beforeTo,
-                    audit.tailHash()));
-            throw new SecurityException("Only Coach may execute trades");
-        }
+            if (!(actor instanceof Coach)) {
+                audit.appendNext(actor, "TRADE_REJECTED",
+                        beforeFrom + " | " + beforeTo,
+                        beforeFrom + " | " + beforeTo);
+                throw new SecurityException("Only Coach may execute trades");
+            }
 
-        Player p = from.findPlayerById(playerId).orElse(null);
-        if (p == null) throw new IllegalArgumentException("Player not on from-team: " + playerId);
+            Player p = from.findPlayerById(playerId).orElse(null);
+            if (p == null) throw new IllegalArgumentException("Player not on from-team: " + playerId);
 
-        Money annual = from.annualSalaryFor(playerId);
+            Money annual = from.annualSalaryFor(playerId);
 
-        from.removePlayer(p);
-        from.salaryCap().uncommit(annual);
+            // Land the player on the receiving side first so a cap/roster failure leaves both teams untouched.
+            to.salaryCap().commit(annual);
+            try {
+                to.addPlayer(p, annual);
+            } catch (RuntimeException e) {
+                to.salaryCap().uncommit(annual);
+                throw e;
+            }
 
-        to.salaryCap().commit(annual);
-        to.addPlayer(p, annual);
+            from.removePlayer(p);
+            from.salaryCap().uncommit(annual);
 
-        String afterFrom = from.toString();
-        String afterTo = to.toString();
+            String afterFrom = from.toString();
+            String afterTo = to.toString();
 
-        audit.append(new AuditEntry(actor, "TRADE_PLAYER",
-                beforeFrom + " | " + beforeTo,
-                afterFrom + " | " + afterTo,
-                audit.tailHash()));
+            audit.appendNext(actor, "TRADE_PLAYER",
+                    beforeFrom + " | " + beforeTo,
+                    afterFrom + " | " + afterTo,
+                    LeagueEventCodec.encode(new LeagueEvent.PlayerTraded(fromTeamId, toTeamId, playerId)));
 
-        teams.save(from);
-        teams.save(to);
+            teams.saveAll(from, to);
+        } finally {
+            held.release();
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.example.nba;
+
+import com.example.nba.audit.AsyncAuditLogRepository;
+import com.example.nba.audit.AsyncAuditLogRepository.Durability;
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.AuditLogRepository;
+import com.example.nba.audit.FileAuditLogRepository;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.Coach;
+import com.example.nba.domain.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncAuditWriterTest {
+
+    private final Role coach = new Coach("u1", "Coach");
+
+    @Test
+    void concurrentPublishersProduceOneValidChain() throws Exception {
+        for (Durability mode : Durability.values()) {
+            // Tiny ring so publishers hit backpressure.
+            try (var async = new AsyncAuditLogRepository(new InMemoryAuditLogRepository(), mode, 4, 3)) {
+                List<Thread> threads = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int id = t;
+                    threads.add(new Thread(() -> {
+                        for (int i = 0; i < 500; i++) async.appendNext(coach, "T" + id, "b" + i, "a" + i);
+                    }));
+                }
+                threads.forEach(Thread::start);
+                for (Thread t : threads) t.join();
+
+                assertEquals(2_000, async.all().size(), mode.name());
+                assertTrue(async.verifyIntegrity(), mode.name());
+                List<AuditEntry> all = async.all();
+                for (int i = 1; i < all.size(); i++) {
+                    assertFalse(all.get(i).timestamp().isBefore(all.get(i - 1).timestamp()),
+                            mode + ": timestamps out of chain order at " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void waitForFsyncIsDurableAcrossReopen(@TempDir Path dir) {
+        String tail;
+        try (var file = FileAuditLogRepository.builder(dir).fsyncPolicy(FileAuditLogRepository.FsyncPolicy.NEVER).open();
+             var async = new AsyncAuditLogRepository(file, Durability.WAIT_FOR_FSYNC)) {
+            for (int i = 0; i < 100; i++) async.appendNext(coach, "A" + i, "b", "a");
+            tail = async.tailHash();
+        }
+        try (var reopened = FileAuditLogRepository.builder(dir).open()) {
+            assertEquals(tail, reopened.tailHash());
+            assertTrue(reopened.verifyIntegrity());
+        }
+    }
+
+    @Test
+    void writerFailureSurfacesToPublishers() {
+        var async = new AsyncAuditLogRepository(new FailingLog(), Durability.WAIT_FOR_APPEND);
+        assertThrows(IllegalStateException.class, () -> async.appendNext(coach, "A", "b", "a"));
+        assertThrows(IllegalStateException.class, () -> async.appendNext(coach, "B", "b", "a"));
+    }
+
+    private static final class FailingLog implements AuditLogRepository {
+        @Override public String genesisHash() { return "GENESIS"; }
+        @Override public void append(com.example.nba.audit.AuditEntry entry) { throw new IllegalStateException("disk full"); }
+        @Override public List<com.example.nba.audit.AuditEntry> all() { return List.of(); }
+        @Override public String tailHash() { return "GENESIS"; }
+        @Override public boolean verifyIntegrity() { return true; }
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.nba;
 
+import com.example.nba.audit.AuditChainVerifier;
 import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.ChainVerification;
 import com.example.nba.audit.InMemoryAuditLogRepository;
 import com.example.nba.domain.Coach;
 import com.example.nba.domain.Role;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AuditChainTest {
@@ -23,4 +31,45 @@ public class AuditChainTest {
         assertEquals(3, repo.all().size());
         assertNotEquals(repo.genesisHash(), repo.tailHash());
     }
+
+    @Test
+    void parallelVerificationReportsFirstBrokenIndex() {
+        var repo = new InMemoryAuditLogRepository();
+        Role coach = new Coach("u1", "Coach");
+        for (int i = 0; i < 5_000; i++) repo.appendNext(coach, "A" + i, "b" + i, "a" + i);
+
+        List<AuditEntry> entries = new ArrayList<>(repo.all());
+        var verifier = new AuditChainVerifier(ForkJoinPool.commonPool(), 64);
+        assertEquals(ChainVerification.ok(5_000), verifier.verify(entries, repo.genesisHash()));
+
+        // Forged entries at 3_000 and 4_500: only the first one is reported.
+        entries.set(3_000, new AuditEntry(coach, "FORGED", "x", "y", entries.get(2_999).hash() + "0"));
+        entries.set(4_500, new AuditEntry(coach, "FORGED", "x", "y", "nope"));
+        ChainVerification result = verifier.verify(entries, repo.genesisHash());
+        assertFalse(result.intact());
+        assertEquals(3_000, result.firstBrokenIndex());
+
+        repo.append(new AuditEntry(coach, "FORGED", "x", "y", "not-the-tail"));
+        assertEquals(5_000, repo.verifyChain().firstBrokenIndex());
+        assertFalse(repo.verifyIntegrity());
+    }
+
+    @Test
+    void streamingHashMatchesLegacyConcatenatedHash() throws Exception {
+        Role coach = new Coach("u1", "Coach");
+        String[] states = { "", "plain", "Dončić ✅ 🏀", "lone \ud83c surrogate", "x".repeat(20_000) + "é" };
+        for (String state : states) {
+            AuditEntry e = new AuditEntry(coach, "SIGN_PLAYER", state, state + "|after", "GENESIS");
+            String legacyInput = e.prevHash() + "|" + e.actorId() + "|" + e.actorRole() + "|" + e.action()
+                    + "|" + e.beforeState() + "|" + e.afterState() + "|" + e.timestamp();
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(legacyInput.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : d) hex.append(String.format("%02x", b));
+
+            assertEquals(hex.toString(), e.hash());
+            assertEquals(hex.toString(), AuditEntry.sha256(legacyInput));
+            assertTrue(e.verifiesAgainst("GENESIS"));
+            assertFalse(e.verifiesAgainst("GENESIS!"));
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.example.nba;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.AuditLogRepository;
+import com.example.nba.audit.AuditPage;
+import com.example.nba.audit.AuditQuery;
+import com.example.nba.audit.FileAuditLogRepository;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.Coach;
+import com.example.nba.domain.AssistantCoach;
+import com.example.nba.domain.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditQueryTest {
+
+    private static final String[] ACTIONS = {"SIGN_PLAYER", "WAIVE_PLAYER", "TRADE_PLAYER", "SIGN_PLAYER_REJECTED"};
+
+    private final Role coach = new Coach("c1", "Coach");
+    private final Role gm = new AssistantCoach("gm1", "Assistant");
+
+    @Test
+    void inMemoryIndexesMatchAFullScan() {
+        checkAgainstScan(new InMemoryAuditLogRepository());
+    }
+
+    @Test
+    void fileIndexesMatchAFullScanAcrossSegments(@TempDir Path dir) {
+        try (var log = FileAuditLogRepository.builder(dir).maxSegmentBytes(4096).open()) {
+            checkAgainstScan(log);
+        }
+        // Reopened: the index is rebuilt from disk on first query.
+        try (var log = FileAuditLogRepository.builder(dir).open()) {
+            AuditQuery trades = AuditQuery.builder().action("TRADE_PLAYER").build();
+            assertEquals(log.stream().filter(trades::matches).count(), log.query(trades).count());
+        }
+    }
+
+    private void checkAgainstScan(AuditLogRepository log) {
+        Instant start = Instant.now();
+        for (int i = 0; i < 400; i++) {
+            log.appendNext(i % 3 == 0 ? gm : coach, ACTIONS[i % ACTIONS.length], "b" + i, "a" + i);
+        }
+        // Built before the first query, so File starts its index from the scan, then appends keep it current.
+        log.query(AuditQuery.all(), 0, 1);
+        for (int i = 400; i < 500; i++) log.appendNext(coach, "TRADE_PLAYER", "b" + i, "a" + i);
+        List<AuditEntry> all = log.all();
+        Instant mid = all.get(250).timestamp();
+
+        List<AuditQuery> queries = List.of(
+                AuditQuery.all(),
+                AuditQuery.builder().action("TRADE_PLAYER").build(),
+                AuditQuery.builder().actorId("gm1").action("SIGN_PLAYER").build(),
+                AuditQuery.builder().actorRole("Coach").from(mid).build(),
+                AuditQuery.builder().from(start).to(mid).build(),
+                AuditQuery.builder().action("NO_SUCH_ACTION").build());
+
+        for (AuditQuery q : queries) {
+            List<String> expected = all.stream().filter(q::matches).map(AuditEntry::hash).toList();
+            assertEquals(expected, log.query(q).map(AuditEntry::hash).toList(), q.toString());
+
+            List<String> paged = new ArrayList<>();
+            long cursor = 0;
+            AuditPage page;
+            do {
+                page = log.query(q, cursor, 7);
+                assertTrue(page.entries().size() <= 7);
+                page.entries().forEach(e -> paged.add(e.hash()));
+                cursor = page.nextCursor();
+            } while (page.hasMore());
+            assertEquals(expected, paged, q.toString());
+        }
+    }
+
+    @Test
+    void timeRangesStayCorrectAfterTheClockStepsBack() {
+        var log = new InMemoryAuditLogRepository();
+        Instant t0 = Instant.parse("2026-01-01T00:00:00Z");
+        // 0..99s, then the clock steps back 50s and runs on: two non-decreasing runs.
+        for (int i = 0; i < 200; i++) {
+            Instant ts = t0.plusSeconds(i < 100 ? i : i - 50);
+            log.append(new AuditEntry(coach, ACTIONS[i % ACTIONS.length], "b" + i, "a" + i, AuditEntry.NO_EVENT,
+                    log.tailHash(), ts));
+        }
+        List<AuditEntry> all = log.all();
+        for (AuditQuery q : List.of(
+                AuditQuery.builder().from(t0.plusSeconds(60)).to(t0.plusSeconds(90)).build(),
+                AuditQuery.builder().action("WAIVE_PLAYER").from(t0.plusSeconds(120)).build(),
+                AuditQuery.builder().to(t0.plusSeconds(55)).build())) {
+            List<String> expected = all.stream().filter(q::matches).map(AuditEntry::hash).toList();
+            assertEquals(expected, log.query(q).map(AuditEntry::hash).toList(), q.toString());
+            assertEquals(expected.subList(0, 5), log.query(q, 0, 5).entries().stream().map(AuditEntry::hash).toList());
+        }
+        assertEquals(60, log.query(AuditQuery.builder().from(t0.plusSeconds(60)).to(t0.plusSeconds(90)).build()).count());
+    }
+
+    @Test
+    void pagesAreLimitedAndCursorResumes() {
+        var log = new InMemoryAuditLogRepository();
+        for (int i = 0; i < 10; i++) log.appendNext(coach, i % 2 == 0 ? "SIGN_PLAYER" : "WAIVE_PLAYER", "b", "a");
+        AuditQuery signs = AuditQuery.builder().action("SIGN_PLAYER").build();
+
+        AuditPage first = log.query(signs, 0, 3);
+        assertEquals(3, first.entries().size());
+        assertEquals(5, first.nextCursor()); // just past position 4
+        AuditPage second = log.query(signs, first.nextCursor(), 3);
+        assertEquals(2, second.entries().size());
+        assertFalse(second.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> log.query(signs, 0, 0));
+    }
+}
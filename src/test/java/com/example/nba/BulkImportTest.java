@@ -0,0 +1,99 @@
+package com.example.nba;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.events.LeagueReplayer;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import com.example.nba.service.TeamManagementService.ImportResult;
+import com.example.nba.service.TeamManagementService.Signing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.nba.LeagueFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkImportTest {
+
+    private final Role coach = new Coach("u1", "Coach");
+    private final SalaryStrategy salary = new StandardSalaryStrategy();
+
+    @Test
+    void importMatchesSigningOneByOneWithOneAuditEntryPerTeam(@TempDir Path dir) {
+        var bulkRepo = new InMemoryTeamRepository();
+        var bulkLog = new InMemoryAuditLogRepository();
+        var bulk = new TeamManagementService(bulkRepo, bulkLog);
+        var oneByOneRepo = new InMemoryTeamRepository();
+        var oneByOne = new TeamManagementService(oneByOneRepo, new InMemoryAuditLogRepository());
+
+        for (int t = 0; t < 3; t++) {
+            List<Signing> signings = signings("T" + t);
+            ImportResult r = bulk.importTeam(coach, team(t), signings, salary);
+            assertEquals("T" + t, r.teamId());
+
+            oneByOne.registerTeam(coach, team(t));
+            for (Signing s : signings) {
+                try {
+                    oneByOne.signPlayer(coach, "T" + t, s.player(), s.contract(), salary);
+                } catch (RuntimeException ignored) {
+                    // cap exceeded / duplicate: skipped
+                }
+            }
+        }
+        assertEquals(describe(oneByOneRepo), describe(bulkRepo));
+
+        // $10M cap at $4M a year: two fit, the third and the duplicate don't, the $1M one still does.
+        ImportResult t0 = bulk.importTeam(coach, team(9), signings("T9"), salary);
+        assertEquals(List.of("T9-0", "T9-1", "T9-3"), t0.signed());
+        assertEquals(List.of("T9-2", "T9-0"), t0.skipped());
+        assertEquals(Money.of(9_000_000), bulk.getTeam("T9").salaryCap().committed());
+
+        List<String> actions = new ArrayList<>();
+        for (AuditEntry e : bulkLog.all()) actions.add(e.action());
+        assertEquals(List.of("IMPORT_TEAM", "IMPORT_TEAM", "IMPORT_TEAM", "IMPORT_TEAM"), actions);
+        assertTrue(bulkLog.verifyIntegrity());
+
+        var rebuilt = new InMemoryTeamRepository();
+        LeagueReplayer.builder(dir).build().rebuild(bulkLog, rebuilt);
+        assertEquals(describe(bulkRepo), describe(rebuilt));
+    }
+
+    @Test
+    void onlyCoachMayImport() {
+        var repo = new InMemoryTeamRepository();
+        var log = new InMemoryAuditLogRepository();
+        var svc = new TeamManagementService(repo, log);
+
+        assertThrows(SecurityException.class,
+                () -> svc.importTeam(new AssistantCoach("u2", "Assistant"), team(0), signings("T0"), salary));
+        assertTrue(repo.findById("T0").isEmpty());
+        assertEquals("IMPORT_TEAM_REJECTED", log.all().get(0).action());
+        assertTrue(log.verifyIntegrity());
+    }
+
+    private static Team team(int t) {
+        return new Team("T" + t, "Team " + t, new SalaryCap(Money.of(10_000_000)));
+    }
+
+    private static List<Signing> signings(String teamId) {
+        PlayerFactory pf = new PlayerFactory();
+        List<Signing> out = new ArrayList<>();
+        long[] annual = {4_000_000, 4_000_000, 4_000_000, 1_000_000};
+        for (int i = 0; i < annual.length; i++) {
+            PlayerBuilder b = new PlayerBuilder().playerId(teamId + "-" + i).name("P" + i)
+                    .position(Position.values()[i % 5]).age(22 + i).offense(60 + i).defense(70 - i);
+            out.add(new Signing(pf.create(ExperienceLevel.VETERAN, b),
+                    Contract.builder().totalValue(Money.of(annual[i] * 2)).years(2).build()));
+        }
+        // A repeated playerId is skipped like the duplicate signPlayer would reject.
+        out.add(new Signing(out.get(0).player(), out.get(3).contract()));
+        return out;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.nba;
+
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentServiceStressTest {
+
+    private static final int TEAMS = 6;
+    private static final int PLAYERS_PER_TEAM = 12;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 2_000;
+    private static final Money SALARY = Money.of(1_000_000);
+
+    @Test
+    void capTotalsAndRosterCountsSurviveContention() throws Exception {
+        var teams = new InMemoryTeamRepository();
+        var audit = new InMemoryAuditLogRepository();
+        var svc = new TeamManagementService(teams, audit);
+        Role coach = new Coach("c1", "Coach");
+        PlayerFactory pf = new PlayerFactory();
+
+        List<String> teamIds = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            String id = "T" + t;
+            teamIds.add(id);
+            // Tight cap: trades into a full-cap team must be rejected without losing the player.
+            svc.registerTeam(coach, new Team(id, id, new SalaryCap(Money.of(15_000_000))));
+            for (int i = 0; i < PLAYERS_PER_TEAM; i++) {
+                svc.signPlayer(coach, id, player(pf, id + "-" + i), contract(), new StandardSalaryStrategy());
+            }
+        }
+        int seeded = audit.all().size();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger waived = new AtomicInteger();
+        AtomicInteger signed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int th = 0; th < THREADS; th++) {
+            int seed = th;
+            futures.add(pool.submit(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed);
+                start.await();
+                for (int op = 0; op < OPS_PER_THREAD; op++) {
+                    String a = teamIds.get(rnd.nextInt(TEAMS));
+                    String b = teamIds.get(rnd.nextInt(TEAMS));
+                    try {
+                        switch (rnd.nextInt(4)) {
+                            case 0 -> {
+                                svc.waivePlayer(coach, a, svc.readTeam(a, t -> anyPlayerId(t, rnd)));
+                                waived.incrementAndGet();
+                            }
+                            case 1 -> {
+                                svc.signPlayer(coach, a, player(pf, "fa-" + seed + "-" + op), contract(), new StandardSalaryStrategy());
+                                signed.incrementAndGet();
+                            }
+                            default -> svc.trade(coach, a, b, svc.readTeam(a, t -> anyPlayerId(t, rnd)));
+                        }
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException | IllegalStateException expected) {
+                        // empty roster, cap/roster full, player moved by another thread, same-team trade
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        int rostered = 0;
+        for (Team t : svc.listTeams()) {
+            long expectedCents = 0;
+            for (Player p : t) expectedCents += t.annualSalaryFor(p.playerId()).cents();
+            assertEquals(Money.ofCents(expectedCents), t.salaryCap().committed(), "committed for " + t.teamId());
+            assertTrue(t.rosterSize() <= 20);
+            rostered += t.rosterSize();
+        }
+        assertEquals(TEAMS * PLAYERS_PER_TEAM + signed.get() - waived.get(), rostered);
+
+        assertTrue(audit.verifyIntegrity());
+        long mutations = audit.all().stream().skip(seeded)
+                .filter(e -> !e.action().endsWith("_NOT_FOUND")).count();
+        assertEquals(succeeded.get(), mutations);
+    }
+
+    private static String anyPlayerId(Team t, SplittableRandom rnd) {
+        List<String> ids = new ArrayList<>();
+        for (Player p : t) ids.add(p.playerId());
+        if (ids.isEmpty()) throw new IllegalStateException("empty roster");
+        return ids.get(rnd.nextInt(ids.size()));
+    }
+
+    private static Player player(PlayerFactory pf, String id) {
+        return pf.create(ExperienceLevel.VETERAN, new PlayerBuilder()
+                .playerId(id).name(id).position(Position.values()[Math.floorMod(id.hashCode(), 5)])
+                .age(27).offense(75).defense(75).yearsInLeague(4));
+    }
+
+    private static Contract contract() {
+        return Contract.builder().totalValue(SALARY).years(1).build();
+    }
+}
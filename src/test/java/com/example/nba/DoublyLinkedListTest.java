@@ -31,4 +31,19 @@ public class DoublyLinkedListTest {
         assertFalse(list.contains("b"));
         assertEquals(2, list.size());
     }
+
+    @Test
+    void unlinkByNodeHandleRemovesInPlace() {
+        DoublyLinkedList<String> list = new DoublyLinkedList<>();
+        list.addLast("a");
+        DoublyLinkedList.Node<String> b = list.linkLast("b");
+        list.addLast("c");
+
+        assertEquals("b", list.unlink(b));
+        assertFalse(b.isLinked());
+        assertEquals(2, list.size());
+        assertEquals("a", list.removeFirst());
+        assertEquals("c", list.removeFirst());
+        assertThrows(IllegalArgumentException.class, () -> list.unlink(b));
+    }
 }
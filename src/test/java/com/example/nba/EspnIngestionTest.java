@@ -0,0 +1,243 @@
+package com.example.nba;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.Coach;
+import com.example.nba.domain.Player;
+import com.example.nba.domain.Role;
+import com.example.nba.integration.EspnClient;
+import com.example.nba.integration.EspnEndpoints;
+import com.example.nba.integration.EspnRosterSeeder;
+import com.example.nba.integration.RosterCache;
+import com.example.nba.integration.StatBasedRatingModel;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EspnIngestionTest {
+
+    private static final String[] TEAMS = { "AAA", "BBB", "CCC" };
+    private static final int PLAYERS_PER_TEAM = 4;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<String> failingRosters = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> rosterSize = new ConcurrentHashMap<>();
+
+    @Test
+    void pipelinedSeedKeepsEspnOrderAndRespectsLimits(@TempDir Path cacheDir) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService handlers = Executors.newFixedThreadPool(16);
+        server.setExecutor(handlers);
+        server.createContext("/site/teams", this::handleSite);
+        server.createContext("/web/athletes", this::handleStats);
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            EspnClient api = EspnClient.builder()
+                    .requestsPerSecond(40)
+                    .burst(1)
+                    .maxConcurrentPerHost(3)
+                    .build();
+            var teams = new InMemoryTeamRepository();
+            var audit = new InMemoryAuditLogRepository();
+            var svc = new TeamManagementService(teams, audit);
+            Role coach = new Coach("c1", "Coach");
+
+            long t0 = System.nanoTime();
+            new EspnRosterSeeder(api, new EspnEndpoints(base + "/site", base + "/web"), new RosterCache(cacheDir, "stub"))
+                    .seed(svc, coach);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+
+            int expectedRequests = 1 + TEAMS.length + TEAMS.length * PLAYERS_PER_TEAM;
+            assertEquals(expectedRequests, requests.get());
+            assertTrue(maxInFlight.get() <= 3, "per-host cap exceeded: " + maxInFlight.get());
+            // burst 1 at 40 rps: the requests after the first are spaced 25ms apart.
+            assertTrue(seconds >= (expectedRequests - 1) / 40.0 * 0.9, "rate limit not applied: " + seconds + "s");
+
+            // Deterministic insertion: team by team in ESPN order, players in roster order,
+            // even though BBB's roster is the slowest to arrive. Each team is one bulk import.
+            List<String> actions = new ArrayList<>();
+            for (AuditEntry e : audit.all()) actions.add(e.action());
+            List<String> expected = new ArrayList<>();
+            for (String ignored : TEAMS) expected.add("IMPORT_TEAM");
+            assertEquals(expected, actions);
+            assertTrue(audit.verifyIntegrity());
+
+            for (String abbr : TEAMS) {
+                List<String> ids = new ArrayList<>();
+                for (Player p : svc.getTeam(abbr)) {
+                    ids.add(p.playerId());
+                    assertEquals(50 + 22, p.offense()); // 10 ppg * 2.2
+                }
+                assertEquals(List.of(abbr + "0", abbr + "1", abbr + "2", abbr + "3"), ids);
+            }
+            assertTrue(new RosterCache(cacheDir, "stub").exists());
+        } finally {
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+    }
+
+    @Test
+    void refreshOnlyRefetchesWhatIsStaleAndKeepsLastGoodDataOnFailure(@TempDir Path cacheDir) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/site/teams", this::handleSite);
+        server.createContext("/web/athletes", this::handleStats);
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            EspnClient api = EspnClient.builder().requestsPerSecond(1000).build();
+            EspnEndpoints endpoints = new EspnEndpoints(base + "/site", base + "/web");
+            RosterCache cache = new RosterCache(cacheDir, "stub");
+            Role coach = new Coach("c1", "Coach");
+
+            EspnRosterSeeder.Report first = new EspnRosterSeeder(api, endpoints, cache).seed(newService(), coach);
+            assertEquals(new EspnRosterSeeder.Report(3, 3, 0, 12, 0, 0), first);
+
+            // Everything fresh: no network at all.
+            requests.set(0);
+            EspnRosterSeeder.Report cached = new EspnRosterSeeder(api, endpoints, cache).seed(newService(), coach);
+            assertEquals(0, requests.get());
+            assertEquals(new EspnRosterSeeder.Report(3, 0, 3, 0, 12, 0), cached);
+
+            // Rosters stale, stats fresh: BBB signed a fifth player and only they are rated;
+            // CCC's roster call fails, so CCC keeps its cached roster.
+            requests.set(0);
+            rosterSize.put("BBB", PLAYERS_PER_TEAM + 1);
+            failingRosters.add("CCC");
+            TeamManagementService svc = newService();
+            EspnRosterSeeder.Report partial = new EspnRosterSeeder(api, endpoints, cache, Duration.ZERO,
+                    Duration.ofHours(1)).seed(svc, coach);
+            assertEquals(1, partial.failures());
+            assertEquals(2, partial.rostersFetched());
+            assertEquals(1, partial.statsFetched());
+            assertEquals(5, svc.getTeam("BBB").rosterSize());
+            assertEquals(PLAYERS_PER_TEAM, svc.getTeam("CCC").rosterSize());
+            assertEquals(50 + 22, svc.getTeam("CCC").findPlayerById("CCC0").orElseThrow().offense());
+            // team list + 3 roster attempts (CCC retried until it gave up) + BBB4's stats
+            assertEquals(1 + 2 + 4 + 1, requests.get());
+            assertEquals(5, cache.loadTeam("BBB").orElseThrow().players().size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static TeamManagementService newService() {
+        return new TeamManagementService(new InMemoryTeamRepository(), new InMemoryAuditLogRepository());
+    }
+
+    @Test
+    void statsAreStreamedFromTheLatestAveragesSeason() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/web/athletes/1/", ex -> {
+            // Field order varies: "name" after "statistics", "stats" before "season", newest season not last.
+            String body = "{\"athlete\":{\"nested\":[1,{\"a\":[]}]},\"categories\":["
+                    + "{\"statistics\":[{\"season\":{\"year\":2026},\"stats\":" + stats("99") + "}],\"name\":\"totals\"},"
+                    + "{\"statistics\":["
+                    + "{\"stats\":" + stats("20.0") + ",\"season\":{\"year\":\"2026\",\"type\":2}},"
+                    + "{\"season\":{\"year\":2024},\"stats\":" + stats("30.0") + "}"
+                    + "],\"name\":\"averages\"}]}";
+            respond(ex, body, 0);
+        });
+        server.createContext("/web/athletes/2/", ex -> respond(ex, "  \n<!DOCTYPE html><html>blocked</html>", 0));
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            var model = new StatBasedRatingModel(EspnClient.builder().build(),
+                    new EspnEndpoints(base + "/site", base + "/web"));
+
+            StatBasedRatingModel.Result ok = model.rate("1");
+            assertTrue(ok.ok(), ok.reason());
+            assertEquals(50 + 44, ok.rating().offense()); // 20 ppg * 2.2 from the 2026 season
+
+            StatBasedRatingModel.Result html = model.rate("2");
+            assertFalse(html.ok());
+            assertTrue(html.reason().contains("HTML"), html.reason());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /** GP..PTS with only PTS set. */
+    private static String stats(String pts) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 18; i++) sb.append(i > 0 ? "," : "").append(i == 17 ? "\"" + pts + "\"" : "\"0\"");
+        return sb.append(']').toString();
+    }
+
+    private void handleSite(HttpExchange ex) throws IOException {
+        String path = ex.getRequestURI().getPath();
+        if (path.equals("/site/teams")) {
+            StringBuilder sb = new StringBuilder("{\"sports\":[{\"leagues\":[{\"teams\":[");
+            for (int i = 0; i < TEAMS.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append("{\"team\":{\"id\":\"").append(TEAMS[i]).append("\",\"abbreviation\":\"").append(TEAMS[i])
+                        .append("\",\"displayName\":\"Team ").append(TEAMS[i]).append("\"}}");
+            }
+            respond(ex, sb.append("]}]}]}").toString(), 0);
+            return;
+        }
+        String abbr = path.split("/")[3];
+        if (failingRosters.contains(abbr)) {
+            requests.incrementAndGet();
+            ex.sendResponseHeaders(503, -1);
+            ex.close();
+            return;
+        }
+        StringBuilder sb = new StringBuilder("{\"athletes\":[");
+        String[] pos = { "PG", "SG", "SF", "C", "PF" };
+        for (int i = 0; i < rosterSize.getOrDefault(abbr, PLAYERS_PER_TEAM); i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":\"").append(abbr).append(i).append("\",\"displayName\":\"P").append(i)
+                    .append("\",\"position\":{\"abbreviation\":\"").append(pos[i]).append("\"}}");
+        }
+        respond(ex, sb.append("]}").toString(), abbr.equals("BBB") ? 300 : 0);
+    }
+
+    private void handleStats(HttpExchange ex) throws IOException {
+        // GP..PTS: 18 values, PTS=10 and everything else 0
+        StringBuilder stats = new StringBuilder();
+        for (int i = 0; i < 18; i++) stats.append(i > 0 ? "," : "").append(i == 17 ? "\"10.0\"" : "\"0\"");
+        respond(ex, "{\"categories\":[{\"name\":\"averages\",\"statistics\":[{\"season\":{\"year\":2026},\"stats\":["
+                + stats + "]}]}]}", 0);
+    }
+
+    private void respond(HttpExchange ex, String body, long delayMs) throws IOException {
+        requests.incrementAndGet();
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            if (delayMs > 0) Thread.sleep(delayMs);
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", "application/json");
+            ex.sendResponseHeaders(200, bytes.length);
+            ex.getResponseBody().write(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            ex.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.nba;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.ChainVerification;
+import com.example.nba.audit.FileAuditLogRepository;
+import com.example.nba.audit.FileAuditLogRepository.FsyncPolicy;
+import com.example.nba.domain.Coach;
+import com.example.nba.domain.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileAuditLogTest {
+
+    private final Role coach = new Coach("u1", "Coach");
+
+    @Test
+    void chainSurvivesRestartAcrossSegments(@TempDir Path dir) throws Exception {
+        String tail;
+        try (var repo = FileAuditLogRepository.builder(dir).maxSegmentBytes(1024).fsyncPolicy(FsyncPolicy.ALWAYS).open()) {
+            for (int i = 0; i < 50; i++) repo.appendNext(coach, "A" + i, "before " + i, "after ✅ " + i);
+            tail = repo.tailHash();
+            assertTrue(repo.verifyIntegrity());
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.count() > 1, "expected segment roll-over");
+        }
+
+        try (var reopened = FileAuditLogRepository.builder(dir).maxSegmentBytes(1024).open()) {
+            assertEquals(tail, reopened.tailHash());
+            assertEquals(50, reopened.size());
+            List<AuditEntry> all = reopened.all();
+            assertEquals("A0", all.get(0).action());
+            assertEquals("after ✅ 49", all.get(49).afterState());
+            assertTrue(reopened.verifyIntegrity());
+
+            reopened.appendNext(coach, "AFTER_RESTART", "x", "y");
+            assertEquals(51, reopened.stream().count());
+            assertEquals(ChainVerification.ok(51), reopened.verifyChain());
+
+            reopened.append(new AuditEntry(coach, "FORGED", "x", "y", "not-the-tail"));
+            assertEquals(51, reopened.verifyChain().firstBrokenIndex());
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnRecovery(@TempDir Path dir) throws Exception {
+        String tail;
+        try (var repo = FileAuditLogRepository.builder(dir).fsyncPolicy(FsyncPolicy.NEVER).open()) {
+            for (int i = 0; i < 3; i++) repo.appendNext(coach, "A" + i, "b", "a");
+            tail = repo.tailHash();
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        // Half-written record: plausible length, no payload.
+        Files.write(segment, new byte[] { 0, 0, 0, 64, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (var reopened = FileAuditLogRepository.builder(dir).open()) {
+            assertEquals(tail, reopened.tailHash());
+            assertEquals(3, reopened.size());
+            reopened.appendNext(coach, "NEXT", "b", "a");
+            assertTrue(reopened.verifyIntegrity());
+            assertEquals(4, reopened.all().size());
+        }
+    }
+
+    @Test
+    void corruptRecordBeforeTheTailFailsRecoveryInsteadOfTruncating(@TempDir Path dir) throws Exception {
+        try (var repo = FileAuditLogRepository.builder(dir).fsyncPolicy(FsyncPolicy.NEVER).open()) {
+            for (int i = 0; i < 3; i++) repo.appendNext(coach, "A" + i, "b", "a");
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[20] ^= 1; // inside the first record's payload
+        Files.write(segment, bytes);
+
+        assertThrows(UncheckedIOException.class, () -> FileAuditLogRepository.builder(dir).open());
+        assertArrayEquals(bytes, Files.readAllBytes(segment), "later entries must not be discarded");
+
+        // The same flip in the last record is a torn tail: it is cut and the rest recovers.
+        bytes[20] ^= 1;
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(segment, bytes);
+        try (var reopened = FileAuditLogRepository.builder(dir).open()) {
+            assertEquals(2, reopened.size());
+            assertTrue(reopened.verifyIntegrity());
+        }
+    }
+
+    @Test
+    void corruptRecordInASealedSegmentFailsReadsInsteadOfEndingThem(@TempDir Path dir) throws Exception {
+        try (var repo = FileAuditLogRepository.builder(dir).maxSegmentBytes(1024).open()) {
+            for (int i = 0; i < 50; i++) repo.appendNext(coach, "A" + i, "b", "a");
+        }
+        // Recovery only scans the newest segment, so this opens; reads must not stop short.
+        flipPayloadByte(oldestSegment(dir), 2);
+
+        try (var reopened = FileAuditLogRepository.builder(dir).maxSegmentBytes(1024).open()) {
+            assertEquals(50, reopened.size());
+            assertThrows(UncheckedIOException.class, () -> reopened.stream().count());
+            assertThrows(UncheckedIOException.class, () -> reopened.stream(1).count());
+            assertEquals(1, reopened.stream(49).count());
+        }
+    }
+
+    @Test
+    void verifyChainReportsACorruptMiddleRecordAtItsIndex(@TempDir Path dir) throws Exception {
+        try (var repo = FileAuditLogRepository.builder(dir).open()) {
+            for (int i = 0; i < 10; i++) repo.appendNext(coach, "A" + i, "b", "a");
+            flipPayloadByte(oldestSegment(dir), 5);
+
+            assertEquals(ChainVerification.brokenAt(5, 6), repo.verifyChain());
+            assertFalse(repo.verifyIntegrity());
+        }
+
+        Path sealed = dir.resolve("sealed");
+        try (var repo = FileAuditLogRepository.builder(sealed).maxSegmentBytes(1024).open()) {
+            for (int i = 0; i < 50; i++) repo.appendNext(coach, "A" + i, "b", "a");
+        }
+        flipPayloadByte(oldestSegment(sealed), 2);
+        try (var reopened = FileAuditLogRepository.builder(sealed).maxSegmentBytes(1024).open()) {
+            assertEquals(2, reopened.verifyChain().firstBrokenIndex());
+            assertFalse(reopened.verifyIntegrity());
+        }
+    }
+
+    private static Path oldestSegment(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().findFirst().orElseThrow();
+        }
+    }
+
+    /** Flips one payload byte of the given record, walking the {@code [length][crc][payload]} headers to it. */
+    private static void flipPayloadByte(Path segment, int record) throws Exception {
+        byte[] bytes = Files.readAllBytes(segment);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int at = 0;
+        for (int i = 0; i < record; i++) at += 8 + buf.getInt(at);
+        bytes[at + 8 + buf.getInt(at) / 2] ^= 1;
+        Files.write(segment, bytes);
+    }
+}
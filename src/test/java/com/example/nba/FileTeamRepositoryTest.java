@@ -0,0 +1,127 @@
+package com.example.nba;
+
+import com.example.nba.audit.FileAuditLogRepository.FsyncPolicy;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.repo.FileTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.example.nba.LeagueFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileTeamRepositoryTest {
+
+    private final Role coach = new Coach("u1", "Coach");
+
+    @Test
+    void leagueSurvivesRestartAcrossSnapshots(@TempDir Path dir) {
+        List<String> expected;
+        try (var repo = FileTeamRepository.builder(dir).snapshotEvery(7).fsyncPolicy(FsyncPolicy.NEVER).open()) {
+            var svc = new TeamManagementService(repo, new InMemoryAuditLogRepository());
+            seed(svc, coach, new Random(3));
+            svc.trade(coach, "T0", "T1", "T0-2");
+            svc.waivePlayer(coach, "T2", "T2-0");
+            expected = describe(repo);
+            assertTrue(repo.walRecordsSinceSnapshot() < 7);
+        }
+
+        try (var reopened = FileTeamRepository.builder(dir).open()) {
+            assertEquals(expected, describe(reopened));
+            assertTrue(reopened.replayedRecords() < 7, "only the WAL tail after the snapshot is replayed");
+            assertEquals("T1", reopened.findTeamByPlayerId("T0-2").orElseThrow().teamId());
+
+            // Restored teams keep working through the service, and their saves are logged too.
+            var svc = new TeamManagementService(reopened, new InMemoryAuditLogRepository());
+            svc.trade(coach, "T1", "T0", "T0-2");
+            expected = describe(reopened);
+        }
+        try (var again = FileTeamRepository.builder(dir).open()) {
+            assertEquals(expected, describe(again));
+        }
+    }
+
+    @Test
+    void tornWalTailIsDroppedOnRecovery(@TempDir Path dir) throws Exception {
+        List<String> expected;
+        try (var repo = FileTeamRepository.builder(dir).fsyncPolicy(FsyncPolicy.ALWAYS).open()) {
+            seed(new TeamManagementService(repo, new InMemoryAuditLogRepository()), coach, new Random(9));
+            expected = describe(repo);
+        }
+        Path wal;
+        try (Stream<Path> files = Files.list(dir)) {
+            wal = files.filter(p -> p.toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+        Files.write(wal, new byte[] { 0, 0, 0, 64, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (var reopened = FileTeamRepository.builder(dir).open()) {
+            assertEquals(expected, describe(reopened));
+            reopened.snapshot();
+        }
+        try (var again = FileTeamRepository.builder(dir).open()) {
+            assertEquals(expected, describe(again));
+            assertEquals(0, again.replayedRecords());
+        }
+    }
+
+    @Test
+    void tradeIsOneWalRecordSoACutBetweenTheTeamsDropsBoth(@TempDir Path dir) throws Exception {
+        List<String> beforeTrade;
+        Path wal;
+        long walBefore;
+        try (var repo = FileTeamRepository.builder(dir).fsyncPolicy(FsyncPolicy.ALWAYS).open()) {
+            var svc = new TeamManagementService(repo, new InMemoryAuditLogRepository());
+            seed(svc, coach, new Random(5));
+            beforeTrade = describe(repo);
+            try (Stream<Path> files = Files.list(dir)) {
+                wal = files.filter(p -> p.toString().endsWith(".wal")).findFirst().orElseThrow();
+            }
+            walBefore = Files.size(wal);
+            long records = repo.walRecordsSinceSnapshot();
+            svc.trade(coach, "T0", "T1", "T0-2");
+            assertEquals(records + 1, repo.walRecordsSinceSnapshot(), "both teams in one record");
+        }
+
+        // Crash mid-record, after the from-team's changes and before the to-team's.
+        long walAfter = Files.size(wal);
+        try (FileChannel ch = FileChannel.open(wal, StandardOpenOption.WRITE)) {
+            ch.truncate(walBefore + (walAfter - walBefore) / 2);
+        }
+
+        try (var reopened = FileTeamRepository.builder(dir).open()) {
+            assertEquals(beforeTrade, describe(reopened));
+            assertEquals("T0", reopened.findTeamByPlayerId("T0-2").orElseThrow().teamId());
+        }
+    }
+
+    @Test
+    void corruptWalRecordBeforeTheTailFailsRecoveryInsteadOfTruncating(@TempDir Path dir) throws Exception {
+        try (var repo = FileTeamRepository.builder(dir).fsyncPolicy(FsyncPolicy.ALWAYS).open()) {
+            seed(new TeamManagementService(repo, new InMemoryAuditLogRepository()), coach, new Random(11));
+        }
+        Path wal;
+        try (Stream<Path> files = Files.list(dir)) {
+            wal = files.filter(p -> p.toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(wal);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int at = 0;
+        for (int i = 0; i < 2; i++) at += 8 + buf.getInt(at);
+        bytes[at + 8 + buf.getInt(at) / 2] ^= 1; // inside the third record's payload
+        Files.write(wal, bytes);
+
+        assertThrows(UncheckedIOException.class, () -> FileTeamRepository.builder(dir).open());
+        assertArrayEquals(bytes, Files.readAllBytes(wal), "later records must not be discarded");
+    }
+}
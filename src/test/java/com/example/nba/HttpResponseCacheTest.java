@@ -0,0 +1,143 @@
+package com.example.nba;
+
+import com.example.nba.integration.EspnClient;
+import com.example.nba.integration.HttpResponseCache;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpResponseCacheTest {
+
+    /** path -> Cache-Control the stub sends; every body carries ETag "v1". */
+    private final Map<String, String> cacheControl = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    /** Paths whose next request gets a 503. */
+    private final Set<String> failOnce = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void freshHitsSkipTheNetworkAndStaleOnesRevalidateTo304(@TempDir Path dir) throws Exception {
+        HttpServer server = start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            cacheControl.put("/fresh", "max-age=3600");
+            cacheControl.put("/revalidate", "no-cache");
+            cacheControl.put("/private", "no-store");
+            HttpResponseCache cache = HttpResponseCache.builder(dir).build();
+            EspnClient api = EspnClient.builder().responseCache(cache).build();
+
+            assertEquals("fresh", api.get(base + "/fresh").get("path").asText());
+            assertEquals("fresh", api.get(base + "/fresh").get("path").asText());
+            assertEquals(List.of("GET /fresh -"), requests);
+
+            assertEquals("revalidate", api.get(base + "/revalidate").get("path").asText());
+            assertEquals("revalidate", api.get(base + "/revalidate").get("path").asText());
+            assertEquals("GET /revalidate \"v1\" -> 304", requests.get(requests.size() - 1));
+
+            api.get(base + "/private");
+            api.get(base + "/private");
+            assertEquals("GET /private -", requests.get(requests.size() - 1));
+
+            HttpResponseCache.Stats s = cache.stats();
+            assertEquals(1, s.hits());
+            assertEquals(1, s.revalidated());
+            assertEquals(2, s.stored());
+            assertEquals(2, s.entries());
+            assertEquals(4, s.misses()); // /fresh, /revalidate and both /private calls
+
+            // A retried request is still one miss.
+            failOnce.add("/flaky");
+            assertEquals("flaky", api.get(base + "/flaky").get("path").asText());
+            assertEquals(5, cache.stats().misses());
+
+            // A reader that stops after one token still leaves the whole body cached.
+            cacheControl.put("/partial", "max-age=3600");
+            assertEquals(JsonToken.START_OBJECT, api.getAsync(base + "/partial", p -> p.nextToken()).join());
+            JsonNode full = api.get(base + "/partial");
+            assertEquals("partial", full.get("path").asText());
+            assertEquals(400, full.get("pad").asText().length());
+
+            // Entries survive a restart.
+            int before = requests.size();
+            EspnClient reopened = EspnClient.builder().responseCache(HttpResponseCache.builder(dir).build()).build();
+            assertEquals("fresh", reopened.get(base + "/fresh").get("path").asText());
+            assertEquals(before, requests.size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedBodiesAreEvictedOverTheByteBudget(@TempDir Path dir) throws Exception {
+        HttpServer server = start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            for (String p : List.of("/a", "/b", "/c")) cacheControl.put(p, "max-age=3600");
+            // Each body is a little over 420 bytes, so two fit and a third doesn't.
+            HttpResponseCache cache = HttpResponseCache.builder(dir).maxBytes(900).build();
+            EspnClient api = EspnClient.builder().responseCache(cache).build();
+
+            api.get(base + "/a");
+            api.get(base + "/b");
+            api.get(base + "/a"); // hit: /b is now the least recently used
+            api.get(base + "/c");
+            assertEquals(1, cache.stats().evicted());
+            assertEquals(2, cache.stats().entries());
+            assertTrue(cache.stats().bytes() <= 900);
+
+            requests.clear();
+            api.get(base + "/a");
+            api.get(base + "/c");
+            api.get(base + "/b");
+            assertEquals(List.of("GET /b -"), requests);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private HttpServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        return server;
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        String path = ex.getRequestURI().getPath();
+        String inm = ex.getRequestHeaders().getFirst("If-None-Match");
+        ex.getResponseHeaders().set("ETag", "\"v1\"");
+        ex.getResponseHeaders().set("Cache-Control", cacheControl.getOrDefault(path, "no-cache"));
+        if ("\"v1\"".equals(inm)) {
+            requests.add("GET " + path + " " + inm + " -> 304");
+            ex.sendResponseHeaders(304, -1);
+            ex.close();
+            return;
+        }
+        requests.add("GET " + path + " " + (inm == null ? "-" : inm));
+        if (failOnce.remove(path)) {
+            ex.sendResponseHeaders(503, -1);
+            ex.close();
+            return;
+        }
+        byte[] body = ("{\"path\":\"" + path.substring(1) + "\",\"pad\":\"" + "x".repeat(400) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, body.length);
+        ex.getResponseBody().write(body);
+        ex.close();
+    }
+}
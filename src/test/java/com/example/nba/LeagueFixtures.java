@@ -0,0 +1,54 @@
+package com.example.nba;
+
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.TeamRepository;
+import com.example.nba.service.TeamManagementService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Shared league seeding and comparison for the tests that persist or rebuild teams. */
+final class LeagueFixtures {
+
+    private LeagueFixtures() { }
+
+    /**
+     * Three teams of six players, T0..T2 with players {@code T<t>-<i>}, cycling through
+     * every experience level and position, half of them with a second position.
+     */
+    static void seed(TeamManagementService svc, Role coach, Random rnd) {
+        PlayerFactory pf = new PlayerFactory();
+        for (int t = 0; t < 3; t++) {
+            svc.registerTeam(coach, new Team("T" + t, "Team ✅ " + t, new SalaryCap(Money.of(50_000_000))));
+            for (int i = 0; i < 6; i++) {
+                ExperienceLevel lvl = ExperienceLevel.values()[i % 3];
+                PlayerBuilder b = new PlayerBuilder().playerId("T" + t + "-" + i).name("P" + i)
+                        .position(Position.values()[i % 5]).age(20 + i).offense(50 + rnd.nextInt(50))
+                        .defense(50 + rnd.nextInt(50)).yearsInLeague(i).gLeagueDaysRemaining(10 + i);
+                if (i % 2 == 0) b.alsoPlays(Position.values()[(i + 2) % 5]);
+                svc.signPlayer(coach, "T" + t, pf.create(lvl, b),
+                        Contract.builder().totalValue(Money.of(1_000_000 + rnd.nextInt(2_000_000) + 0.37)).years(2).build(),
+                        new StandardSalaryStrategy());
+            }
+        }
+    }
+
+    /** Everything the team store and the event log are meant to persist, in repository and roster order. */
+    static List<String> describe(TeamRepository repo) {
+        List<String> out = new ArrayList<>();
+        for (Team t : repo.findAll().stream().sorted((a, b) -> a.teamId().compareTo(b.teamId())).toList()) {
+            out.add(t.teamId() + "|" + t.name() + "|" + t.salaryCap().cap() + "|" + t.salaryCap().committed());
+            for (Player p : t) {
+                String extra = p instanceof VeteranPlayer v ? "y" + v.yearsInLeague()
+                        : p instanceof TwoWayPlayer w ? "g" + w.gLeagueDaysRemaining() : "r";
+                out.add("  " + p.playerId() + "|" + p.name() + "|" + p.position() + "|" + p.eligiblePositions()
+                        + "|" + p.age() + "|" + p.offense() + "|" + p.defense() + "|" + p.experienceLevel() + "|"
+                        + extra + "|" + t.annualSalaryFor(p.playerId()));
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.nba;
+
+import com.example.nba.analytics.LineupOptimizer;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.LeagueLineupService;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeagueLineupServiceTest {
+
+    private final Role coach = new Coach("c1", "Coach");
+    private final PlayerFactory pf = new PlayerFactory();
+
+    @Test
+    void onlyTouchedTeamsAreRecomputed() {
+        var svc = new TeamManagementService(new InMemoryTeamRepository(), new InMemoryAuditLogRepository());
+        for (int t = 0; t < 30; t++) {
+            String id = "T" + t;
+            svc.registerTeam(coach, new Team(id, "Team " + t, new SalaryCap(Money.of(140_000_000))));
+            for (int i = 0; i < 10; i++) sign(svc, id, id + "-" + i, Position.values()[i % 5], 50 + (i * 7 + t) % 40);
+        }
+        svc.registerTeam(coach, new Team("NOC", "No Center", new SalaryCap(Money.of(140_000_000))));
+        sign(svc, "NOC", "noc-pg", Position.PG, 80);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            var league = new LeagueLineupService(svc, pool);
+            var first = league.optimizeAll();
+            assertEquals(30, first.size());
+            assertFalse(first.containsKey("NOC"));
+            assertEquals(new LeagueLineupService.Metrics(0, 31), league.metrics());
+            var direct = new LineupOptimizer();
+            for (var e : first.entrySet()) {
+                assertEquals(svc.readTeam(e.getKey(), direct::bestStartingFive), e.getValue());
+            }
+
+            league.optimizeAll();
+            assertEquals(new LeagueLineupService.Metrics(31, 31), league.metrics());
+
+            // One roster move, one fatigue change, one trade (touches two teams).
+            sign(svc, "T3", "star", Position.C, 99);
+            svc.readTeam("T7", t -> { t.findPlayerById("T7-0").orElseThrow().applyMinutes(40); return null; });
+            Player moved = svc.getTeam("T10").findPlayerById("T10-1").orElseThrow();
+            svc.trade(coach, "T10", "T11", moved.playerId());
+
+            var third = league.optimizeAll();
+            assertEquals(new LeagueLineupService.Metrics(31 + 27, 31 + 4), league.metrics());
+            assertEquals("star", third.get("T3").starters().get(4).playerId());
+
+            // Resting an already fresh player leaves fatigue at 0, so the cache stays valid.
+            svc.readTeam("T8", t -> { t.findPlayerById("T8-0").orElseThrow().rest(); return null; });
+            league.optimizeAll();
+            assertEquals(new LeagueLineupService.Metrics(31 + 27 + 31, 31 + 4), league.metrics());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void sign(TeamManagementService svc, String teamId, String pid, Position pos, int rating) {
+        Player p = pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId(pid).name(pid).position(pos)
+                .age(27).offense(rating).defense(rating).yearsInLeague(5));
+        svc.signPlayer(coach, teamId, p, Contract.builder().totalValue(Money.of(1_000_000)).years(1).build(),
+                new StandardSalaryStrategy());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.nba;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.FileAuditLogRepository;
+import com.example.nba.audit.FileAuditLogRepository.FsyncPolicy;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.events.LeagueEvent;
+import com.example.nba.events.LeagueEventCodec;
+import com.example.nba.events.LeagueReplayer;
+import com.example.nba.events.PlayerData;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.example.nba.LeagueFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeagueReplayTest {
+
+    private final Role coach = new Coach("u1", "Coach");
+    private final Role assistant = new AssistantCoach("u2", "Assistant");
+
+    @Test
+    void auditLogRebuildsTheLeagueAndLaterRebuildsResumeFromASnapshot(@TempDir Path dir) {
+        Path snaps = dir.resolve("snaps");
+        LeagueReplayer replayer = LeagueReplayer.builder(snaps).snapshotEvery(5).build();
+        try (var log = FileAuditLogRepository.builder(dir.resolve("audit")).fsyncPolicy(FsyncPolicy.NEVER).open()) {
+            var live = new InMemoryTeamRepository();
+            var svc = new TeamManagementService(live, log);
+            seed(svc, coach, new Random(11));
+            svc.trade(coach, "T0", "T1", "T0-2");
+            svc.waivePlayer(coach, "T2", "T2-0");
+            assertThrows(SecurityException.class, () -> svc.waivePlayer(assistant, "T1", "T1-1"));
+
+            var first = new InMemoryTeamRepository();
+            LeagueReplayer.Result r = replayer.rebuild(log, first);
+            assertEquals(describe(live), describe(first));
+            assertEquals(0, r.resumedFromPosition());
+            assertEquals(log.all().size(), r.entriesRead());
+            assertEquals(log.all().size() - 1, r.eventsApplied(), "the rejected waive carries no event");
+            assertTrue(r.snapshotsWritten() > 0);
+
+            svc.trade(coach, "T1", "T2", "T0-2");
+            svc.waivePlayer(coach, "T0", "T0-1");
+
+            var second = new InMemoryTeamRepository();
+            LeagueReplayer.Result r2 = replayer.rebuild(log, second);
+            assertEquals(describe(live), describe(second));
+            assertTrue(r2.resumedFromPosition() > 0);
+            assertEquals(log.all().size() - r2.resumedFromPosition(), r2.entriesRead());
+            assertEquals("T2", second.findTeamByPlayerId("T0-2").orElseThrow().teamId());
+        }
+    }
+
+    @Test
+    void snapshotsFromAnotherLogAreIgnored(@TempDir Path dir) {
+        LeagueReplayer replayer = LeagueReplayer.builder(dir).snapshotEvery(3).build();
+        var a = new InMemoryAuditLogRepository();
+        var liveA = new InMemoryTeamRepository();
+        seed(new TeamManagementService(liveA, a), coach, new Random(1));
+        replayer.rebuild(a, new InMemoryTeamRepository());
+
+        var b = new InMemoryAuditLogRepository();
+        var liveB = new InMemoryTeamRepository();
+        seed(new TeamManagementService(liveB, b), coach, new Random(2));
+        var rebuilt = new InMemoryTeamRepository();
+        LeagueReplayer.Result r = replayer.rebuild(b, rebuilt);
+        assertEquals(0, r.resumedFromPosition(), "anchor hash differs, so log A's snapshots don't apply");
+        assertEquals(describe(liveB), describe(rebuilt));
+    }
+
+    @Test
+    void corruptSnapshotFallsBackToAnOlderOne(@TempDir Path dir) throws Exception {
+        LeagueReplayer replayer = LeagueReplayer.builder(dir).snapshotEvery(4).keepSnapshots(3).build();
+        var log = new InMemoryAuditLogRepository();
+        var live = new InMemoryTeamRepository();
+        seed(new TeamManagementService(live, log), coach, new Random(5));
+        replayer.rebuild(log, new InMemoryTeamRepository());
+
+        List<Path> snaps;
+        try (Stream<Path> files = Files.list(dir)) {
+            snaps = files.sorted().toList();
+        }
+        assertEquals(3, snaps.size());
+        Path newest = snaps.get(snaps.size() - 1);
+        byte[] bytes = Files.readAllBytes(newest);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(newest, bytes);
+
+        var rebuilt = new InMemoryTeamRepository();
+        LeagueReplayer.Result r = replayer.rebuild(log, rebuilt);
+        assertTrue(r.resumedFromPosition() > 0);
+        assertEquals(describe(live), describe(rebuilt));
+    }
+
+    @Test
+    void brokenChainStopsTheReplay(@TempDir Path dir) {
+        var log = new InMemoryAuditLogRepository();
+        seed(new TeamManagementService(new InMemoryTeamRepository(), log), coach, new Random(4));
+        AuditEntry last = log.all().get(log.all().size() - 1);
+        log.append(new AuditEntry(coach, "FORGED", "x", "y", last.event(), "not-the-tail"));
+
+        LeagueReplayer replayer = LeagueReplayer.builder(dir).build();
+        assertThrows(IllegalStateException.class, () -> replayer.rebuild(log, new InMemoryTeamRepository()));
+    }
+
+    @Test
+    void eventsRoundTripThroughTheCodec() {
+        Player p = new PlayerFactory().create(ExperienceLevel.TWO_WAY, new PlayerBuilder().playerId("p;1:x")
+                .name("Zoë ;3: O'Neal").position(Position.SF).alsoPlays(Position.PF, Position.SG).age(22)
+                .offense(71).defense(64).gLeagueDaysRemaining(17));
+        Team team = new Team("T;9", "Name|with;separators", new SalaryCap(Money.of(40_000_000)));
+        team.salaryCap().commit(Money.of(1_234_567.89));
+        team.addPlayer(p, Money.of(1_234_567.89));
+
+        List<LeagueEvent> events = List.of(
+                LeagueEvent.TeamRegistered.of(team),
+                LeagueEvent.PlayerSigned.of("T;9", p, Money.of(1_234_567.89)),
+                new LeagueEvent.PlayerWaived("T;9", "p;1:x"),
+                new LeagueEvent.PlayerTraded("A", "", "p"));
+        for (LeagueEvent e : events) assertEquals(e, LeagueEventCodec.decode(LeagueEventCodec.encode(e)));
+
+        PlayerData data = PlayerData.of(p);
+        assertEquals(p.eligiblePositions(), data.toPlayer().eligiblePositions());
+        assertEquals(17, ((TwoWayPlayer) data.toPlayer()).gLeagueDaysRemaining());
+        assertThrows(IllegalArgumentException.class, () -> LeagueEventCodec.decode("PlayerWaived;3:T0"));
+        assertThrows(IllegalArgumentException.class, () -> LeagueEventCodec.decode("PlayerWaived;9:T0;1:p"));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.nba;
 
 import com.example.nba.analytics.LineupOptimizer;
+import com.example.nba.analytics.PlayerValueVisitor;
+import com.example.nba.analytics.SearchBudget;
 import com.example.nba.audit.InMemoryAuditLogRepository;
 import com.example.nba.domain.*;
 import com.example.nba.factory.PlayerBuilder;
@@ -9,7 +11,11 @@ import com.example.nba.repo.InMemoryTeamRepository;
 import com.example.nba.service.TeamManagementService;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,6 +53,155 @@ public class LineupOptimizerTest {
         assertTrue(lineup.score() > 0);
     }
 
+    @Test
+    void reusedOptimizerMatchesExhaustiveSearch() {
+        var opt = new LineupOptimizer();
+        var pf = new PlayerFactory();
+        var visitor = new PlayerValueVisitor();
+        Random rnd = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<Player> roster = new ArrayList<>();
+            int n = 5 + rnd.nextInt(60);
+            for (int i = 0; i < n; i++) {
+                Position pos = i < 5 ? Position.values()[i] : Position.values()[rnd.nextInt(5)];
+                ExperienceLevel lvl = ExperienceLevel.values()[rnd.nextInt(3)];
+                Player p = pf.create(lvl, new PlayerBuilder().playerId("p" + i).name("P" + i).position(pos)
+                        .age(19 + rnd.nextInt(18)).offense(40 + rnd.nextInt(60)).defense(40 + rnd.nextInt(60))
+                        .yearsInLeague(3).gLeagueDaysRemaining(rnd.nextInt(2) * 10));
+                p.applyMinutes(rnd.nextInt(60));
+                roster.add(p);
+            }
+
+            int expected = 0;
+            for (Position pos : Position.values()) {
+                expected += roster.stream().filter(p -> p.position() == pos).mapToInt(p -> p.accept(visitor)).max().orElseThrow();
+            }
+            var lineup = opt.bestStartingFive(roster);
+            assertEquals(expected, lineup.score());
+            assertEquals(expected, lineup.starters().stream().mapToInt(p -> p.accept(visitor)).sum());
+            assertEquals(List.of(Position.values()), lineup.starters().stream().map(Player::position).toList());
+        }
+    }
+
+    @Test
+    void anytimeSearchReportsAProvenGap() {
+        var pf = new PlayerFactory();
+        Random rnd = new Random(3);
+        List<Player> roster = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            roster.add(pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId("p" + i).name("P" + i)
+                    .position(Position.values()[i % 5]).age(25).offense(40 + rnd.nextInt(60)).defense(40 + rnd.nextInt(60))
+                    .yearsInLeague(3)));
+        }
+        var opt = new LineupOptimizer();
+        int optimum = opt.bestStartingFive(roster).score();
+
+        var full = opt.bestStartingFive(roster, SearchBudget.unlimited());
+        assertEquals(LineupOptimizer.StopReason.COMPLETED, full.stats().stopReason());
+        assertTrue(full.optimal());
+        assertEquals(optimum, full.best().score());
+
+        for (long budget = 1; budget <= 64; budget *= 2) {
+            var partial = opt.bestStartingFive(roster, SearchBudget.builder().maxNodes(budget).build());
+            assertTrue(partial.upperBound() >= optimum, "bound must stay sound");
+            assertTrue(partial.stats().nodesExpanded() <= budget);
+            if (partial.best() != null) {
+                assertTrue(partial.best().score() <= optimum);
+                assertEquals(partial.upperBound() - partial.best().score(), partial.gap());
+            }
+            if (partial.stats().stopReason() == LineupOptimizer.StopReason.COMPLETED) assertTrue(partial.optimal());
+        }
+
+        var tiny = opt.bestStartingFive(roster, SearchBudget.builder().maxNodes(3).build());
+        assertEquals(LineupOptimizer.StopReason.NODE_BUDGET, tiny.stats().stopReason());
+        assertNull(tiny.best());
+        assertEquals(Long.MAX_VALUE, tiny.gap());
+
+        SearchBudget cancelled = SearchBudget.unlimited();
+        cancelled.cancel();
+        assertEquals(LineupOptimizer.StopReason.CANCELLED, opt.bestStartingFive(roster, cancelled).stats().stopReason());
+        assertEquals(LineupOptimizer.StopReason.DEADLINE, opt.bestStartingFive(roster,
+                SearchBudget.builder().timeLimit(Duration.ZERO).build()).stats().stopReason());
+    }
+
+    @Test
+    void topLineupsMatchExhaustiveEnumerationWithFlexPositions() {
+        var opt = new LineupOptimizer();
+        var pf = new PlayerFactory();
+        var visitor = new PlayerValueVisitor();
+        Random rnd = new Random(7);
+        for (int round = 0; round < 30; round++) {
+            List<Player> roster = new ArrayList<>();
+            int n = 6 + rnd.nextInt(15);
+            for (int i = 0; i < n; i++) {
+                Position pos = Position.values()[rnd.nextInt(5)];
+                var b = new PlayerBuilder().playerId("p" + i).name("P" + i).position(pos)
+                        .age(25).offense(50 + rnd.nextInt(45)).defense(50 + rnd.nextInt(45)).yearsInLeague(3);
+                if (rnd.nextBoolean()) b.alsoPlays(Position.values()[rnd.nextInt(5)]);
+                roster.add(pf.create(ExperienceLevel.VETERAN, b));
+            }
+
+            // Every legal 5-subset's score, best first.
+            List<Integer> expected = new ArrayList<>();
+            int[] idx = new int[5];
+            enumerate(roster, visitor, 0, 0, idx, expected);
+            expected.sort((a, b) -> Integer.compare(b, a));
+
+            int k = 1 + rnd.nextInt(40);
+            var top = opt.topLineups(roster, k);
+            assertEquals(expected.subList(0, Math.min(k, expected.size())),
+                    top.stream().map(LineupOptimizer.Lineup::score).toList());
+            for (var lineup : top) {
+                for (int s = 0; s < 5; s++) {
+                    assertTrue(lineup.starters().get(s).eligiblePositions().contains(Position.values()[s]));
+                }
+                assertEquals(5, lineup.starters().stream().distinct().count());
+            }
+        }
+    }
+
+    @Test
+    void comboGuardCanStartAtEitherGuardSpot() {
+        var pf = new PlayerFactory();
+        List<Player> roster = new ArrayList<>();
+        roster.add(pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId("g").name("G").position(Position.PG)
+                .alsoPlays(Position.SG).age(27).offense(95).defense(95).yearsInLeague(5)));
+        roster.add(pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId("pg").name("PG").position(Position.PG)
+                .age(27).offense(90).defense(90).yearsInLeague(5)));
+        for (Position p : List.of(Position.SF, Position.PF, Position.C)) {
+            roster.add(pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId(p.name()).name(p.name()).position(p)
+                    .age(27).offense(60).defense(60).yearsInLeague(5)));
+        }
+
+        var top = new LineupOptimizer().topLineups(roster, 5);
+        assertEquals(1, top.size());
+        assertEquals(List.of("pg", "g", "SF", "PF", "C"), top.get(0).starters().stream().map(Player::playerId).toList());
+    }
+
+    private static void enumerate(List<Player> roster, PlayerValueVisitor v, int from, int depth, int[] idx, List<Integer> out) {
+        if (depth == 5) {
+            if (assignable(roster, idx, 0, 0)) {
+                int score = 0;
+                for (int i : idx) score += roster.get(i).accept(v);
+                out.add(score);
+            }
+            return;
+        }
+        for (int i = from; i < roster.size(); i++) {
+            idx[depth] = i;
+            enumerate(roster, v, i + 1, depth + 1, idx, out);
+        }
+    }
+
+    private static boolean assignable(List<Player> roster, int[] idx, int slot, int used) {
+        if (slot == 5) return true;
+        for (int j = 0; j < 5; j++) {
+            if ((used & (1 << j)) == 0 && roster.get(idx[j]).eligiblePositions().contains(Position.values()[slot])
+                    && assignable(roster, idx, slot + 1, used | (1 << j))) return true;
+        }
+        return false;
+    }
+
     private void add(TeamManagementService svc, Role coach, String teamId, Player p, double annual) {
         svc.signPlayer(coach, teamId, p,
                 Contract.builder().totalValue(Money.of(annual)).years(1).build(),
@@ -0,0 +1,102 @@
+package com.example.nba;
+
+import com.example.nba.audit.AuditEntry;
+import com.example.nba.audit.ChainVerification;
+import com.example.nba.audit.FileAuditLogRepository;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.audit.MerkleAuditLogRepository;
+import com.example.nba.audit.MerkleAuditLogRepository.Checkpoint;
+import com.example.nba.audit.MerkleAuditLogRepository.InclusionProof;
+import com.example.nba.domain.Coach;
+import com.example.nba.domain.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MerkleCheckpointTest {
+
+    private final Role coach = new Coach("u1", "Coach");
+
+    @Test
+    void inclusionProofsVerifyAgainstEveryCheckpoint() {
+        var repo = new MerkleAuditLogRepository(new InMemoryAuditLogRepository(), 16);
+        for (int i = 0; i < 1_000; i++) repo.appendNext(coach, "A" + i, "b" + i, "a" + i);
+
+        List<Checkpoint> cps = repo.checkpoints();
+        assertEquals(1_000 / 16, cps.size()); // 62 blocks: not a power of two
+        List<AuditEntry> entries = repo.all();
+
+        for (Checkpoint cp : List.of(cps.get(0), cps.get(4), cps.get(cps.size() - 1))) {
+            for (long i = 0; i < cp.entryCount(); i += 7) {
+                InclusionProof proof = repo.proveInclusion(i, cp);
+                assertTrue(MerkleAuditLogRepository.verifyInclusion(entries.get((int) i), proof, cp), "index " + i);
+                assertTrue(proof.blockPath().size() + proof.checkpointPath().size() <= 4 + 6);
+            }
+        }
+
+        Checkpoint last = cps.get(cps.size() - 1);
+        InclusionProof proof = repo.proveInclusion(100, last);
+        assertFalse(MerkleAuditLogRepository.verifyInclusion(entries.get(101), proof, last));
+        assertFalse(MerkleAuditLogRepository.verifyInclusion(entries.get(100), proof, cps.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> repo.proveInclusion(last.entryCount(), last));
+    }
+
+    @Test
+    void inclusionRejectsAnEntryAlteredUnderItsStoredHash(@TempDir Path dir) throws Exception {
+        try (var file = FileAuditLogRepository.builder(dir).open()) {
+            var repo = new MerkleAuditLogRepository(file, 4);
+            for (int i = 0; i < 8; i++) repo.appendNext(coach, "A" + i, "b", "salary=" + i);
+            Checkpoint cp = repo.latestCheckpoint().orElseThrow();
+            InclusionProof proof = repo.proveInclusion(3, cp);
+            AuditEntry original = repo.all().get(3);
+
+            // Rewrite entry 3's after-state on disk with a valid CRC but the stored hash left alone.
+            Path segment;
+            try (Stream<Path> files = Files.list(dir)) {
+                segment = files.findFirst().orElseThrow();
+            }
+            byte[] bytes = Files.readAllBytes(segment);
+            int at = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("salary=3");
+            bytes[at + "salary=".length()] = '9';
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            int record = 0;
+            while (record + 8 + buf.getInt(record) <= at) record += 8 + buf.getInt(record);
+            CRC32 crc = new CRC32();
+            crc.update(bytes, record + 8, buf.getInt(record));
+            buf.putInt(record + 4, (int) crc.getValue());
+            Files.write(segment, bytes);
+
+            AuditEntry forged = file.stream().skip(3).findFirst().orElseThrow();
+            assertEquals("salary=9", forged.afterState());
+            assertEquals(original.hash(), forged.hash());
+            assertTrue(MerkleAuditLogRepository.verifyInclusion(original, proof, cp));
+            assertFalse(MerkleAuditLogRepository.verifyInclusion(forged, proof, cp));
+        }
+    }
+
+    @Test
+    void verifySinceOnlyCoversEntriesAfterTrustedCheckpoint() {
+        var log = new InMemoryAuditLogRepository();
+        for (int i = 0; i < 100; i++) log.appendNext(coach, "A" + i, "b", "a");
+        var repo = new MerkleAuditLogRepository(log, 32); // indexes the existing 100 entries
+        for (int i = 0; i < 10; i++) repo.appendNext(coach, "B" + i, "b", "a");
+
+        Checkpoint trusted = repo.latestCheckpoint().orElseThrow();
+        assertEquals(96, trusted.entryCount());
+        assertEquals(ChainVerification.ok(110 - 96), repo.verifySince(trusted));
+
+        repo.append(new AuditEntry(coach, "FORGED", "x", "y", "not-the-tail"));
+        ChainVerification v = repo.verifySince(trusted);
+        assertFalse(v.intact());
+        assertEquals(110, v.firstBrokenIndex());
+    }
+}
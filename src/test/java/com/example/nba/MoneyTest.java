@@ -0,0 +1,48 @@
+package com.example.nba;
+
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    void fixedPointKeepsValueSemantics() {
+        assertEquals("$140000000.00", Money.of(140_000_000).toString());
+        assertEquals("$1.01", Money.of(1.005).toString());
+        assertEquals("$-2.50", Money.of(-2.5).toString());
+        assertEquals(Money.of(0.1).plus(Money.of(0.2)), Money.of(0.3));
+        assertEquals(Money.of(0.3).hashCode(), Money.of(0.1).plus(Money.of(0.2)).hashCode());
+        assertEquals(Money.of(3.33), Money.of(10).dividedBy(3));
+        assertEquals(Money.of(0.67), Money.of(2).dividedBy(3));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+    }
+
+    @Test
+    void salaryCapCommitAndUncommitAreExact() {
+        SalaryCap cap = new SalaryCap(Money.of(100));
+        cap.commit(Money.of(33.33));
+        cap.commit(Money.of(66.67));
+        assertEquals(Money.ZERO, cap.remaining());
+        assertThrows(IllegalStateException.class, () -> cap.commit(Money.of(0.01)));
+
+        cap.uncommit(Money.of(0.01));
+        assertEquals(Money.of(99.99), cap.committed());
+        cap.uncommit(Money.of(1_000));
+        assertEquals(Money.ZERO, cap.committed());
+    }
+
+    @Test
+    void strategiesMatchStraightlineAndRookieBonus() {
+        Contract c = Contract.builder().totalValue(Money.of(5_000_000)).years(3).build();
+        Player rookie = new PlayerFactory().create(ExperienceLevel.ROOKIE,
+                new PlayerBuilder().playerId("r").name("R").position(Position.PG).age(19).offense(80).defense(80));
+
+        assertEquals(Money.of(1_666_666.67), new StandardSalaryStrategy().annualSalary(rookie, c));
+        assertEquals(Money.of(1_766_666.67), new RookieScaleSalaryStrategy(Money.of(8_000_000)).annualSalary(rookie, c));
+        assertEquals(Money.of(1_000_000), new RookieScaleSalaryStrategy(Money.of(1_000_000)).annualSalary(rookie, c));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.nba;
+
+import com.example.nba.domain.Position;
+import com.example.nba.integration.RosterCache;
+import com.example.nba.integration.RosterCache.CachedPlayer;
+import com.example.nba.integration.RosterCache.CachedTeam;
+import com.example.nba.integration.RosterCache.League;
+import com.example.nba.integration.RosterCache.TeamRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterCacheTest {
+
+    private static final Instant T0 = Instant.ofEpochMilli(1_760_000_000_123L);
+
+    @Test
+    void binaryCacheRoundTripsAndExportsJsonThatReadsBack(@TempDir Path dir) {
+        RosterCache cache = new RosterCache(dir, "k");
+        List<CachedTeam> teams = league(30, 15);
+        List<TeamRef> refs = teams.stream().map(CachedTeam::team).toList();
+        cache.saveLeague(new League(T0, refs));
+        for (CachedTeam t : teams) cache.saveTeam(t);
+        // A team no longer listed stays cached (and flagged as unlisted).
+        CachedTeam dropped = team("OLD", 3);
+        cache.saveTeam(dropped);
+        assertFalse(Files.exists(cache.path()), "saves are batched until flush");
+        cache.flush();
+
+        RosterCache reopened = new RosterCache(dir, "k");
+        assertTrue(reopened.exists());
+        assertEquals(new League(T0, refs), reopened.loadLeague().orElseThrow());
+        for (CachedTeam t : teams) assertEquals(t, reopened.loadTeam(t.team().abbr()).orElseThrow());
+        assertEquals(dropped, reopened.loadTeam("OLD").orElseThrow());
+        assertTrue(reopened.loadTeam("NOPE").isEmpty());
+
+        // The debugging export is also an importable cache layout.
+        Path other = dir.resolve("other");
+        reopened.exportJson(other.resolve("rosters_k"));
+        assertTrue(Files.exists(other.resolve("rosters_k/league.json")));
+        RosterCache fromJson = new RosterCache(other, "k");
+        assertEquals(new League(T0, refs), fromJson.loadLeague().orElseThrow());
+        assertEquals(teams.get(7), fromJson.loadTeam(teams.get(7).team().abbr()).orElseThrow());
+    }
+
+    @Test
+    void corruptCacheIsReportedOnceAndThenTreatedAsEmpty(@TempDir Path dir) throws Exception {
+        RosterCache cache = new RosterCache(dir, "k");
+        cache.saveTeam(team("AAA", 5));
+        cache.flush();
+        byte[] bytes = Files.readAllBytes(cache.path());
+        bytes[bytes.length / 2] ^= 0x40;
+        Files.write(cache.path(), bytes);
+
+        RosterCache reopened = new RosterCache(dir, "k");
+        assertThrows(IllegalStateException.class, () -> reopened.loadTeam("AAA"));
+        assertTrue(reopened.loadTeam("AAA").isEmpty());
+        reopened.saveTeam(team("BBB", 2));
+        reopened.flush();
+        assertEquals(team("BBB", 2), new RosterCache(dir, "k").loadTeam("BBB").orElseThrow());
+    }
+
+    private static List<CachedTeam> league(int teams, int players) {
+        List<CachedTeam> out = new ArrayList<>();
+        for (int t = 0; t < teams; t++) out.add(team(String.format("T%02d", t), players));
+        return out;
+    }
+
+    private static CachedTeam team(String abbr, int players) {
+        List<CachedPlayer> roster = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            roster.add(new CachedPlayer(abbr + "-" + i, "Jökull Þór " + i, Position.values()[i % 5], 50 + i, 99 - i,
+                    i % 4 != 0, T0.plusSeconds(i)));
+        }
+        return new CachedTeam(new TeamRef("id-" + abbr, abbr, "Team " + abbr), T0.minusSeconds(60),
+                RosterCache.rosterHash(roster), roster);
+    }
+}
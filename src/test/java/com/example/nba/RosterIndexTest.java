@@ -0,0 +1,60 @@
+package com.example.nba;
+
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterIndexTest {
+
+    private final PlayerFactory pf = new PlayerFactory();
+
+    @Test
+    void lookupRemovalAndSalaryStayConsistent() {
+        Team t = new Team("LAL", "Lakers", new SalaryCap(Money.of(140_000_000)));
+        Player a = player("a", Position.PG);
+        Player b = player("b", Position.C);
+        t.addPlayer(a, Money.of(1_000_000));
+        t.addPlayer(b, Money.of(2_000_000));
+
+        assertSame(b, t.findPlayerById("b").orElseThrow());
+        assertEquals(Money.of(2_000_000), t.annualSalaryFor("b"));
+        assertThrows(IllegalArgumentException.class, () -> t.addPlayer(player("b", Position.SF), Money.of(1)));
+
+        assertTrue(t.removePlayer(b));
+        assertFalse(t.removePlayer(b));
+        assertTrue(t.findPlayerById("b").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> t.annualSalaryFor("b"));
+        assertEquals(1, t.rosterSize());
+
+        // A different Player object that merely shares the id is not on the roster.
+        assertFalse(t.removePlayer(player("a", Position.PG)));
+        assertEquals(1, t.rosterSize());
+    }
+
+    @Test
+    void iteratorRemoveKeepsIndexesInSync() {
+        Team t = new Team("LAL", "Lakers", new SalaryCap(Money.of(140_000_000)));
+        t.addPlayer(player("a", Position.PG), Money.of(1_000_000));
+        t.addPlayer(player("b", Position.SG), Money.of(1_000_000));
+
+        Iterator<Player> it = t.iterator();
+        it.next();
+        it.remove();
+
+        assertEquals(1, t.rosterSize());
+        assertTrue(t.findPlayerById("a").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> t.annualSalaryFor("a"));
+        t.addPlayer(player("a", Position.PG), Money.of(1_000_000));
+        assertEquals(2, t.rosterSize());
+    }
+
+    private Player player(String id, Position pos) {
+        return pf.create(ExperienceLevel.VETERAN,
+                new PlayerBuilder().playerId(id).name(id).position(pos).age(27).offense(80).defense(80).yearsInLeague(5));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.nba;
+
+import com.example.nba.analytics.SeasonSimulator;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeasonSimulatorTest {
+
+    @Test
+    void seasonsAreReproducibleAndLeaveTheLeagueUntouched() {
+        Role coach = new Coach("c1", "Coach");
+        var svc = new TeamManagementService(new InMemoryTeamRepository(), new InMemoryAuditLogRepository());
+        PlayerFactory pf = new PlayerFactory();
+        for (int t = 0; t < 6; t++) {
+            String id = "T" + t;
+            svc.registerTeam(coach, new Team(id, "Team " + t, new SalaryCap(Money.of(140_000_000))));
+            for (int i = 0; i < 10; i++) {
+                int rating = 55 + t * 6 + (i % 3);
+                Player p = pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId(id + "-" + i).name(id + i)
+                        .position(Position.values()[i % 5]).age(27).offense(rating).defense(rating).yearsInLeague(4));
+                svc.signPlayer(coach, id, p, Contract.builder().totalValue(Money.of(1_000_000)).years(1).build(),
+                        new StandardSalaryStrategy());
+            }
+        }
+        Map<String, List<Player>> snapshot = svc.snapshotRosters();
+
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            var a = new SeasonSimulator(one, 99).simulate(snapshot, 40);
+            var b = new SeasonSimulator(four, 99).simulate(snapshot, 40);
+            assertEquals(a.teams(), b.teams());
+            assertTrue(a.seasonsPerSecond() > 0);
+
+            double totalWins = a.teams().stream().mapToDouble(SeasonSimulator.TeamOutlook::meanWins).sum();
+            assertEquals(6 * SeasonSimulator.GAMES_PER_SEASON / 2.0, totalWins, 1e-9);
+            assertEquals("T5", a.teams().get(0).teamId(), "strongest roster should lead");
+            assertEquals(1.0, a.teams().stream().mapToDouble(SeasonSimulator.TeamOutlook::bestRecordShare).sum(), 1e-9);
+        } finally {
+            one.shutdownNow();
+            four.shutdownNow();
+        }
+
+        for (var roster : snapshot.values()) roster.forEach(p -> assertEquals(0, p.fatigue()));
+        for (Team t : svc.listTeams()) t.forEach(p -> assertEquals(0, p.fatigue()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.nba;
+
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.repo.PlayerMatch;
+import com.example.nba.repo.PlayerQuery;
+import com.example.nba.repo.TeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TeamRepositoryIndexTest {
+
+    private static final Role COACH = new Coach("c1", "Coach");
+
+    @Test
+    void indexedQueriesMatchFullScansThroughSignsWaivesAndTrades() {
+        var repo = new InMemoryTeamRepository();
+        TeamRepository scan = scanning(repo);
+        var svc = new TeamManagementService(repo, new InMemoryAuditLogRepository());
+        PlayerFactory pf = new PlayerFactory();
+        Random rnd = new Random(5);
+        for (int t = 0; t < 6; t++) {
+            svc.registerTeam(COACH, new Team("T" + t, "T" + t, new SalaryCap(Money.of(100_000_000))));
+            for (int i = 0; i < 12; i++) {
+                svc.signPlayer(COACH, "T" + t, pf.create(ExperienceLevel.VETERAN, new PlayerBuilder()
+                                .playerId("T" + t + "-" + i).name("P").position(Position.values()[rnd.nextInt(5)])
+                                .age(25).offense(40 + rnd.nextInt(60)).defense(40 + rnd.nextInt(60)).yearsInLeague(3)),
+                        Contract.builder().totalValue(Money.of(1_000_000 + rnd.nextInt(5_000_000))).years(1).build(),
+                        new StandardSalaryStrategy());
+            }
+        }
+
+        List<PlayerQuery> queries = List.of(
+                PlayerQuery.builder().build(),
+                PlayerQuery.builder().position(Position.C).build(),
+                PlayerQuery.builder().overall(70, 85).build(),
+                PlayerQuery.builder().position(Position.PG).offense(60, 99).defense(Integer.MIN_VALUE, 70).build(),
+                PlayerQuery.builder().defense(90, Integer.MAX_VALUE).build(),
+                PlayerQuery.builder().offense(50, 80).where(p -> p.playerId().endsWith("3")).build());
+
+        Player waived = null;
+        for (int round = 0; round < 40; round++) {
+            String a = "T" + rnd.nextInt(6);
+            String b = "T" + rnd.nextInt(6);
+            Player p = svc.getTeam(a).iterator().next();
+            if (waived != null) { // re-sign last round's waived player somewhere
+                svc.signPlayer(COACH, b, waived, Contract.builder().totalValue(Money.of(2_000_000)).years(1).build(),
+                        new StandardSalaryStrategy());
+                waived = null;
+            } else if (round % 2 == 0 && !a.equals(b)) {
+                svc.trade(COACH, a, b, p.playerId());
+            } else {
+                svc.waivePlayer(COACH, a, p.playerId());
+                waived = p;
+            }
+
+            for (PlayerQuery q : queries) assertEquals(scan.findPlayers(q), repo.findPlayers(q), q.toString());
+            assertEquals(scan.findTeamsByCapSpace(Money.of(20_000_000)), repo.findTeamsByCapSpace(Money.of(20_000_000)));
+            for (Team t : repo.findAll()) {
+                for (Player pl : t) assertEquals(Optional.of(t), repo.findTeamByPlayerId(pl.playerId()));
+            }
+        }
+        assertTrue(repo.findTeamByPlayerId("nobody").isEmpty());
+    }
+
+    @Test
+    void resultsAreOrderedByOverallThenPlayerId() {
+        var repo = new InMemoryTeamRepository();
+        Team t = new Team("A", "A", new SalaryCap(Money.of(10_000_000)));
+        t.addPlayer(player("b", 80, 80), Money.of(1));
+        t.addPlayer(player("a", 80, 80), Money.of(1));
+        t.addPlayer(player("c", 90, 70), Money.of(1));
+        t.addPlayer(player("d", 99, 99), Money.of(1));
+        repo.save(t);
+
+        assertEquals(List.of("d", "a", "b", "c"), ids(repo.findPlayers(PlayerQuery.builder().build())));
+        assertEquals(List.of("a", "b", "c"), ids(repo.findPlayers(PlayerQuery.builder().overall(80, 80).build())));
+        assertEquals(List.of("d", "c"), ids(repo.findPlayers(PlayerQuery.builder().offense(90, 99).build())));
+        assertThrows(IllegalArgumentException.class, () -> PlayerQuery.builder().defense(5, 4));
+    }
+
+    private static Player player(String id, int off, int def) {
+        return new PlayerFactory().create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId(id).name(id)
+                .position(Position.SF).age(27).offense(off).defense(def).yearsInLeague(5));
+    }
+
+    private static List<String> ids(List<PlayerMatch> matches) {
+        return matches.stream().map(m -> m.player().playerId()).toList();
+    }
+
+    /** Same store, but only the interface's full-scan defaults. */
+    private static TeamRepository scanning(TeamRepository repo) {
+        return new TeamRepository() {
+            @Override public void save(Team team) { repo.save(team); }
+            @Override public Optional<Team> findById(String teamId) { return repo.findById(teamId); }
+            @Override public List<Team> findAll() { return repo.findAll(); }
+            @Override public List<Team> search(Predicate<Team> predicate) { return repo.search(predicate); }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.nba;
+
+import com.example.nba.analytics.LineupOptimizer;
+import com.example.nba.analytics.TradeSearch;
+import com.example.nba.audit.InMemoryAuditLogRepository;
+import com.example.nba.domain.*;
+import com.example.nba.factory.PlayerBuilder;
+import com.example.nba.factory.PlayerFactory;
+import com.example.nba.repo.InMemoryTeamRepository;
+import com.example.nba.service.TeamManagementService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TradeSearchTest {
+
+    @Test
+    void topProposalsMatchBruteForceOverLineupValue() {
+        Role coach = new Coach("c1", "Coach");
+        var svc = new TeamManagementService(new InMemoryTeamRepository(), new InMemoryAuditLogRepository());
+        PlayerFactory pf = new PlayerFactory();
+        Random rnd = new Random(11);
+        for (int t = 0; t < 4; t++) {
+            String id = "T" + t;
+            svc.registerTeam(coach, new Team(id, id, new SalaryCap(Money.of(32_000_000))));
+            for (int i = 0; i < 15; i++) {
+                int rating = 50 + rnd.nextInt(45);
+                Player p = pf.create(ExperienceLevel.VETERAN, new PlayerBuilder().playerId(id + "-" + i).name(id + i)
+                        .position(Position.values()[i % 5]).age(27).offense(rating).defense(rating).yearsInLeague(4));
+                svc.signPlayer(coach, id, p,
+                        Contract.builder().totalValue(Money.of(1_000_000 + (i % 6) * 500_000)).years(1).build(),
+                        new StandardSalaryStrategy());
+            }
+        }
+        List<Team> teams = svc.listTeams(); // payroll 31M each, so 1M of room
+
+        var result = new TradeSearch().search(svc.readEachTeam(TradeSearch.TeamView::of), 25, Duration.ofSeconds(30));
+        assertTrue(result.complete());
+        assertTrue(result.capRejected() > 0, "cap should rule some packages out");
+
+        List<Integer> expected = bruteForceGains(teams);
+        expected.sort((x, y) -> y - x);
+        assertEquals(expected.subList(0, Math.min(25, expected.size())),
+                result.proposals().stream().map(TradeSearch.TradeProposal::totalGain).toList());
+
+        var opt = new LineupOptimizer();
+        for (var p : result.proposals()) {
+            Team a = svc.getTeam(p.teamA());
+            Team b = svc.getTeam(p.teamB());
+            assertEquals(p.gainA(), score(opt, swapped(a, p.aGives(), List.of(p.bGives()))) - score(opt, list(a)));
+            assertEquals(p.gainB(), score(opt, swapped(b, List.of(p.bGives()), p.aGives())) - score(opt, list(b)));
+        }
+    }
+
+    @Test
+    void exhaustedBudgetReportsIncomplete() {
+        Role coach = new Coach("c1", "Coach");
+        var svc = new TeamManagementService(new InMemoryTeamRepository(), new InMemoryAuditLogRepository());
+        svc.registerTeam(coach, new Team("A", "A", new SalaryCap(Money.of(10_000_000))));
+        svc.registerTeam(coach, new Team("B", "B", new SalaryCap(Money.of(10_000_000))));
+
+        var result = new TradeSearch().search(svc.readEachTeam(TradeSearch.TeamView::of), 5, Duration.ZERO);
+        assertFalse(result.complete());
+        assertTrue(result.proposals().isEmpty());
+    }
+
+    /** Every legal win-win trade's combined gain, recomputed with the real optimizer. */
+    private static List<Integer> bruteForceGains(List<Team> teams) {
+        var opt = new LineupOptimizer();
+        List<Integer> gains = new ArrayList<>();
+        for (Team a : teams) {
+            for (Team b : teams) {
+                if (a == b) continue;
+                List<Player> as = list(a);
+                for (Player pb : b) {
+                    for (int i = 0; i < as.size(); i++) {
+                        if (a.teamId().compareTo(b.teamId()) < 0) {
+                            add(gains, opt, a, b, List.of(as.get(i)), pb);
+                        }
+                        for (int j = i + 1; j < as.size(); j++) add(gains, opt, a, b, List.of(as.get(i), as.get(j)), pb);
+                    }
+                }
+            }
+        }
+        return gains;
+    }
+
+    private static void add(List<Integer> gains, LineupOptimizer opt, Team a, Team b, List<Player> aGives, Player bGives) {
+        long out = 0;
+        for (Player p : aGives) out += a.annualSalaryFor(p.playerId()).cents();
+        long in = b.annualSalaryFor(bGives.playerId()).cents();
+        if (a.salaryCap().remainingCents() + out - in < 0 || b.salaryCap().remainingCents() + in - out < 0) return;
+        if (b.rosterSize() - 1 + aGives.size() > Team.MAX_ROSTER) return;
+        int ga = score(opt, swapped(a, aGives, List.of(bGives))) - score(opt, list(a));
+        int gb = score(opt, swapped(b, List.of(bGives), aGives)) - score(opt, list(b));
+        if (ga >= 0 && gb >= 0 && ga + gb > 0) gains.add(ga + gb);
+    }
+
+    private static int score(LineupOptimizer opt, List<Player> roster) {
+        return opt.bestStartingFive(roster).score();
+    }
+
+    private static List<Player> list(Team t) {
+        List<Player> out = new ArrayList<>();
+        t.forEach(out::add);
+        return out;
+    }
+
+    private static List<Player> swapped(Team t, List<Player> out, List<Player> in) {
+        List<Player> r = list(t);
+        r.removeAll(out);
+        r.addAll(in);
+        return r;
+    }
+}